@@ -5,16 +5,25 @@ import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import com.karasu256.karasuConfigLib.AbstractJavaPluginConfigable;
 import com.karasu256.karasuConfigLib.config.BaseConfig;
+import com.karasu256.teamUtils.arena.ArenaRegistry;
+import com.karasu256.teamUtils.matchmaking.MatchmakingQueue;
+import com.karasu256.teamUtils.party.PartyRegistry;
 import com.karasu256.teamUtils.command.TeamUtilsCommand;
 import com.karasu256.teamUtils.config.AbstractPluginBaseConfig;
 import com.karasu256.teamUtils.config.EquipmentData;
 import com.karasu256.teamUtils.config.Equipments;
 import com.karasu256.teamUtils.config.GameConfig;
+import com.karasu256.teamUtils.config.PlayerRatingsConfig;
+import com.karasu256.teamUtils.formation.PlayerRatings;
 import com.karasu256.teamUtils.listeners.GameModeChangeListener;
 import com.karasu256.teamUtils.listeners.GameJoinQuitListener;
 import com.karasu256.teamUtils.listeners.PlayerListener;
+import com.karasu256.teamUtils.utils.BlockClassification;
 import com.karasu256.teamUtils.utils.EquipmentEnum;
 import com.karasu256.teamUtils.utils.GameUtils;
+import com.karasu256.teamUtils.utils.PlayerAwaitRegistry;
+import com.karasu256.teamUtils.utils.PlayerIndex;
+import com.karasu256.teamUtils.utils.SpawnPointPool;
 import com.karasu256.teamUtils.utils.TeamUtility;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -55,6 +64,8 @@ public final class TeamUtils extends AbstractJavaPluginConfigable<AbstractPlugin
         super.onEnable();
         EQUIPMENT_DATA = getConfig(Equipments.class);
         GAME_CONFIG = getConfig(GameConfig.class);
+        BlockClassification.reload(GAME_CONFIG);
+        PlayerRatings.load(getConfig(PlayerRatingsConfig.class));
 
         LOGGER.info("Registering commands...");
         PluginCommand command = getCommand("kteam");
@@ -64,9 +75,12 @@ public final class TeamUtils extends AbstractJavaPluginConfigable<AbstractPlugin
         LOGGER.info("Commands registered successfully.");
 
         LOGGER.info("Initializing utilities...");
+        PlayerIndex.initialize();
         TeamUtility.initialize();
         TeamUtility.reloadTeamCache();
         TeamUtility.reloadIsGameRunning();
+        MatchmakingQueue.start();
+        SpawnPointPool.start();
         LOGGER.info("Utilities initialized successfully.");
 
         getServer().getPluginManager().registerEvents(new GameModeChangeListener(), this);
@@ -83,8 +97,14 @@ public final class TeamUtils extends AbstractJavaPluginConfigable<AbstractPlugin
 
         TeamUtility.clearGameModeCallbacks();
         TeamUtility.clearRespawnCallbacks();
+        PlayerAwaitRegistry.shutdown();
 
         TeamUtility.update();
+        TeamUtility.flushPendingUpdates();
+        MatchmakingQueue.shutdown();
+        SpawnPointPool.shutdown();
+        ArenaRegistry.shutdown();
+        PartyRegistry.shutdown();
 
         GameUtils.endGame();
 
@@ -95,7 +115,7 @@ public final class TeamUtils extends AbstractJavaPluginConfigable<AbstractPlugin
 
     @Override
     public List<Class<? extends AbstractPluginBaseConfig>> getDefaultConfigs() {
-        return List.of(GameConfig.class, Equipments.class);
+        return List.of(GameConfig.class, Equipments.class, PlayerRatingsConfig.class);
     }
 
     @Override
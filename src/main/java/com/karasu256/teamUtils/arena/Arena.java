@@ -0,0 +1,315 @@
+package com.karasu256.teamUtils.arena;
+
+import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.formation.ShufflePlan;
+import com.karasu256.teamUtils.formation.TeamFormationStrategies;
+import com.karasu256.teamUtils.formation.TeamFormationStrategy;
+import com.karasu256.teamUtils.leader.LeaderElectionStrategy;
+import com.karasu256.teamUtils.utils.GameRandom;
+import com.karasu256.teamUtils.utils.GameTimer;
+import com.karasu256.teamUtils.utils.PlayerIndex;
+import com.karasu256.teamUtils.utils.ScoreboardTeams;
+import com.karasu256.teamUtils.utils.TeamSnapshot;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * 1試合分のチーム状態を持つアリーナ
+ * アリーナごとに{@code getNewScoreboard()}で作成した専用のスコアボードを持ち、
+ * チーム、リーダー、タイマー、ゲームの実行状態を他のアリーナやメインスコアボードと独立して管理します
+ * チームの再編成やリーダーの選出はメインスコアボードと同じ{@link ScoreboardTeams}で行います
+ * アリーナの作成と破棄は{@link ArenaRegistry}から行ってください
+ */
+public class Arena {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    private final String name;
+    private final Scoreboard scoreboard;
+    private final GameTimer timer;
+
+    // アリーナのスコアボードのチーム（チーム分けの対象はアリーナに参加しているプレイヤーだけ）
+    private final ScoreboardTeams teams;
+
+    // アリーナに参加しているプレイヤー（参加順）
+    private final Set<UUID> players = new LinkedHashSet<>();
+
+    private boolean isGameRunning = false;
+
+    Arena(String name) {
+        this.name = name;
+        this.scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        this.timer = new GameTimer("arena:" + name);
+        this.teams = new ScoreboardTeams("arena " + name, this::getScoreboard,
+                player -> players.contains(player.getUniqueId()));
+        teams.initialize();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Scoreboard getScoreboard() {
+        return scoreboard;
+    }
+
+    public GameTimer getTimer() {
+        return timer;
+    }
+
+    public GameRandom getGameRandom() {
+        return teams.getGameRandom();
+    }
+
+    /**
+     * 最後に公開されたチーム状態のスナップショットを取得します
+     * 任意のスレッドから呼び出せます
+     *
+     * @return チーム状態のスナップショット
+     */
+    public TeamSnapshot getSnapshot() {
+        return teams.getSnapshot();
+    }
+
+    public boolean isGameRunning() {
+        return isGameRunning;
+    }
+
+    public boolean contains(UUID uuid) {
+        return players.contains(uuid);
+    }
+
+    /**
+     * @return アリーナに参加しているプレイヤーのUUID（読み取り専用）
+     */
+    public Set<UUID> getPlayers() {
+        return Collections.unmodifiableSet(players);
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * プレイヤーをアリーナに参加させ、アリーナのスコアボードを表示します
+     * ゲーム中の場合は観戦チームに追加されます
+     *
+     * @param player 参加するプレイヤー
+     */
+    void addPlayer(Player player) {
+        if (!players.add(player.getUniqueId())) {
+            return;
+        }
+
+        player.setScoreboard(scoreboard);
+        if (isGameRunning) {
+            teams.movePlayerToTeam(player, ScoreboardTeams.SPECTATOR_TEAM);
+            player.sendMessage("ゲームが進行中のため、観戦チームに追加されました。");
+        }
+    }
+
+    /**
+     * プレイヤーをアリーナから外し、メインスコアボードの表示に戻します
+     *
+     * @param player 退出するプレイヤー
+     */
+    void removePlayer(Player player) {
+        if (!players.remove(player.getUniqueId())) {
+            return;
+        }
+
+        teams.removePlayerFromTeam(player);
+        if (player.isOnline()) {
+            player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
+        }
+    }
+
+    /**
+     * 設定されている振り分け方法でアリーナのプレイヤーをチーム分けします
+     * 観戦チームのプレイヤーは対象外です
+     *
+     * @param maxMember   1チームの最大人数（0以下の場合は設定の最大人数）
+     * @param teamLeaders 1チームあたりのリーダー数
+     */
+    public void shuffle(int maxMember, int teamLeaders) {
+        shuffle(maxMember, teamLeaders,
+                TeamFormationStrategies.getOrDefault(TeamUtils.GAME_CONFIG.formationStrategy));
+    }
+
+    /**
+     * 指定した振り分け方法でアリーナのプレイヤーをチーム分けします
+     * 観戦チームのプレイヤーは対象外です
+     *
+     * @param maxMember   1チームの最大人数（0以下の場合は設定の最大人数）
+     * @param teamLeaders 1チームあたりのリーダー数
+     * @param strategy    振り分け方法
+     */
+    public void shuffle(int maxMember, int teamLeaders, TeamFormationStrategy strategy) {
+        shuffle(maxMember, teamLeaders, strategy, GameRandom.newSeed());
+    }
+
+    /**
+     * 指定した振り分け方法とシードでアリーナのプレイヤーをチーム分けします
+     * 観戦チームのプレイヤーは対象外です
+     * 既存のチームはメンバーの重なりが大きいものから再利用され、計画と反映はこの呼び出しの中ですべて行います
+     *
+     * @param maxMember   1チームの最大人数（0以下の場合は設定の最大人数）
+     * @param teamLeaders 1チームあたりのリーダー数
+     * @param strategy    振り分け方法
+     * @param seed        試合の乱数のシード（同じシードと同じプレイヤーなら同じチーム分けになります）
+     */
+    public void shuffle(int maxMember, int teamLeaders, TeamFormationStrategy strategy, long seed) {
+        teams.shuffle(maxMember, teamLeaders, strategy, seed);
+    }
+
+    /**
+     * 指定した振り分け方法でアリーナのプレイヤーをチーム分けします
+     * 計画はメインスレッド以外で作成し、反映は1ティックあたりの時間の上限を守りながら複数のティックに分けて行います
+     *
+     * @param maxMember   1チームの最大人数（0以下の場合は設定の最大人数）
+     * @param teamLeaders 1チームあたりのリーダー数
+     * @param strategy    振り分け方法
+     * @param seed        試合の乱数のシード（nullの場合は新しく生成します）
+     * @param onProgress  反映の進捗（完了した処理の数、全体の数）を受け取る処理（不要な場合はnull）
+     * @param onComplete  反映が完了した時に呼び出す処理（不要な場合はnull）
+     * @return 計画と反映を開始した場合true（対象のプレイヤーがいない場合はfalse）
+     * @see ScoreboardTeams#shuffleAsync(int, int, TeamFormationStrategy, Long, BiConsumer, Consumer)
+     */
+    public boolean shuffleAsync(int maxMember, int teamLeaders, TeamFormationStrategy strategy,
+            @Nullable Long seed, @Nullable BiConsumer<Integer, Integer> onProgress,
+            @Nullable Consumer<ShufflePlan> onComplete) {
+        return teams.shuffleAsync(maxMember, teamLeaders, strategy, seed, onProgress, onComplete);
+    }
+
+    /**
+     * @return チームの再編成を計画中または反映中の場合true
+     */
+    public boolean isShuffleInProgress() {
+        return teams.isShuffleInProgress();
+    }
+
+    /**
+     * 設定されている選出方法でチームのオンラインメンバーからリーダーを選出します
+     *
+     * @param team    対象のチーム
+     * @param leaders 選出する人数
+     * @return 選出されたリーダー
+     */
+    public List<Player> electLeaders(Team team, int leaders) {
+        return teams.electTeamLeaders(team, leaders);
+    }
+
+    /**
+     * 指定した選出方法でチームのオンラインメンバーからリーダーを選出します
+     * 履歴はアリーナごとに保持されます
+     *
+     * @param team     対象のチーム
+     * @param leaders  選出する人数
+     * @param strategy 選出方法
+     * @return 選出されたリーダー
+     */
+    public List<Player> electLeaders(Team team, int leaders, LeaderElectionStrategy strategy) {
+        return teams.electTeamLeaders(team, leaders, strategy);
+    }
+
+    @Nullable
+    public Team getPlayerTeam(Player player) {
+        return teams.getPlayerTeam(player);
+    }
+
+    public boolean isTeamLeader(Player player) {
+        return teams.isTeamLeader(player);
+    }
+
+    public boolean isSameTeam(Player player1, Player player2) {
+        return teams.isSameTeam(player1, player2);
+    }
+
+    /**
+     * プレイヤーが別のプレイヤーを攻撃できるかを確認します
+     *
+     * @param attacker 攻撃するプレイヤー
+     * @param target   攻撃されるプレイヤー
+     * @return 攻撃可能な場合はtrue
+     */
+    public boolean canAttack(Player attacker, Player target) {
+        return teams.canAttack(attacker, target);
+    }
+
+    /**
+     * アリーナのゲームを開始します
+     *
+     * @param seconds タイマーの秒数（0以下の場合はタイマーを使わない）
+     * @return 開始処理が成功した場合true
+     */
+    public boolean startGame(int seconds) {
+        if (isGameRunning) {
+            LOGGER.info("Game in arena " + name + " is already running");
+            return false;
+        }
+
+        isGameRunning = true;
+        if (seconds > 0) {
+            timer.addRangeCallback(1, remaining -> endGame());
+            timer.startInSeconds(seconds);
+        }
+        LOGGER.info("Game in arena " + name + " started");
+        return true;
+    }
+
+    /**
+     * アリーナのゲームを終了します
+     */
+    public void endGame() {
+        if (!isGameRunning) {
+            LOGGER.info("Game in arena " + name + " is not running");
+            return;
+        }
+
+        isGameRunning = false;
+        if (timer.isRunning()) {
+            timer.stop();
+        }
+        timer.clearAllCallbacks();
+        LOGGER.info("Game in arena " + name + " ended");
+    }
+
+    /**
+     * 保留中のスコアボードへの書き込みを即座に反映します
+     */
+    public void flush() {
+        teams.flush();
+    }
+
+    /**
+     * アリーナを閉じ、参加しているプレイヤーをメインスコアボードの表示に戻します
+     */
+    void close() {
+        if (isGameRunning) {
+            endGame();
+        }
+        teams.cancelActiveShuffle();
+
+        for (UUID uuid : new ArrayList<>(players)) {
+            Player player = PlayerIndex.getPlayer(uuid);
+            if (player != null) {
+                player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
+            }
+        }
+        players.clear();
+        flush();
+    }
+}
@@ -0,0 +1,189 @@
+package com.karasu256.teamUtils.arena;
+
+import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.exception.TeamUtilityException;
+import com.karasu256.teamUtils.utils.TeamUtility;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * アリーナを名前で管理するレジストリ
+ * 1つのサーバーで複数の試合を同時に進行させるために使います
+ * アリーナに参加していないプレイヤーは従来どおりメインスコアボードのゲーム（{@link TeamUtility}）で扱われます
+ */
+public class ArenaRegistry {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    // アリーナ名 -> アリーナ（作成順）
+    private static final Map<String, Arena> arenas = new LinkedHashMap<>();
+
+    // プレイヤーUUID -> 参加しているアリーナ
+    private static final Map<UUID, Arena> playerArenas = new HashMap<>();
+
+    /**
+     * 新しいアリーナを作成します
+     *
+     * @param name アリーナ名
+     * @return 作成したアリーナ
+     * @throws TeamUtilityException 同じ名前のアリーナが既に存在する場合
+     */
+    public static Arena create(String name) {
+        if (arenas.containsKey(name)) {
+            throw new TeamUtilityException("アリーナ '" + name + "' は既に存在します");
+        }
+
+        Arena arena = new Arena(name);
+        arenas.put(name, arena);
+        LOGGER.info("Created arena: " + name);
+        return arena;
+    }
+
+    /**
+     * アリーナを削除し、参加していたプレイヤーをメインスコアボードに戻します
+     *
+     * @param name アリーナ名
+     * @return 削除できた場合true
+     */
+    public static boolean delete(String name) {
+        Arena arena = arenas.remove(name);
+        if (arena == null) {
+            return false;
+        }
+
+        arena.getPlayers().forEach(playerArenas::remove);
+        arena.close();
+        LOGGER.info("Deleted arena: " + name);
+        return true;
+    }
+
+    @Nullable
+    public static Arena get(String name) {
+        return arenas.get(name);
+    }
+
+    /**
+     * @return 全アリーナ（読み取り専用）
+     */
+    public static Collection<Arena> getArenas() {
+        return Collections.unmodifiableCollection(arenas.values());
+    }
+
+    public static List<String> getArenaNames() {
+        return new ArrayList<>(arenas.keySet());
+    }
+
+    /**
+     * プレイヤーが参加しているアリーナを取得します
+     *
+     * @param player プレイヤー
+     * @return アリーナ（参加していない場合はnull）
+     */
+    @Nullable
+    public static Arena getArena(Player player) {
+        return player != null ? playerArenas.get(player.getUniqueId()) : null;
+    }
+
+    /**
+     * @return いずれかのアリーナに参加しているプレイヤーの数
+     */
+    public static int getPlayerCount() {
+        return playerArenas.size();
+    }
+
+    public static boolean isInArena(Player player) {
+        return getArena(player) != null;
+    }
+
+    /**
+     * プレイヤーをアリーナに参加させます
+     * 他のアリーナに参加している場合はそこから退出し、メインスコアボードのチームからも外します
+     *
+     * @param player プレイヤー
+     * @param name   アリーナ名
+     * @return 参加できた場合true
+     */
+    public static boolean join(Player player, String name) {
+        Arena arena = arenas.get(name);
+        if (arena == null) {
+            return false;
+        }
+
+        Arena current = playerArenas.get(player.getUniqueId());
+        if (current == arena) {
+            return true;
+        }
+        if (current != null) {
+            current.removePlayer(player);
+        } else if (TeamUtility.isPlayerInAnyTeam(player)) {
+            TeamUtility.removePlayerFromTeam(player);
+        }
+
+        playerArenas.put(player.getUniqueId(), arena);
+        arena.addPlayer(player);
+        return true;
+    }
+
+    /**
+     * プレイヤーを参加中のアリーナから退出させます
+     *
+     * @param player プレイヤー
+     * @return 退出できた場合true（どのアリーナにも参加していない場合はfalse）
+     */
+    public static boolean leave(Player player) {
+        Arena arena = playerArenas.remove(player.getUniqueId());
+        if (arena == null) {
+            return false;
+        }
+
+        arena.removePlayer(player);
+        return true;
+    }
+
+    /**
+     * プレイヤーがサーバーから退出した時にアリーナからも退出させます
+     *
+     * @param player 退出したプレイヤー
+     */
+    public static void handlePlayerQuit(Player player) {
+        leave(player);
+    }
+
+    /**
+     * 2人のプレイヤーの攻撃可否をアリーナの所属から判定します
+     * 異なるアリーナのプレイヤー同士は互いに攻撃できません
+     *
+     * @param attacker 攻撃するプレイヤー
+     * @param target   攻撃されるプレイヤー
+     * @return 攻撃可能な場合はtrue
+     */
+    public static boolean canAttack(Player attacker, Player target) {
+        Arena arena = getArena(attacker);
+        if (arena != getArena(target)) {
+            return false;
+        }
+        return arena == null || arena.canAttack(attacker, target);
+    }
+
+    /**
+     * 全アリーナを閉じます
+     * プラグインの無効化時に呼び出してください
+     */
+    public static void shutdown() {
+        for (Arena arena : new ArrayList<>(arenas.values())) {
+            arena.close();
+        }
+        arenas.clear();
+        playerArenas.clear();
+    }
+}
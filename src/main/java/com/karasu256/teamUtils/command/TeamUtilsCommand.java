@@ -16,5 +16,10 @@ public class TeamUtilsCommand extends AbstractCommand {
         addSubCommand(new GetLeadersSubCommand(this));
         addSubCommand(new TeamInfoSubCommand(this));
         addSubCommand(new ReChooseTeamLeader(this));
+        addSubCommand(new ArenaSubCommand(this));
+        addSubCommand(new DebugSubCommand(this));
+        addSubCommand(new RatingSubCommand(this));
+        addSubCommand(new PartySubCommand(this));
+        addSubCommand(new QueueSubCommand(this));
     }
 }
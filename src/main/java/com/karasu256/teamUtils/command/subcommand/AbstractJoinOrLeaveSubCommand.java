@@ -7,6 +7,8 @@ import org.jetbrains.annotations.NotNull;
 
 import com.karasu256.kcapi.api.command.AbstractEndOfSubCommand;
 import com.karasu256.kcapi.api.command.ICommand;
+import com.karasu256.teamUtils.exception.TeamUtilityException;
+import com.karasu256.teamUtils.utils.PlayerIndex;
 import com.karasu256.teamUtils.utils.TeamUtility;
 
 public abstract class AbstractJoinOrLeaveSubCommand extends AbstractEndOfSubCommand {
@@ -22,7 +24,7 @@ public abstract class AbstractJoinOrLeaveSubCommand extends AbstractEndOfSubComm
             return true;
         }
 
-        TeamUtility.reloadTeamCache();
+        TeamUtility.refreshTeamCacheIfNeeded();
 
         // 引数なしの場合
         if (args.length == 0) {
@@ -32,6 +34,17 @@ public abstract class AbstractJoinOrLeaveSubCommand extends AbstractEndOfSubComm
                 return true;
             }
 
+            // 参加する場合は定員に空きのある最も人数の少ないチームを選ぶ
+            if (isJoin()) {
+                try {
+                    Team joinedTeam = TeamUtility.joinLeastFullTeam(player);
+                    player.sendMessage("§a" + joinedTeam.getName() + " チームに参加しました。");
+                } catch (TeamUtilityException e) {
+                    player.sendMessage("§c" + e.getMessage());
+                }
+                return true;
+            }
+
             Team randomTeam = TeamUtility.getRandomTeam();
             if (randomTeam == null) {
                 player.sendMessage("§c利用可能なチームが見つかりませんでした。");
@@ -69,7 +82,7 @@ public abstract class AbstractJoinOrLeaveSubCommand extends AbstractEndOfSubComm
         // 第二引数がある場合（プレイヤー名）
         if (args.length >= 2) {
             String targetPlayerName = args[1];
-            Player targetPlayer = player.getServer().getPlayer(targetPlayerName);
+            Player targetPlayer = PlayerIndex.getPlayer(targetPlayerName);
 
             if (targetPlayer == null) {
                 player.sendMessage("§cプレイヤー '" + targetPlayerName + "' が見つかりませんでした。");
@@ -82,7 +95,18 @@ public abstract class AbstractJoinOrLeaveSubCommand extends AbstractEndOfSubComm
                 return true;
             }
 
-            boolean result = TeamUtility.movePlayerToTeam(targetPlayer, team.getName());
+            boolean result;
+            if (isJoin()) {
+                try {
+                    TeamUtility.joinTeamWithinCapacity(targetPlayer, team);
+                    result = true;
+                } catch (TeamUtilityException e) {
+                    player.sendMessage("§c" + e.getMessage());
+                    return true;
+                }
+            } else {
+                result = TeamUtility.movePlayerToTeam(targetPlayer, team.getName());
+            }
             if (result) {
                 if (isJoin()) {
                     player.sendMessage(
@@ -107,7 +131,14 @@ public abstract class AbstractJoinOrLeaveSubCommand extends AbstractEndOfSubComm
                 return true;
             }
 
-            var result = this.onJoinOrLeave(player, team.getName());
+            // 失敗の理由が分かる場合は例外のメッセージだけを通知する
+            boolean result;
+            try {
+                result = this.onJoinOrLeave(player, team.getName());
+            } catch (TeamUtilityException e) {
+                player.sendMessage("§c" + e.getMessage());
+                return true;
+            }
             if (result) {
                 joinTeam(player, team);
             } else {
@@ -132,19 +163,26 @@ public abstract class AbstractJoinOrLeaveSubCommand extends AbstractEndOfSubComm
                 player.sendMessage("§aランダムに " + team.getName() + " チームに参加しました。");
             }
             else{
-                var randomTeam = TeamUtility.getRandomTeam();
-                if(randomTeam != null){
-                    TeamUtility.movePlayerToTeam(player, randomTeam.getName());
-                    player.sendMessage("§a" + randomTeam.getName() + " チームに参加しました。");
-                }
-                else{
-                    player.sendMessage("§c利用可能なチームが見つかりませんでした。");
+                try {
+                    var joinedTeam = TeamUtility.joinLeastFullTeam(player);
+                    player.sendMessage("§a" + joinedTeam.getName() + " チームに参加しました。");
+                } catch (TeamUtilityException e) {
+                    player.sendMessage("§c" + e.getMessage());
                 }
             }
         }
 
     }
 
+    /**
+     * チームへの参加または離脱を行います
+     * 失敗をプレイヤーに通知するのは呼び出し元のみです（ここではメッセージを送らないでください）
+     *
+     * @param player   対象のプレイヤー
+     * @param teamName チーム名
+     * @return 成功した場合true
+     * @throws TeamUtilityException 理由が分かる失敗の場合（メッセージがそのままプレイヤーに通知されます）
+     */
     public abstract boolean onJoinOrLeave(Player player, String teamName);
 
     public abstract boolean isJoin();
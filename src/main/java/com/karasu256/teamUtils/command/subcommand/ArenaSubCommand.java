@@ -0,0 +1,233 @@
+package com.karasu256.teamUtils.command.subcommand;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import com.karasu256.kcapi.api.command.AbstractEndOfSubCommand;
+import com.karasu256.kcapi.api.command.AbstractSubCommand;
+import com.karasu256.kcapi.api.command.ICommand;
+import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.arena.Arena;
+import com.karasu256.teamUtils.arena.ArenaRegistry;
+import com.karasu256.teamUtils.exception.TeamUtilityException;
+import com.karasu256.teamUtils.formation.TeamFormationStrategies;
+import com.karasu256.teamUtils.utils.GameRandom;
+
+public class ArenaSubCommand extends AbstractSubCommand {
+    public ArenaSubCommand(ICommand parent) {
+        super("arena", parent);
+        addSubCommand(new ArenaCreateSubCommand(this));
+        addSubCommand(new ArenaDeleteSubCommand(this));
+        addSubCommand(new ArenaListSubCommand(this));
+        addSubCommand(new ArenaJoinSubCommand(this));
+        addSubCommand(new ArenaLeaveSubCommand(this));
+        addSubCommand(new ArenaShuffleSubCommand(this));
+        addSubCommand(new ArenaStartSubCommand(this));
+        addSubCommand(new ArenaStopSubCommand(this));
+    }
+
+    /**
+     * 第一引数のアリーナ名を補完するサブコマンド
+     */
+    private abstract class AbstractArenaNameSubCommand extends AbstractEndOfSubCommand {
+        public AbstractArenaNameSubCommand(String name, ICommand parent) {
+            super(name, parent);
+        }
+
+        @Override
+        public List<String> getTabCompletions(CommandSender sender, String[] args) {
+            return ArenaRegistry.getArenaNames();
+        }
+
+        protected Arena getArena(CommandSender sender, String[] args) {
+            if (args.length < 1) {
+                sender.sendMessage("§cアリーナ名を指定してください。");
+                return null;
+            }
+
+            Arena arena = ArenaRegistry.get(args[0]);
+            if (arena == null) {
+                sender.sendMessage("§cアリーナ '" + args[0] + "' が見つかりませんでした。");
+            }
+            return arena;
+        }
+    }
+
+    private class ArenaCreateSubCommand extends AbstractEndOfSubCommand {
+        public ArenaCreateSubCommand(ICommand parent) {
+            super("create", parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            if (args.length < 1) {
+                sender.sendMessage("§cアリーナ名を指定してください。");
+                return true;
+            }
+
+            try {
+                ArenaRegistry.create(args[0]);
+                sender.sendMessage("§aアリーナ '" + args[0] + "' を作成しました。");
+            } catch (TeamUtilityException e) {
+                sender.sendMessage("§c" + e.getMessage());
+            }
+            return true;
+        }
+    }
+
+    private class ArenaDeleteSubCommand extends AbstractArenaNameSubCommand {
+        public ArenaDeleteSubCommand(ICommand parent) {
+            super("delete", parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            Arena arena = getArena(sender, args);
+            if (arena != null) {
+                ArenaRegistry.delete(arena.getName());
+                sender.sendMessage("§aアリーナ '" + arena.getName() + "' を削除しました。");
+            }
+            return true;
+        }
+    }
+
+    private class ArenaListSubCommand extends AbstractEndOfSubCommand {
+        public ArenaListSubCommand(ICommand parent) {
+            super("list", parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            if (ArenaRegistry.getArenas().isEmpty()) {
+                sender.sendMessage("§aアリーナはありません。");
+                return true;
+            }
+
+            for (Arena arena : ArenaRegistry.getArenas()) {
+                sender.sendMessage("§a" + arena.getName() + ": " + arena.size() + "人"
+                        + (arena.isGameRunning() ? " (ゲーム中)" : ""));
+            }
+            return true;
+        }
+    }
+
+    private class ArenaJoinSubCommand extends AbstractArenaNameSubCommand {
+        public ArenaJoinSubCommand(ICommand parent) {
+            super("join", parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            if (!(sender instanceof Player player)) {
+                sender.sendMessage("§cこのコマンドはプレイヤーのみ実行できます。");
+                return true;
+            }
+
+            Arena arena = getArena(sender, args);
+            if (arena != null && ArenaRegistry.join(player, arena.getName())) {
+                player.sendMessage("§aアリーナ '" + arena.getName() + "' に参加しました。");
+            }
+            return true;
+        }
+    }
+
+    private class ArenaLeaveSubCommand extends AbstractEndOfSubCommand {
+        public ArenaLeaveSubCommand(ICommand parent) {
+            super("leave", parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            if (!(sender instanceof Player player)) {
+                sender.sendMessage("§cこのコマンドはプレイヤーのみ実行できます。");
+                return true;
+            }
+
+            if (ArenaRegistry.leave(player)) {
+                player.sendMessage("§aアリーナから退出しました。");
+            } else {
+                player.sendMessage("§cあなたはどのアリーナにも参加していません。");
+            }
+            return true;
+        }
+    }
+
+    private class ArenaShuffleSubCommand extends AbstractArenaNameSubCommand {
+        public ArenaShuffleSubCommand(ICommand parent) {
+            super("shuffle", parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            Arena arena = getArena(sender, args);
+            if (arena == null) {
+                return true;
+            }
+
+            try {
+                List<String> arguments = new ArrayList<>(Arrays.asList(args));
+                Long seed = RefreshSubCommand.removeSeedOption(arguments);
+                int maxMember = arguments.size() > 1 ? Integer.parseInt(arguments.get(1))
+                        : TeamUtils.GAME_CONFIG.maxTeamMembers;
+                int teamLeaders = arguments.size() > 2 ? Integer.parseInt(arguments.get(2)) : 0;
+                arena.shuffle(maxMember, teamLeaders,
+                        TeamFormationStrategies.getOrDefault(TeamUtils.GAME_CONFIG.formationStrategy),
+                        seed != null ? seed : GameRandom.newSeed());
+                sender.sendMessage("§aアリーナ '" + arena.getName() + "' のチームを分けました（シード: "
+                        + arena.getGameRandom().getSeed() + "）。");
+            } catch (NumberFormatException e) {
+                sender.sendMessage("§c数値の形式が正しくありません: " + e.getMessage());
+            } catch (TeamUtilityException e) {
+                sender.sendMessage("§c" + e.getMessage());
+            }
+            return true;
+        }
+    }
+
+    private class ArenaStartSubCommand extends AbstractArenaNameSubCommand {
+        public ArenaStartSubCommand(ICommand parent) {
+            super("start", parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            Arena arena = getArena(sender, args);
+            if (arena == null) {
+                return true;
+            }
+
+            try {
+                int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+                if (arena.startGame(seconds)) {
+                    sender.sendMessage("§aアリーナ '" + arena.getName() + "' のゲームを開始しました。");
+                } else {
+                    sender.sendMessage("§cアリーナ '" + arena.getName() + "' のゲームは既に開始しています。");
+                }
+            } catch (NumberFormatException e) {
+                sender.sendMessage("§c数値の形式が正しくありません: " + e.getMessage());
+            }
+            return true;
+        }
+    }
+
+    private class ArenaStopSubCommand extends AbstractArenaNameSubCommand {
+        public ArenaStopSubCommand(ICommand parent) {
+            super("stop", parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            Arena arena = getArena(sender, args);
+            if (arena != null) {
+                arena.endGame();
+                sender.sendMessage("§aアリーナ '" + arena.getName() + "' のゲームを終了しました。");
+            }
+            return true;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.karasu256.kcapi.api.command.AbstractSubCommand;
 import com.karasu256.kcapi.api.command.ICommand;
 import com.karasu256.kcapi.api.command.ISubCommand;
 import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.utils.BlockClassification;
 import com.karasu256.teamUtils.utils.ChatMenuBuilder;
 import com.karasu256.teamUtils.utils.EquipmentEnum;
 
@@ -129,6 +130,7 @@ public class ConfigSubCommand extends AbstractSubCommand {
         @Override
         public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
             plugin.load();
+            BlockClassification.reload(TeamUtils.GAME_CONFIG);
             sender.sendMessage("設定を再読み込みしました。");
             return true;
         }
@@ -0,0 +1,27 @@
+package com.karasu256.teamUtils.command.subcommand;
+
+import com.karasu256.kcapi.api.command.AbstractEndOfSubCommand;
+import com.karasu256.kcapi.api.command.ICommand;
+import com.karasu256.teamUtils.utils.TeamUtility;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * 内部で保持しているプレイヤーごとの状態の件数を表示するデバッグ用のコマンド
+ */
+public class DebugSubCommand extends AbstractEndOfSubCommand {
+    public DebugSubCommand(ICommand parent) {
+        super("debug", parent);
+    }
+
+    @Override
+    public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+        sender.sendMessage("§a内部状態の件数:");
+        for (Map.Entry<String, Integer> entry : TeamUtility.getDebugStats().entrySet()) {
+            sender.sendMessage("§7- " + entry.getKey() + ": §f" + entry.getValue());
+        }
+        return true;
+    }
+}
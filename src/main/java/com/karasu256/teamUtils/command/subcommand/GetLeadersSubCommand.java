@@ -2,6 +2,7 @@ package com.karasu256.teamUtils.command.subcommand;
 
 import com.karasu256.kcapi.api.command.AbstractEndOfSubCommand;
 import com.karasu256.kcapi.api.command.ICommand;
+import com.karasu256.teamUtils.utils.PlayerIndex;
 import com.karasu256.teamUtils.utils.TeamUtility;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
@@ -18,7 +19,7 @@ public class GetLeadersSubCommand extends AbstractEndOfSubCommand {
 
     @Override
     public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
-        var player = Bukkit.getPlayer(args[0]);
+        var player = PlayerIndex.getPlayer(args[0]);
 
         if(player == null){
             sender.sendMessage("§c指定されたプレイヤーはオンラインではありません。");
@@ -3,6 +3,7 @@ package com.karasu256.teamUtils.command.subcommand;
 import java.util.List;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Team;
 import org.jetbrains.annotations.NotNull;
 
 import com.karasu256.kcapi.api.command.ICommand;
@@ -25,7 +26,14 @@ public class JoinSubCommand extends AbstractJoinOrLeaveSubCommand {
 
     @Override
     public boolean onJoinOrLeave(Player player, String teamName) {
-        return TeamUtility.addPlayerToTeam(player, teamName);
+        Team team = TeamUtility.getTeamByName(teamName);
+        if (team == null) {
+            return false;
+        }
+
+        // 定員を超える場合の例外は呼び出し元でプレイヤーに通知する
+        TeamUtility.joinTeamWithinCapacity(player, team);
+        return true;
     }
 
     @Override
@@ -0,0 +1,160 @@
+package com.karasu256.teamUtils.command.subcommand;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import com.karasu256.kcapi.api.command.AbstractEndOfSubCommand;
+import com.karasu256.kcapi.api.command.AbstractSubCommand;
+import com.karasu256.kcapi.api.command.ICommand;
+import com.karasu256.teamUtils.exception.TeamUtilityException;
+import com.karasu256.teamUtils.party.Party;
+import com.karasu256.teamUtils.party.PartyRegistry;
+import com.karasu256.teamUtils.utils.PlayerIndex;
+
+public class PartySubCommand extends AbstractSubCommand {
+    public PartySubCommand(ICommand parent) {
+        super("party", parent);
+        addSubCommand(new PartyCreateSubCommand(this));
+        addSubCommand(new PartyInviteSubCommand(this));
+        addSubCommand(new PartyAcceptSubCommand(this));
+        addSubCommand(new PartyLeaveSubCommand(this));
+        addSubCommand(new PartyListSubCommand(this));
+    }
+
+    private static String getName(UUID uuid) {
+        Player player = PlayerIndex.getPlayer(uuid);
+        if (player != null) {
+            return player.getName();
+        }
+        OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(uuid);
+        return offlinePlayer.getName() != null ? offlinePlayer.getName() : uuid.toString();
+    }
+
+    /**
+     * プレイヤーのみが実行できるサブコマンド
+     */
+    private abstract class AbstractPlayerPartySubCommand extends AbstractEndOfSubCommand {
+        public AbstractPlayerPartySubCommand(String name, ICommand parent) {
+            super(name, parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            if (!(sender instanceof Player player)) {
+                sender.sendMessage("§cこのコマンドはプレイヤーのみ実行できます。");
+                return true;
+            }
+
+            try {
+                execute(player, args);
+            } catch (TeamUtilityException e) {
+                player.sendMessage("§c" + e.getMessage());
+            }
+            return true;
+        }
+
+        protected abstract void execute(Player player, String[] args);
+    }
+
+    private class PartyCreateSubCommand extends AbstractPlayerPartySubCommand {
+        public PartyCreateSubCommand(ICommand parent) {
+            super("create", parent);
+        }
+
+        @Override
+        protected void execute(Player player, String[] args) {
+            PartyRegistry.create(player);
+            player.sendMessage("§aパーティーを作成しました。/kteam party invite <プレイヤー名> で招待できます。");
+        }
+    }
+
+    private class PartyInviteSubCommand extends AbstractPlayerPartySubCommand {
+        public PartyInviteSubCommand(ICommand parent) {
+            super("invite", parent);
+        }
+
+        @Override
+        protected void execute(Player player, String[] args) {
+            if (args.length < 1) {
+                player.sendMessage("§c招待するプレイヤー名を指定してください。");
+                return;
+            }
+
+            Player target = PlayerIndex.getPlayer(args[0]);
+            if (target == null) {
+                player.sendMessage("§c指定されたプレイヤーはオンラインではありません。");
+                return;
+            }
+
+            PartyRegistry.invite(player, target);
+            player.sendMessage("§a" + target.getName() + " をパーティーに招待しました。");
+            target.sendMessage("§a" + player.getName() + " からパーティーに招待されました。/kteam party accept で参加できます。");
+        }
+
+        @Override
+        public List<String> getTabCompletions(CommandSender sender, String[] args) {
+            return Bukkit.getOnlinePlayers().stream().map(Player::getName).collect(Collectors.toList());
+        }
+    }
+
+    private class PartyAcceptSubCommand extends AbstractPlayerPartySubCommand {
+        public PartyAcceptSubCommand(ICommand parent) {
+            super("accept", parent);
+        }
+
+        @Override
+        protected void execute(Player player, String[] args) {
+            Party party = PartyRegistry.accept(player);
+            for (UUID member : party.getMembers()) {
+                Player online = PlayerIndex.getPlayer(member);
+                if (online != null) {
+                    online.sendMessage("§a" + player.getName() + " がパーティーに参加しました。（" + party.size() + "人）");
+                }
+            }
+        }
+    }
+
+    private class PartyLeaveSubCommand extends AbstractPlayerPartySubCommand {
+        public PartyLeaveSubCommand(ICommand parent) {
+            super("leave", parent);
+        }
+
+        @Override
+        protected void execute(Player player, String[] args) {
+            if (PartyRegistry.leave(player.getUniqueId())) {
+                player.sendMessage("§aパーティーから脱退しました。");
+            } else {
+                player.sendMessage("§cパーティーに参加していません。");
+            }
+        }
+    }
+
+    private class PartyListSubCommand extends AbstractEndOfSubCommand {
+        public PartyListSubCommand(ICommand parent) {
+            super("list", parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            if (PartyRegistry.getParties().isEmpty()) {
+                sender.sendMessage("§aパーティーはありません。");
+                return true;
+            }
+
+            for (Party party : PartyRegistry.getParties()) {
+                String members = party.getMembers().stream()
+                        .map(PartySubCommand::getName)
+                        .collect(Collectors.joining(", "));
+                sender.sendMessage("§a" + getName(party.getLeader()) + "のパーティー（" + party.size() + "人）: §f" + members);
+            }
+            return true;
+        }
+    }
+}
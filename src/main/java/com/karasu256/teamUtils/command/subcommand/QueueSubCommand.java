@@ -0,0 +1,103 @@
+package com.karasu256.teamUtils.command.subcommand;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import com.karasu256.kcapi.api.command.AbstractEndOfSubCommand;
+import com.karasu256.kcapi.api.command.AbstractSubCommand;
+import com.karasu256.kcapi.api.command.ICommand;
+import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.arena.Arena;
+import com.karasu256.teamUtils.exception.TeamUtilityException;
+import com.karasu256.teamUtils.matchmaking.MatchmakingQueue;
+
+/**
+ * 試合の参加待ちのキューを操作するコマンド
+ */
+public class QueueSubCommand extends AbstractSubCommand {
+    public QueueSubCommand(ICommand parent) {
+        super("queue", parent);
+        addSubCommand(new QueueJoinSubCommand(this));
+        addSubCommand(new QueueLeaveSubCommand(this));
+        addSubCommand(new QueueStatusSubCommand(this));
+        addSubCommand(new QueueStartSubCommand(this));
+    }
+
+    private class QueueJoinSubCommand extends AbstractEndOfSubCommand {
+        public QueueJoinSubCommand(ICommand parent) {
+            super("join", parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            if (!(sender instanceof Player player)) {
+                sender.sendMessage("§cこのコマンドはプレイヤーのみ実行できます。");
+                return true;
+            }
+
+            try {
+                if (MatchmakingQueue.enqueue(player)) {
+                    player.sendMessage("§aキューに参加しました。（" + MatchmakingQueue.size() + "人待機中）");
+                } else {
+                    player.sendMessage("§c既にキューに参加しています。");
+                }
+            } catch (TeamUtilityException e) {
+                player.sendMessage("§c" + e.getMessage());
+            }
+            return true;
+        }
+    }
+
+    private class QueueLeaveSubCommand extends AbstractEndOfSubCommand {
+        public QueueLeaveSubCommand(ICommand parent) {
+            super("leave", parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            if (!(sender instanceof Player player)) {
+                sender.sendMessage("§cこのコマンドはプレイヤーのみ実行できます。");
+                return true;
+            }
+
+            if (MatchmakingQueue.dequeue(player.getUniqueId())) {
+                player.sendMessage("§aキューから抜けました。");
+            } else {
+                player.sendMessage("§cキューに参加していません。");
+            }
+            return true;
+        }
+    }
+
+    private class QueueStatusSubCommand extends AbstractEndOfSubCommand {
+        public QueueStatusSubCommand(ICommand parent) {
+            super("status", parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            sender.sendMessage("§aキュー: §f" + MatchmakingQueue.size() + "人待機中（最長"
+                    + MatchmakingQueue.getOldestWaitSeconds() + "秒）");
+            sender.sendMessage("§a進行中の試合: §f" + String.join(", ", MatchmakingQueue.getMatchNames()));
+            return true;
+        }
+    }
+
+    private class QueueStartSubCommand extends AbstractEndOfSubCommand {
+        public QueueStartSubCommand(ICommand parent) {
+            super("start", parent);
+        }
+
+        @Override
+        public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+            Arena arena = MatchmakingQueue.startMatch(TeamUtils.GAME_CONFIG.matchmakingBatchSize);
+            if (arena == null) {
+                sender.sendMessage("§c試合を始めるのに必要な人数がキューにいません。");
+            } else {
+                sender.sendMessage("§a試合 '" + arena.getName() + "' を始めました。");
+            }
+            return true;
+        }
+    }
+}
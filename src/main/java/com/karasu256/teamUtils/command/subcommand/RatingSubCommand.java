@@ -0,0 +1,65 @@
+package com.karasu256.teamUtils.command.subcommand;
+
+import com.karasu256.kcapi.api.command.AbstractEndOfSubCommand;
+import com.karasu256.kcapi.api.command.ICommand;
+import com.karasu256.teamUtils.formation.PlayerRatings;
+import com.karasu256.teamUtils.utils.PlayerIndex;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * チームの振り分けに使うプレイヤーのレーティングを表示・設定するコマンド
+ * 引数にresetを指定するとデフォルト値に戻します
+ */
+public class RatingSubCommand extends AbstractEndOfSubCommand {
+    public RatingSubCommand(ICommand parent) {
+        super("rating", parent);
+    }
+
+    @Override
+    public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
+        if (args.length < 1) {
+            sender.sendMessage("§c使用方法: /kteam rating <プレイヤー名> [レーティング|reset]");
+            return true;
+        }
+
+        Player player = PlayerIndex.getPlayer(args[0]);
+        if (player == null) {
+            sender.sendMessage("§c指定されたプレイヤーはオンラインではありません。");
+            return true;
+        }
+
+        if (args.length < 2) {
+            sender.sendMessage("§a" + player.getName() + "のレーティング: §f" + PlayerRatings.getRating(player.getUniqueId()));
+            return true;
+        }
+
+        if (args[1].equalsIgnoreCase("reset")) {
+            PlayerRatings.resetRating(player.getUniqueId());
+            sender.sendMessage("§a" + player.getName() + "のレーティングをリセットしました。");
+            return true;
+        }
+
+        try {
+            double rating = Double.parseDouble(args[1]);
+            PlayerRatings.setRating(player.getUniqueId(), rating);
+            sender.sendMessage("§a" + player.getName() + "のレーティングを" + rating + "に設定しました。");
+        } catch (NumberFormatException e) {
+            sender.sendMessage("§c無効な数値です: " + args[1]);
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> getTabCompletions(CommandSender sender, String[] args) {
+        if (args.length == 2) {
+            return List.of("reset");
+        }
+        return Bukkit.getOnlinePlayers().stream().map(Player::getName).collect(Collectors.toList());
+    }
+}
@@ -2,26 +2,132 @@ package com.karasu256.teamUtils.command.subcommand;
 
 import com.karasu256.kcapi.api.command.AbstractEndOfSubCommand;
 import com.karasu256.kcapi.api.command.ICommand;
+import com.karasu256.teamUtils.leader.LeaderElectionStrategies;
+import com.karasu256.teamUtils.leader.LeaderElectionStrategy;
+import com.karasu256.teamUtils.leader.PinnedLeaderElection;
+import com.karasu256.teamUtils.utils.PlayerIndex;
 import com.karasu256.teamUtils.utils.TeamUtility;
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import org.bukkit.scoreboard.Team;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * チームのリーダーを選び直すコマンド
+ * 選出方法を省略した場合は設定の選出方法を、人数を省略した場合は現在のリーダーの人数（いない場合は1人）を使います
+ * pinで指定したプレイヤーはunpinするまで、pinnedでの選出で優先してリーダーになります
+ */
 public class ReChooseTeamLeader extends AbstractEndOfSubCommand {
+    private static final String PIN = "pin";
+    private static final String UNPIN = "unpin";
+
     public ReChooseTeamLeader(ICommand subCommand) {
         super("rechooseLeader", subCommand);
     }
 
     @Override
     public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
-        return super.execute(sender, commandLabel, args);
+        if (args.length < 1) {
+            sender.sendMessage("§c使用方法: /kteam rechooseLeader <チーム名> [選出方法] [人数]");
+            sender.sendMessage("§c使用方法: /kteam rechooseLeader <チーム名> pin <プレイヤー名...>");
+            sender.sendMessage("§c使用方法: /kteam rechooseLeader <チーム名> unpin");
+            return true;
+        }
+
+        Team team = TeamUtility.getTeamByName(args[0]);
+        if (team == null || team == TeamUtility.getSpectatorTeam()) {
+            sender.sendMessage("§c指定されたチームが見つかりません: " + args[0]);
+            return true;
+        }
+
+        PinnedLeaderElection pinned = LeaderElectionStrategies.getPinned();
+        if (args.length >= 2 && args[1].equalsIgnoreCase(UNPIN)) {
+            pinned.unpin(team.getName());
+            sender.sendMessage("§a" + team.getName() + "のリーダーの指定を解除しました。");
+            return true;
+        }
+
+        if (args.length >= 2 && args[1].equalsIgnoreCase(PIN)) {
+            List<UUID> leaders = new ArrayList<>();
+            for (int i = 2; i < args.length; i++) {
+                Player player = PlayerIndex.getPlayer(args[i]);
+                if (player == null) {
+                    sender.sendMessage("§c指定されたプレイヤーはオンラインではありません: " + args[i]);
+                    return true;
+                }
+                if (!team.hasEntry(player.getName())) {
+                    sender.sendMessage("§c" + player.getName() + "は" + team.getName() + "に所属していません。");
+                    return true;
+                }
+                leaders.add(player.getUniqueId());
+            }
+            if (leaders.isEmpty()) {
+                sender.sendMessage("§c使用方法: /kteam rechooseLeader <チーム名> pin <プレイヤー名...>");
+                return true;
+            }
+
+            pinned.pin(team.getName(), leaders);
+            sendResult(sender, team, TeamUtility.electTeamLeaders(team, leaders.size(), pinned));
+            return true;
+        }
+
+        LeaderElectionStrategy strategy = TeamUtility.getLeaderElectionStrategy();
+        if (args.length >= 2) {
+            strategy = LeaderElectionStrategies.get(args[1]);
+            if (strategy == null) {
+                sender.sendMessage("§c不明な選出方法です: " + args[1] + " (" + String.join(", ",
+                        LeaderElectionStrategies.getNames()) + ")");
+                return true;
+            }
+        }
+
+        int count = Math.max(1, TeamUtility.getTeamLeaders(team.getName()).size());
+        if (args.length >= 3) {
+            try {
+                count = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                sender.sendMessage("§c無効な数値です: " + args[2]);
+                return true;
+            }
+            if (count < 1) {
+                sender.sendMessage("§cリーダーの人数は1以上である必要があります。");
+                return true;
+            }
+        }
+
+        sendResult(sender, team, TeamUtility.electTeamLeaders(team, count, strategy));
+        return true;
+    }
+
+    private void sendResult(CommandSender sender, Team team, List<Player> leaders) {
+        if (leaders.isEmpty()) {
+            sender.sendMessage("§c" + team.getName() + "にはリーダーにできるオンラインのメンバーがいません。");
+            return;
+        }
+        sender.sendMessage("§a" + team.getName() + "のリーダーを" + leaders.stream().map(Player::getName)
+                .collect(Collectors.joining(", ")) + "に変更しました。");
     }
 
     @Override
     public List<String> getTabCompletions(CommandSender sender, String[] args) {
-        return TeamUtility.getTeams().stream().map(Team::getName).collect(Collectors.toList());
+        if (args.length == 2) {
+            List<String> completions = new ArrayList<>(LeaderElectionStrategies.getNames());
+            completions.add(PIN);
+            completions.add(UNPIN);
+            return completions;
+        }
+        if (args.length >= 3 && args[1].equalsIgnoreCase(PIN)) {
+            return Bukkit.getOnlinePlayers().stream().map(Player::getName).collect(Collectors.toList());
+        }
+        if (args.length >= 3) {
+            return List.of();
+        }
+        return TeamUtility.getSnapshot().getTeamNames();
     }
 }
@@ -2,12 +2,19 @@ package com.karasu256.teamUtils.command.subcommand;
 
 import com.karasu256.kcapi.api.command.AbstractEndOfSubCommand;
 import com.karasu256.kcapi.api.command.ICommand;
+import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.formation.TeamFormationStrategies;
+import com.karasu256.teamUtils.formation.TeamFormationStrategy;
 import com.karasu256.teamUtils.utils.TeamUtility;
 
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class RefreshSubCommand extends AbstractEndOfSubCommand {
     public RefreshSubCommand(ICommand parent) {
         super("reflesh", parent);
@@ -18,14 +25,27 @@ public class RefreshSubCommand extends AbstractEndOfSubCommand {
         LOGGER.info("Refreshing teams...");
         int maxMember = 0;
         int teamLeaders = 0;
+        TeamFormationStrategy strategy = null;
+        Long seed;
 
         try{
+            List<String> arguments = new ArrayList<>(Arrays.asList(args));
+            seed = removeSeedOption(arguments);
+            args = arguments.toArray(new String[0]);
+
             if(args.length > 0){
                 maxMember = Integer.parseInt(args[0]);
             }
             if(args.length > 1){
                 teamLeaders = Integer.parseInt(args[1]);
             }
+            if(args.length > 2){
+                strategy = TeamFormationStrategies.get(args[2]);
+                if(strategy == null){
+                    sender.sendMessage("§c不明な振り分け方法です: " + args[2] + " (" + String.join(", ", TeamFormationStrategies.getNames()) + ")");
+                    return true;
+                }
+            }
         }
         catch (NumberFormatException e){
             LOGGER.warning("Invalid number format: " + e.getMessage());
@@ -40,8 +60,30 @@ public class RefreshSubCommand extends AbstractEndOfSubCommand {
             return false;
         }
 
+        if(strategy == null){
+            strategy = TeamFormationStrategies.getOrDefault(TeamUtils.GAME_CONFIG.formationStrategy);
+        }
+
+        // 進捗は25%刻みで通知する
+        int[] lastReportedQuarter = {0};
         try{
-            TeamUtility.shuffle(maxMember, teamLeaders);
+            boolean started = TeamUtility.shuffleAsync(maxMember, teamLeaders, strategy, seed,
+                    (completed, total) -> {
+                        int quarter = completed * 4 / Math.max(1, total);
+                        if(quarter > lastReportedQuarter[0] && completed < total){
+                            lastReportedQuarter[0] = quarter;
+                            sender.sendMessage("§7チームを反映中... " + completed + "/" + total);
+                        }
+                    },
+                    plan -> {
+                        sender.sendMessage("§aチームを再編成しました（" + plan.getTeams().size() + "チーム、" + plan.getPlayerCount() + "人）");
+                        LOGGER.info("Teams have been refreshed successfully.");
+                    });
+
+            if(!started){
+                sender.sendMessage("§cチーム分けの対象となるプレイヤーがいません。");
+                return true;
+            }
         }
         catch (IllegalArgumentException e){
             LOGGER.warning("Invalid argument: " + e.getMessage());
@@ -55,7 +97,36 @@ public class RefreshSubCommand extends AbstractEndOfSubCommand {
             return false;
         }
 
-        LOGGER.info("Teams have been refreshed successfully.");
+        sender.sendMessage("§7チームの再編成を開始しました（シード: " + TeamUtility.getGameRandom().getSeed() + "）...");
         return true;
     }
+
+    /**
+     * 引数から{@code --seed <シード>}を取り除き、シードを返します
+     *
+     * @param arguments コマンドの引数（{@code --seed}とその値は取り除かれます）
+     * @return シード（指定されていない場合はnull）
+     * @throws NumberFormatException シードが数値でない場合、または値が指定されていない場合
+     */
+    static Long removeSeedOption(List<String> arguments) {
+        int index = arguments.indexOf("--seed");
+        if(index < 0){
+            return null;
+        }
+        if(index + 1 >= arguments.size()){
+            throw new NumberFormatException("--seed requires a value");
+        }
+
+        long seed = Long.parseLong(arguments.get(index + 1));
+        arguments.subList(index, index + 2).clear();
+        return seed;
+    }
+
+    @Override
+    public List<String> getTabCompletions(CommandSender sender, String[] args) {
+        if(args.length == 3){
+            return TeamFormationStrategies.getNames();
+        }
+        return List.of();
+    }
 }
@@ -6,11 +6,9 @@ import com.karasu256.teamUtils.utils.TeamUtility;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
-import org.bukkit.scoreboard.Team;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class TeamInfoSubCommand extends AbstractEndOfSubCommand {
     public TeamInfoSubCommand(ICommand subCommand) {
@@ -73,6 +71,6 @@ public class TeamInfoSubCommand extends AbstractEndOfSubCommand {
 
     @Override
     public List<String> getTabCompletions(CommandSender sender, String[] args) {
-        return TeamUtility.getTeams().stream().map(Team::getName).collect(Collectors.toList());
+        return TeamUtility.getSnapshot().getTeamNames();
     }
 }
@@ -26,7 +26,10 @@ public class TestSubCommand extends AbstractSubCommand {
 
         @Override
         public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args) {
-            return LocationUtils.teleportTeamLeadersToSafeLocations() > 0;
+            // テレポートは非同期で行われるため、結果は完了時に通知する
+            LocationUtils.teleportTeamLeadersToSafeLocations().thenAccept(count ->
+                    sender.sendMessage("§a" + count + "人のリーダーをテレポートしました。"));
+            return true;
         }
     }
 }
@@ -3,6 +3,9 @@ package com.karasu256.teamUtils.config;
 import com.karasu256.karasuConfigLib.annotation.Config;
 import org.bukkit.GameMode;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * ゲームに関する設定を保存するクラスです。
  */
@@ -28,6 +31,67 @@ public class GameConfig extends AbstractPluginBaseConfig{
      */
     public boolean isGameRunning = false;
 
+    /**
+     * リスポーンやゲームモード変更を待機する最大秒数（0以下で無制限、デフォルト：300）
+     */
+    public int awaitTimeoutSeconds = 300;
+
+    /**
+     * チームの振り分け方法（random, balanced など、デフォルト：random）
+     */
+    public String formationStrategy = "random";
+
+    /**
+     * チームの再編成をスコアボードに反映する時の1ティックあたりの時間の上限（ミリ秒、0以下で無制限、デフォルト：10）
+     */
+    public int shuffleTickBudgetMillis = 10;
+
+    /**
+     * ゲーム中にチームの人数の差がこの値を超えたら自動で調整する（0以下で無効、デフォルト：2）
+     */
+    public int rebalanceThreshold = 2;
+
+    /**
+     * チームリーダーの選出方法（random, roundrobin, weighted, pinned、デフォルト：random）
+     */
+    public String leaderElectionStrategy = "random";
+
+    /**
+     * キューで待っている人数がこの値に達したら試合を始める（1試合の最大人数、デフォルト：8）
+     */
+    public int matchmakingBatchSize = 8;
+
+    /**
+     * キューから試合を始めるのに必要な最小人数（デフォルト：4）
+     */
+    public int matchmakingMinPlayers = 4;
+
+    /**
+     * キューの先頭のプレイヤーがこの秒数待ったら最小人数で試合を始める（0以下で無効、デフォルト：60）
+     */
+    public int matchmakingTimeoutSeconds = 60;
+
+    /**
+     * キューから始めた試合の秒数（0以下で無制限、デフォルト：600）
+     */
+    public int matchmakingMatchSeconds = 600;
+
+    /**
+     * ワールドごとに前もって探しておく安全なスポーン地点の数（0以下で無効、デフォルト：32）
+     */
+    public int spawnPoolSize = 32;
+
+    /**
+     * スポーン地点のプールを補充する時に1秒あたりに確認する候補の数（デフォルト：4）
+     */
+    public int spawnPoolRefillPerSecond = 4;
+
+    /**
+     * 安全な場所を探す時に、上に立ったり中に入ったりしないブロックの名前のリスト
+     */
+    public List<String> hazardousBlocks = new ArrayList<>(List.of("LAVA", "FIRE", "SOUL_FIRE", "MAGMA_BLOCK",
+            "CACTUS", "CAMPFIRE", "SOUL_CAMPFIRE", "POWDER_SNOW", "SWEET_BERRY_BUSH"));
+
     /**
      * デフォルトコンストラクタ
      */
@@ -71,6 +135,115 @@ public class GameConfig extends AbstractPluginBaseConfig{
         this.maxTeamMembers = maxTeamMembers;
     }
 
+    /**
+     * リスポーンやゲームモード変更を待機する最大秒数を設定します。
+     * 
+     * @param awaitTimeoutSeconds 最大秒数（0以下で無制限）
+     */
+    public void setAwaitTimeoutSeconds(int awaitTimeoutSeconds) {
+        this.awaitTimeoutSeconds = awaitTimeoutSeconds;
+    }
+
+    /**
+     * チームの振り分け方法を設定します。
+     * 
+     * @param formationStrategy 振り分け方法の名前
+     */
+    public void setFormationStrategy(String formationStrategy) {
+        this.formationStrategy = formationStrategy;
+    }
+
+    /**
+     * チームの再編成を反映する時の1ティックあたりの時間の上限を設定します。
+     * 
+     * @param shuffleTickBudgetMillis 時間の上限（ミリ秒、0以下で無制限）
+     */
+    public void setShuffleTickBudgetMillis(int shuffleTickBudgetMillis) {
+        this.shuffleTickBudgetMillis = shuffleTickBudgetMillis;
+    }
+
+    /**
+     * チームの人数を自動で調整する閾値を設定します。
+     * 
+     * @param rebalanceThreshold 許容する人数の差（0以下で無効）
+     */
+    public void setRebalanceThreshold(int rebalanceThreshold) {
+        this.rebalanceThreshold = rebalanceThreshold;
+    }
+
+    /**
+     * チームリーダーの選出方法を設定します。
+     * 
+     * @param leaderElectionStrategy 選出方法の名前
+     */
+    public void setLeaderElectionStrategy(String leaderElectionStrategy) {
+        this.leaderElectionStrategy = leaderElectionStrategy;
+    }
+
+    /**
+     * キューから始める試合の最大人数を設定します。
+     * 
+     * @param matchmakingBatchSize 1試合の最大人数
+     */
+    public void setMatchmakingBatchSize(int matchmakingBatchSize) {
+        this.matchmakingBatchSize = matchmakingBatchSize;
+    }
+
+    /**
+     * キューから試合を始めるのに必要な最小人数を設定します。
+     * 
+     * @param matchmakingMinPlayers 最小人数
+     */
+    public void setMatchmakingMinPlayers(int matchmakingMinPlayers) {
+        this.matchmakingMinPlayers = matchmakingMinPlayers;
+    }
+
+    /**
+     * キューの待ち時間の上限を設定します。
+     * 
+     * @param matchmakingTimeoutSeconds 待ち時間の上限（秒、0以下で無効）
+     */
+    public void setMatchmakingTimeoutSeconds(int matchmakingTimeoutSeconds) {
+        this.matchmakingTimeoutSeconds = matchmakingTimeoutSeconds;
+    }
+
+    /**
+     * キューから始めた試合の秒数を設定します。
+     * 
+     * @param matchmakingMatchSeconds 試合の秒数（0以下で無制限）
+     */
+    public void setMatchmakingMatchSeconds(int matchmakingMatchSeconds) {
+        this.matchmakingMatchSeconds = matchmakingMatchSeconds;
+    }
+
+    /**
+     * 前もって探しておくスポーン地点の数を設定します。
+     * 
+     * @param spawnPoolSize スポーン地点の数（0以下で無効）
+     */
+    public void setSpawnPoolSize(int spawnPoolSize) {
+        this.spawnPoolSize = spawnPoolSize;
+    }
+
+    /**
+     * スポーン地点のプールを補充する速さを設定します。
+     * 
+     * @param spawnPoolRefillPerSecond 1秒あたりに確認する候補の数
+     */
+    public void setSpawnPoolRefillPerSecond(int spawnPoolRefillPerSecond) {
+        this.spawnPoolRefillPerSecond = spawnPoolRefillPerSecond;
+    }
+
+    /**
+     * 安全な場所を探す時に避けるブロックを設定します。
+     * 反映するには{@link com.karasu256.teamUtils.utils.BlockClassification#reload}を呼び出してください。
+     * 
+     * @param hazardousBlocks ブロックの名前のリスト
+     */
+    public void setHazardousBlocks(List<String> hazardousBlocks) {
+        this.hazardousBlocks = hazardousBlocks;
+    }
+
     /**
      * ゲームが実行中かどうかを取得します。
      * 
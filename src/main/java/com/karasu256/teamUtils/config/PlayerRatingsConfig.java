@@ -0,0 +1,27 @@
+package com.karasu256.teamUtils.config;
+
+import com.karasu256.karasuConfigLib.annotation.Config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * コマンドで設定されたプレイヤーのレーティングを保存するクラスです。
+ */
+@Config(fileName = "player_ratings.json")
+public class PlayerRatingsConfig extends AbstractPluginBaseConfig {
+    /**
+     * プレイヤーUUID -> レーティング（未設定のプレイヤーは含まない）
+     */
+    public Map<String, Double> ratings = new HashMap<>();
+
+    public PlayerRatingsConfig() {
+    }
+
+    /**
+     * @param ratings プレイヤーUUID -> レーティング
+     */
+    public void setRatings(Map<String, Double> ratings) {
+        this.ratings = ratings;
+    }
+}
@@ -0,0 +1,61 @@
+package com.karasu256.teamUtils.formation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.random.RandomGenerator;
+
+/**
+ * プレイヤーのレーティングの合計がチーム間で均等になるように振り分ける方法
+ * レーティングの高い順に、合計が最も低く定員に空きのあるチームへ割り当てる貪欲法（LPT）を使います
+ * 人数の差は1人以内に保たれ、計算量はO(n log n + n log k)です
+ */
+public class BalancedFormationStrategy implements TeamFormationStrategy {
+    public static final String NAME = "balanced";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<List<FormationCandidate>> form(List<FormationCandidate> candidates, int teamCount,
+            RandomGenerator random) {
+        // 同じレーティングのプレイヤーの並びが毎回同じにならないよう、先にシャッフルしてから安定ソートする
+        List<FormationCandidate> sorted = new ArrayList<>(candidates);
+        RandomFormationStrategy.shuffle(sorted, random);
+        sorted.sort(Comparator.comparingDouble(FormationCandidate::getRating).reversed());
+
+        int basePlayersPerTeam = sorted.size() / teamCount;
+        int remainingPlayers = sorted.size() % teamCount;
+
+        List<List<FormationCandidate>> teams = new ArrayList<>(teamCount);
+        double[] ratingSums = new double[teamCount];
+        int[] capacities = new int[teamCount];
+        for (int i = 0; i < teamCount; i++) {
+            teams.add(new ArrayList<>());
+            capacities[i] = basePlayersPerTeam + (i < remainingPlayers ? 1 : 0);
+        }
+
+        // レーティングの合計が低い順（同じ場合は番号順）に並ぶチームのヒープ
+        PriorityQueue<Integer> open = new PriorityQueue<>(teamCount,
+                Comparator.<Integer>comparingDouble(team -> ratingSums[team]).thenComparingInt(team -> team));
+        for (int i = 0; i < teamCount; i++) {
+            if (capacities[i] > 0) {
+                open.add(i);
+            }
+        }
+
+        for (FormationCandidate candidate : sorted) {
+            int team = open.poll();
+            teams.get(team).add(candidate);
+            ratingSums[team] += candidate.getRating();
+            if (teams.get(team).size() < capacities[team]) {
+                open.add(team);
+            }
+        }
+
+        return teams;
+    }
+}
@@ -0,0 +1,94 @@
+package com.karasu256.teamUtils.formation;
+
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * チーム分けの対象となるプレイヤーの情報
+ * メインスレッド以外でも扱えるよう、Bukkitのオブジェクトは保持しません
+ */
+public final class FormationCandidate {
+    private final UUID uniqueId;
+    private final String name;
+    private final double rating;
+    @Nullable
+    private final UUID groupId;
+
+    // 位置（ワールド名がnullの場合は位置が分からないことを表す）
+    @Nullable
+    private final String worldName;
+    private final double x;
+    private final double z;
+
+    public FormationCandidate(UUID uniqueId, String name, double rating) {
+        this(uniqueId, name, rating, null);
+    }
+
+    /**
+     * @param uniqueId プレイヤーのUUID
+     * @param name     プレイヤー名
+     * @param rating   レーティング
+     * @param groupId  同じチームに振り分けたいグループ（パーティーなど）のID（ない場合はnull）
+     */
+    public FormationCandidate(UUID uniqueId, String name, double rating, @Nullable UUID groupId) {
+        this(uniqueId, name, rating, groupId, null, 0, 0);
+    }
+
+    private FormationCandidate(UUID uniqueId, String name, double rating, @Nullable UUID groupId,
+            @Nullable String worldName, double x, double z) {
+        this.uniqueId = uniqueId;
+        this.name = name;
+        this.rating = rating;
+        this.groupId = groupId;
+        this.worldName = worldName;
+        this.x = x;
+        this.z = z;
+    }
+
+    /**
+     * 位置を付けた候補を作成します
+     *
+     * @param worldName ワールド名
+     * @param x         X座標
+     * @param z         Z座標
+     * @return 位置を付けた候補
+     */
+    public FormationCandidate withLocation(String worldName, double x, double z) {
+        return new FormationCandidate(uniqueId, name, rating, groupId, worldName, x, z);
+    }
+
+    public UUID getUniqueId() {
+        return uniqueId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    @Nullable
+    public UUID getGroupId() {
+        return groupId;
+    }
+
+    public boolean hasLocation() {
+        return worldName != null;
+    }
+
+    @Nullable
+    public String getWorldName() {
+        return worldName;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getZ() {
+        return z;
+    }
+}
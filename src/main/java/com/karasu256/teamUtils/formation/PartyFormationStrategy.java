@@ -0,0 +1,105 @@
+package com.karasu256.teamUtils.formation;
+
+import com.karasu256.teamUtils.TeamUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+
+/**
+ * パーティー（{@link FormationCandidate#getGroupId()}が同じプレイヤー）を分けずに振り分ける方法
+ * パーティーと1人のプレイヤーを単位として大きい順に並べ、最も人数の少ないチームへ割り当てる
+ * 最悪適合減少法（Worst-Fit Decreasing）のビンパッキングを使います
+ * 計算量はO(u log u + u log k)（uは単位の数、kはチーム数）で、パーティーが数百あっても高速に終わります
+ * チームの定員はceil(人数 / チーム数)で、定員を超えるパーティーや、どのチームにも入りきらないパーティーは
+ * 定員に収まるように分割されます
+ * パーティーを分けないことを優先するため、チームの人数の差が2人以上になる場合があります
+ */
+public class PartyFormationStrategy implements TeamFormationStrategy {
+    public static final String NAME = "party";
+
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<List<FormationCandidate>> form(List<FormationCandidate> candidates, int teamCount,
+            RandomGenerator random) {
+        int capacity = (candidates.size() + teamCount - 1) / teamCount;
+
+        // パーティーごとにまとめ、パーティーに参加していないプレイヤーは1人で1単位にする
+        Map<UUID, List<FormationCandidate>> groups = new LinkedHashMap<>();
+        List<List<FormationCandidate>> units = new ArrayList<>();
+        for (FormationCandidate candidate : candidates) {
+            if (candidate.getGroupId() == null) {
+                units.add(List.of(candidate));
+            } else {
+                groups.computeIfAbsent(candidate.getGroupId(), k -> new ArrayList<>()).add(candidate);
+            }
+        }
+
+        for (List<FormationCandidate> group : groups.values()) {
+            if (group.size() <= capacity) {
+                units.add(group);
+                continue;
+            }
+
+            // 定員を超えるパーティーは定員ごとに分割する
+            LOGGER.warning("Party of " + group.size() + " players exceeds the team capacity of " + capacity
+                    + ". Splitting it across teams");
+            for (int i = 0; i < group.size(); i += capacity) {
+                units.add(group.subList(i, Math.min(i + capacity, group.size())));
+            }
+        }
+
+        // 同じ大きさの単位の並びが毎回同じにならないよう、先にシャッフルしてから安定ソートする
+        RandomFormationStrategy.shuffle(units, random);
+        units.sort(Comparator.comparingInt((List<FormationCandidate> unit) -> unit.size()).reversed());
+
+        List<List<FormationCandidate>> teams = new ArrayList<>(teamCount);
+        double[] ratingSums = new double[teamCount];
+        for (int i = 0; i < teamCount; i++) {
+            teams.add(new ArrayList<>());
+        }
+
+        // 人数が少ない順（同じ場合はレーティングの合計が低い順）に並ぶチームのヒープ
+        PriorityQueue<Integer> open = new PriorityQueue<>(teamCount,
+                Comparator.<Integer>comparingInt(team -> teams.get(team).size())
+                        .thenComparingDouble(team -> ratingSums[team])
+                        .thenComparingInt(team -> team));
+        for (int i = 0; i < teamCount; i++) {
+            open.add(i);
+        }
+
+        for (List<FormationCandidate> unit : units) {
+            int index = 0;
+            while (index < unit.size() && !open.isEmpty()) {
+                int team = open.poll();
+                List<FormationCandidate> members = teams.get(team);
+
+                // 最も空いているチームに入りきらない場合は、入る分だけ入れて残りを次のチームへ回す
+                int count = Math.min(unit.size() - index, capacity - members.size());
+                for (FormationCandidate candidate : unit.subList(index, index + count)) {
+                    members.add(candidate);
+                    ratingSums[team] += candidate.getRating();
+                }
+                index += count;
+
+                if (members.size() < capacity) {
+                    open.add(team);
+                }
+            }
+        }
+
+        return teams;
+    }
+}
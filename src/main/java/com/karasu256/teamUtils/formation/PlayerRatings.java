@@ -0,0 +1,110 @@
+package com.karasu256.teamUtils.formation;
+
+import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.config.PlayerRatingsConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * チームの振り分けに使うプレイヤーのレーティング
+ * コマンドで設定された値を保持し、未設定のプレイヤーには{@link #DEFAULT_RATING}を返します
+ * 設定された値は{@link PlayerRatingsConfig}（player_ratings.json）に保存され、再起動やリロード後も引き継がれます
+ * 外部のレーティングを使う場合は{@link #setProvider(ToDoubleFunction)}で取得方法を置き換えてください
+ */
+public class PlayerRatings {
+    public static final double DEFAULT_RATING = 1000.0;
+    private static final String CONFIG_FILE_NAME = "player_ratings.json";
+
+    // プレイヤーUUID -> コマンドで設定されたレーティング
+    private static final Map<UUID, Double> ratings = new ConcurrentHashMap<>();
+
+    private static ToDoubleFunction<UUID> provider = uuid -> ratings.getOrDefault(uuid, DEFAULT_RATING);
+
+    // 保存先の設定（読み込み前はnull）
+    private static PlayerRatingsConfig config;
+
+    /**
+     * 保存されているレーティングを読み込みます
+     * プラグインの有効化時（リロード時を含む）に呼び出してください
+     *
+     * @param ratingsConfig 保存先の設定
+     */
+    public static void load(PlayerRatingsConfig ratingsConfig) {
+        config = ratingsConfig;
+        ratings.clear();
+        if (ratingsConfig.ratings == null) {
+            return;
+        }
+
+        ratingsConfig.ratings.forEach((uuid, rating) -> {
+            try {
+                ratings.put(UUID.fromString(uuid), rating);
+            } catch (IllegalArgumentException e) {
+                TeamUtils.LOGGER.warning("Invalid player UUID in " + CONFIG_FILE_NAME + ": " + uuid);
+            }
+        });
+    }
+
+    /**
+     * プレイヤーのレーティングを取得します
+     *
+     * @param uuid プレイヤーのUUID
+     * @return レーティング
+     */
+    public static double getRating(UUID uuid) {
+        return provider.applyAsDouble(uuid);
+    }
+
+    /**
+     * プレイヤーのレーティングを設定します
+     *
+     * @param uuid   プレイヤーのUUID
+     * @param rating レーティング
+     */
+    public static void setRating(UUID uuid, double rating) {
+        ratings.put(uuid, rating);
+        save();
+    }
+
+    /**
+     * プレイヤーのレーティングの設定を削除し、デフォルト値に戻します
+     *
+     * @param uuid プレイヤーのUUID
+     */
+    public static void resetRating(UUID uuid) {
+        if (ratings.remove(uuid) != null) {
+            save();
+        }
+    }
+
+    /**
+     * 設定されているレーティングを設定ファイルに保存します
+     */
+    private static void save() {
+        if (config == null) {
+            return;
+        }
+
+        Map<String, Double> saved = new HashMap<>();
+        ratings.forEach((uuid, rating) -> saved.put(uuid.toString(), rating));
+        config.setRatings(saved);
+        TeamUtils.getPlugin().saveConfig(CONFIG_FILE_NAME);
+    }
+
+    /**
+     * レーティングの取得方法を置き換えます
+     *
+     * @param ratingProvider プレイヤーUUIDからレーティングを返す関数
+     */
+    public static void setProvider(ToDoubleFunction<UUID> ratingProvider) {
+        provider = ratingProvider;
+    }
+
+    public static int size() {
+        return ratings.size();
+    }
+}
@@ -0,0 +1,116 @@
+package com.karasu256.teamUtils.formation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * 近くにいるプレイヤー同士が同じチームになるように振り分ける方法
+ * ワールドごとにプレイヤーの位置をグリッドのマスに割り当て、マスをヒルベルト曲線の順に並べてから
+ * 先頭から順にチームの人数ずつ区切ります
+ * ヒルベルト曲線の順では近いマス同士が並びやすいため、区切ったチームは空間的にまとまります
+ * 計算量は並べ替えのO(n log n)で、人数の差は1人以内に保たれます
+ * 位置が分からないプレイヤーは最後にランダムな順で割り当てます
+ */
+public class ProximityFormationStrategy implements TeamFormationStrategy {
+    public static final String NAME = "proximity";
+
+    // グリッドの1マスの大きさ（ブロック）
+    private static final int CELL_SIZE = 8;
+
+    // ヒルベルト曲線の1辺のマス数（2のべき乗）
+    private static final int CURVE_SIZE = 1 << 16;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<List<FormationCandidate>> form(List<FormationCandidate> candidates, int teamCount,
+            RandomGenerator random) {
+        // ワールド名の順にまとめる
+        Map<String, List<FormationCandidate>> worlds = new TreeMap<>();
+        List<FormationCandidate> unlocated = new ArrayList<>();
+        for (FormationCandidate candidate : candidates) {
+            if (candidate.hasLocation()) {
+                worlds.computeIfAbsent(candidate.getWorldName(), k -> new ArrayList<>()).add(candidate);
+            } else {
+                unlocated.add(candidate);
+            }
+        }
+
+        List<FormationCandidate> ordered = new ArrayList<>(candidates.size());
+        for (List<FormationCandidate> players : worlds.values()) {
+            sortAlongCurve(players);
+            ordered.addAll(players);
+        }
+        RandomFormationStrategy.shuffle(unlocated, random);
+        ordered.addAll(unlocated);
+
+        int basePlayersPerTeam = ordered.size() / teamCount;
+        int remainingPlayers = ordered.size() % teamCount;
+
+        List<List<FormationCandidate>> teams = new ArrayList<>(teamCount);
+        int currentIndex = 0;
+        for (int i = 0; i < teamCount; i++) {
+            int teamSize = basePlayersPerTeam + (i < remainingPlayers ? 1 : 0);
+            teams.add(new ArrayList<>(ordered.subList(currentIndex, currentIndex + teamSize)));
+            currentIndex += teamSize;
+        }
+        return teams;
+    }
+
+    /**
+     * 同じワールドのプレイヤーをヒルベルト曲線の順に並べます
+     */
+    private static void sortAlongCurve(List<FormationCandidate> players) {
+        long minCellX = Long.MAX_VALUE;
+        long minCellZ = Long.MAX_VALUE;
+        for (FormationCandidate player : players) {
+            minCellX = Math.min(minCellX, toCell(player.getX()));
+            minCellZ = Math.min(minCellZ, toCell(player.getZ()));
+        }
+
+        Map<FormationCandidate, Long> keys = new IdentityHashMap<>(players.size());
+        for (FormationCandidate player : players) {
+            // 範囲外のマスは曲線の端にまとめる
+            int cellX = (int) Math.min(CURVE_SIZE - 1, toCell(player.getX()) - minCellX);
+            int cellZ = (int) Math.min(CURVE_SIZE - 1, toCell(player.getZ()) - minCellZ);
+            keys.put(player, hilbertIndex(cellX, cellZ));
+        }
+        players.sort(Comparator.comparingLong(keys::get));
+    }
+
+    private static long toCell(double coordinate) {
+        return Math.floorDiv((long) Math.floor(coordinate), CELL_SIZE);
+    }
+
+    /**
+     * マスの座標をヒルベルト曲線上の位置に変換します
+     */
+    private static long hilbertIndex(int x, int y) {
+        long index = 0;
+        for (int s = CURVE_SIZE / 2; s > 0; s /= 2) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            index += (long) s * s * ((3 * rx) ^ ry);
+
+            // 象限に合わせて回転
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = CURVE_SIZE - 1 - x;
+                    y = CURVE_SIZE - 1 - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return index;
+    }
+}
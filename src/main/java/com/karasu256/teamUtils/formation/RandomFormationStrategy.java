@@ -0,0 +1,47 @@
+package com.karasu256.teamUtils.formation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * プレイヤーをシャッフルして順番に配る振り分け方法（デフォルト）
+ * 先頭のチームから順に、人数が均等になるように配ります
+ */
+public class RandomFormationStrategy implements TeamFormationStrategy {
+    public static final String NAME = "random";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<List<FormationCandidate>> form(List<FormationCandidate> candidates, int teamCount,
+            RandomGenerator random) {
+        List<FormationCandidate> shuffled = new ArrayList<>(candidates);
+        shuffle(shuffled, random);
+
+        int basePlayersPerTeam = shuffled.size() / teamCount;
+        int remainingPlayers = shuffled.size() % teamCount;
+
+        List<List<FormationCandidate>> teams = new ArrayList<>(teamCount);
+        int currentIndex = 0;
+        for (int i = 0; i < teamCount; i++) {
+            int teamSize = basePlayersPerTeam + (i < remainingPlayers ? 1 : 0);
+            teams.add(new ArrayList<>(shuffled.subList(currentIndex, currentIndex + teamSize)));
+            currentIndex += teamSize;
+        }
+        return teams;
+    }
+
+    /**
+     * Fisher–Yatesでリストをシャッフルします
+     */
+    static <T> void shuffle(List<T> list, RandomGenerator random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            list.set(i, list.set(j, list.get(i)));
+        }
+    }
+}
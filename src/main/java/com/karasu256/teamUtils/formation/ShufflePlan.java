@@ -0,0 +1,96 @@
+package com.karasu256.teamUtils.formation;
+
+import com.karasu256.teamUtils.utils.ColorUtils;
+import net.kyori.adventure.text.format.NamedTextColor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * チーム分けの計画
+ * チーム名、色、メンバーをスコアボードに触れずに決めておき、
+ * 反映はメインスレッドで少しずつ行います
+ * リーダーは既存のチームを再利用するかどうかが決まってから、反映時にそのチームの名前で選出します
+ * 計画の作成はBukkitのオブジェクトを使わないため、メインスレッド以外から行えます
+ */
+public final class ShufflePlan {
+    private final String strategyName;
+    private final List<PlannedTeam> teams;
+    private final int playerCount;
+
+    private ShufflePlan(String strategyName, List<PlannedTeam> teams, int playerCount) {
+        this.strategyName = strategyName;
+        this.teams = teams;
+        this.playerCount = playerCount;
+    }
+
+    /**
+     * チーム分けの計画を作成します
+     *
+     * @param candidates 振り分けるプレイヤー
+     * @param teamCount  チーム数（1以上）
+     * @param strategy   振り分け方法
+     * @param random     振り分け、チーム名、色に使う乱数
+     * @return 計画
+     */
+    public static ShufflePlan create(List<FormationCandidate> candidates, int teamCount,
+            TeamFormationStrategy strategy, RandomGenerator random) {
+        List<PlannedTeam> plannedTeams = new ArrayList<>(teamCount);
+        for (List<FormationCandidate> members : strategy.form(candidates, teamCount, random)) {
+            if (members.isEmpty()) {
+                continue;
+            }
+
+            // チーム名の決定（ランダムなメンバーの名前を小文字化）
+            FormationCandidate representative = members.get(random.nextInt(members.size()));
+            String teamName = "team_" + representative.getName().toLowerCase(Locale.ROOT);
+
+            plannedTeams.add(new PlannedTeam(teamName, ColorUtils.getRandomNamedTextColor(random),
+                    List.copyOf(members)));
+        }
+        return new ShufflePlan(strategy.getName(), Collections.unmodifiableList(plannedTeams), candidates.size());
+    }
+
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    public List<PlannedTeam> getTeams() {
+        return teams;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    /**
+     * 計画された1チーム
+     * 名前と色は新しくチームを登録する場合にだけ使われ、既存のチームを再利用する場合はそのチームのものが残ります
+     */
+    public static final class PlannedTeam {
+        private final String name;
+        private final NamedTextColor color;
+        private final List<FormationCandidate> members;
+
+        private PlannedTeam(String name, NamedTextColor color, List<FormationCandidate> members) {
+            this.name = name;
+            this.color = color;
+            this.members = members;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public NamedTextColor getColor() {
+            return color;
+        }
+
+        public List<FormationCandidate> getMembers() {
+            return members;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.karasu256.teamUtils.formation;
+
+import com.karasu256.teamUtils.TeamUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * チームの振り分け方法を名前で管理するレジストリ
+ * 他のプラグインやサブシステムも{@link #register(TeamFormationStrategy)}で独自の振り分け方法を追加できます
+ */
+public class TeamFormationStrategies {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    // 名前 -> 振り分け方法（登録順）
+    private static final Map<String, TeamFormationStrategy> strategies = new LinkedHashMap<>();
+
+    static {
+        register(new RandomFormationStrategy());
+        register(new BalancedFormationStrategy());
+        register(new PartyFormationStrategy());
+        register(new ProximityFormationStrategy());
+    }
+
+    /**
+     * 振り分け方法を登録します
+     * 同じ名前の振り分け方法が既にある場合は置き換えます
+     *
+     * @param strategy 振り分け方法
+     */
+    public static void register(TeamFormationStrategy strategy) {
+        strategies.put(strategy.getName().toLowerCase(Locale.ROOT), strategy);
+    }
+
+    /**
+     * 名前から振り分け方法を取得します
+     *
+     * @param name 振り分け方法の名前（大文字小文字は区別しません）
+     * @return 振り分け方法（見つからない場合はnull）
+     */
+    @Nullable
+    public static TeamFormationStrategy get(String name) {
+        return name != null ? strategies.get(name.toLowerCase(Locale.ROOT)) : null;
+    }
+
+    /**
+     * 名前から振り分け方法を取得します
+     * 見つからない場合はデフォルトのランダムな振り分けを返します
+     *
+     * @param name 振り分け方法の名前
+     * @return 振り分け方法
+     */
+    public static TeamFormationStrategy getOrDefault(String name) {
+        TeamFormationStrategy strategy = get(name);
+        if (strategy == null) {
+            if (name != null && !name.isEmpty()) {
+                LOGGER.warning("Unknown team formation strategy: " + name + ". Falling back to "
+                        + RandomFormationStrategy.NAME);
+            }
+            return strategies.get(RandomFormationStrategy.NAME);
+        }
+        return strategy;
+    }
+
+    public static List<String> getNames() {
+        return new ArrayList<>(strategies.keySet());
+    }
+}
@@ -0,0 +1,27 @@
+package com.karasu256.teamUtils.formation;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * プレイヤーをチームに振り分ける方法
+ * 実装はスコアボードに触れず、振り分け結果だけを返してください
+ */
+public interface TeamFormationStrategy {
+    /**
+     * @return コマンドや設定で指定する名前
+     */
+    String getName();
+
+    /**
+     * プレイヤーをチームに振り分けます
+     * 各チームの人数の差は1人以内になるようにしてください（パーティーを分けない振り分け方法など、
+     * 他の制約を優先する場合はその限りではありません）
+     *
+     * @param candidates 振り分けるプレイヤー
+     * @param teamCount  チーム数（1以上）
+     * @param random     振り分けに使う乱数
+     * @return チームごとのプレイヤーのリスト（要素数はteamCount、空のチームを含む場合があります）
+     */
+    List<List<FormationCandidate>> form(List<FormationCandidate> candidates, int teamCount, RandomGenerator random);
+}
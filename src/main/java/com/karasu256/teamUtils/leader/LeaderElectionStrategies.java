@@ -0,0 +1,84 @@
+package com.karasu256.teamUtils.leader;
+
+import com.karasu256.teamUtils.TeamUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * リーダーの選出方法を名前で管理するレジストリ
+ * 他のプラグインやサブシステムも{@link #register(LeaderElectionStrategy)}で独自の選出方法を追加できます
+ */
+public class LeaderElectionStrategies {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    // 名前 -> 選出方法（登録順）
+    private static final Map<String, LeaderElectionStrategy> strategies = new LinkedHashMap<>();
+
+    // 管理者による指定を保持する選出方法
+    private static final PinnedLeaderElection pinned = new PinnedLeaderElection();
+
+    static {
+        register(new RandomLeaderElection());
+        register(new RoundRobinLeaderElection());
+        register(new WeightedRatingLeaderElection());
+        register(pinned);
+    }
+
+    /**
+     * 選出方法を登録します
+     * 同じ名前の選出方法が既にある場合は置き換えます
+     *
+     * @param strategy 選出方法
+     */
+    public static void register(LeaderElectionStrategy strategy) {
+        strategies.put(strategy.getName().toLowerCase(Locale.ROOT), strategy);
+    }
+
+    /**
+     * 名前から選出方法を取得します
+     *
+     * @param name 選出方法の名前（大文字小文字は区別しません）
+     * @return 選出方法（見つからない場合はnull）
+     */
+    @Nullable
+    public static LeaderElectionStrategy get(String name) {
+        return name != null ? strategies.get(name.toLowerCase(Locale.ROOT)) : null;
+    }
+
+    /**
+     * 名前から選出方法を取得します
+     * 見つからない場合はデフォルトのランダムな選出を返します
+     *
+     * @param name 選出方法の名前
+     * @return 選出方法
+     */
+    public static LeaderElectionStrategy getOrDefault(String name) {
+        LeaderElectionStrategy strategy = get(name);
+        if (strategy == null) {
+            if (name != null && !name.isEmpty()) {
+                LOGGER.warning("Unknown leader election strategy: " + name + ". Falling back to "
+                        + RandomLeaderElection.NAME);
+            }
+            return strategies.get(RandomLeaderElection.NAME);
+        }
+        return strategy;
+    }
+
+    /**
+     * @return 管理者による指定を保持する選出方法
+     */
+    public static PinnedLeaderElection getPinned() {
+        return pinned;
+    }
+
+    public static List<String> getNames() {
+        return new ArrayList<>(strategies.keySet());
+    }
+}
@@ -0,0 +1,32 @@
+package com.karasu256.teamUtils.leader;
+
+import com.karasu256.teamUtils.formation.FormationCandidate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * チームのメンバーからリーダーを選ぶ方法
+ * 実装はスコアボードに触れず、選んだプレイヤーだけを返してください
+ * 計算量はチームの人数に比例する程度に抑え、サーバー全体のプレイヤーを走査しないでください
+ */
+public interface LeaderElectionStrategy {
+    /**
+     * @return コマンドや設定で指定する名前
+     */
+    String getName();
+
+    /**
+     * リーダーを選びます
+     *
+     * @param teamName チーム名
+     * @param members  チームのメンバー
+     * @param leaders  選ぶ人数
+     * @param history  これまでのリーダーの履歴
+     * @param random   選出に使う乱数
+     * @return 選ばれたプレイヤーのUUID（最大でleaders人、メンバーが少ない場合はそれ以下）
+     */
+    List<UUID> elect(String teamName, List<FormationCandidate> members, int leaders, LeaderHistory history,
+            RandomGenerator random);
+}
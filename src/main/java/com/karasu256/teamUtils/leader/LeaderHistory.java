@@ -0,0 +1,139 @@
+package com.karasu256.teamUtils.leader;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * リーダーを務めた履歴
+ * プレイヤーごとに「最後にリーダーに選ばれた選出の番号」と「リーダーを務めた回数」を1つのlongに詰めて保持します
+ * 選出方法は任意のスレッドから読めるよう、並行アクセスに対応したマップを使います
+ * 退出して再参加したプレイヤーや作り直されたチームでも順番が保たれるよう、記録は退出やチームの削除では消しません
+ * 代わりに記録したプレイヤーが上限を超えた時に、最後に選ばれたのが古いプレイヤーとチームの記録から削除します
+ */
+public class LeaderHistory {
+    // 記録するプレイヤーの数の既定の上限
+    public static final int DEFAULT_MAX_PLAYERS = 10_000;
+
+    // 回数に使う下位ビット数
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int maxPlayers;
+
+    // プレイヤーUUID -> (最後に選ばれた選出の番号 << COUNT_BITS) | 務めた回数
+    private final Map<UUID, Long> entries = new ConcurrentHashMap<>();
+
+    // チーム名 -> 直前の選出
+    private final Map<String, LastLeaders> lastLeaders = new ConcurrentHashMap<>();
+
+    // 選出の通し番号
+    private volatile long election;
+
+    public LeaderHistory() {
+        this(DEFAULT_MAX_PLAYERS);
+    }
+
+    /**
+     * @param maxPlayers 記録するプレイヤーの数の上限（超えた場合は古い記録から上限の3/4まで削除します）
+     */
+    public LeaderHistory(int maxPlayers) {
+        this.maxPlayers = Math.max(1, maxPlayers);
+    }
+
+    /**
+     * チームのリーダーの選出を記録します
+     *
+     * @param teamName チーム名
+     * @param leaders  選ばれたリーダー
+     */
+    public synchronized void record(String teamName, Collection<UUID> leaders) {
+        long number = ++election;
+        for (UUID leader : leaders) {
+            entries.merge(leader, pack(number, 1), (previous, ignored) ->
+                    pack(number, Math.min(COUNT_MASK, getCount(previous) + 1)));
+        }
+        lastLeaders.put(teamName, new LastLeaders(number, List.copyOf(leaders)));
+
+        if (entries.size() > maxPlayers) {
+            trim();
+        }
+    }
+
+    /**
+     * @return プレイヤーがリーダーを務めた回数
+     */
+    public int getTimesLed(UUID uuid) {
+        Long entry = entries.get(uuid);
+        return entry != null ? (int) getCount(entry) : 0;
+    }
+
+    /**
+     * @return プレイヤーが最後にリーダーに選ばれた選出の番号（選ばれたことがない場合は0）
+     */
+    public long getLastElection(UUID uuid) {
+        Long entry = entries.get(uuid);
+        return entry != null ? entry >>> COUNT_BITS : 0;
+    }
+
+    /**
+     * @return チームの直前の選出で選ばれたリーダー（記録がない場合は空）
+     */
+    public List<UUID> getLastLeaders(String teamName) {
+        LastLeaders last = lastLeaders.get(teamName);
+        return last != null ? last.leaders() : List.of();
+    }
+
+    public void clear() {
+        entries.clear();
+        lastLeaders.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 最後に選ばれたのが新しいプレイヤーを上限の3/4だけ残し、それより古いプレイヤーとチームの記録を削除します
+     * 上限を超えるたびに呼ばれますが、削除後は上限の1/4の余裕があるため、並べ替えの費用は選出1回あたりでは小さく済みます
+     */
+    private void trim() {
+        long[] elections = new long[entries.size()];
+        int size = 0;
+        for (long entry : entries.values()) {
+            if (size == elections.length) {
+                break;
+            }
+            elections[size++] = entry >>> COUNT_BITS;
+        }
+        Arrays.sort(elections, 0, size);
+
+        int keep = Math.max(1, maxPlayers * 3 / 4);
+        if (size <= keep) {
+            return;
+        }
+        long cutoff = elections[size - keep];
+        entries.values().removeIf(entry -> (entry >>> COUNT_BITS) < cutoff);
+        lastLeaders.values().removeIf(last -> last.election() < cutoff);
+    }
+
+    private static long pack(long election, long count) {
+        return (election << COUNT_BITS) | count;
+    }
+
+    private static long getCount(long entry) {
+        return entry & COUNT_MASK;
+    }
+
+    /**
+     * チームの直前の選出
+     *
+     * @param election 選出の番号
+     * @param leaders  選ばれたリーダー
+     */
+    private record LastLeaders(long election, List<UUID> leaders) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.karasu256.teamUtils.leader;
+
+import com.karasu256.teamUtils.formation.FormationCandidate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * 管理者が指定したプレイヤーをリーダーにする方法
+ * 指定されたプレイヤーのうちチームにいる者を先に選び、足りない分はランダムに選びます
+ * 指定はチーム名ごとに保持され、{@link #unpin(String)}するまで残ります
+ */
+public class PinnedLeaderElection implements LeaderElectionStrategy {
+    public static final String NAME = "pinned";
+
+    // チーム名 -> 指定されたリーダー
+    private final Map<String, List<UUID>> pins = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<UUID> elect(String teamName, List<FormationCandidate> members, int leaders, LeaderHistory history,
+            RandomGenerator random) {
+        List<UUID> pinned = pins.getOrDefault(teamName, List.of());
+        Set<UUID> memberIds = new HashSet<>(members.size());
+        for (FormationCandidate member : members) {
+            memberIds.add(member.getUniqueId());
+        }
+
+        List<UUID> selected = new ArrayList<>();
+        for (UUID uuid : pinned) {
+            if (selected.size() >= leaders) {
+                break;
+            }
+            if (memberIds.contains(uuid)) {
+                selected.add(uuid);
+            }
+        }
+        if (selected.size() >= leaders) {
+            return selected;
+        }
+
+        List<FormationCandidate> rest = new ArrayList<>(members.size());
+        for (FormationCandidate member : members) {
+            if (!selected.contains(member.getUniqueId())) {
+                rest.add(member);
+            }
+        }
+        selected.addAll(RandomLeaderElection.pick(rest, leaders - selected.size(), random));
+        return selected;
+    }
+
+    /**
+     * チームのリーダーを指定します
+     * 既に指定がある場合は置き換えます
+     *
+     * @param teamName チーム名
+     * @param leaders  リーダーにするプレイヤー（優先順）
+     */
+    public void pin(String teamName, List<UUID> leaders) {
+        pins.put(teamName, List.copyOf(leaders));
+    }
+
+    /**
+     * チームのリーダーの指定を解除します
+     *
+     * @param teamName チーム名
+     */
+    public void unpin(String teamName) {
+        pins.remove(teamName);
+    }
+
+    public List<UUID> getPinned(String teamName) {
+        return pins.getOrDefault(teamName, List.of());
+    }
+
+    public void clear() {
+        pins.clear();
+    }
+}
@@ -0,0 +1,47 @@
+package com.karasu256.teamUtils.leader;
+
+import com.karasu256.teamUtils.formation.FormationCandidate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * メンバーから等しい確率でリーダーを選ぶ方法（デフォルト）
+ * 必要な人数分だけFisher–Yatesで部分的にシャッフルするため、計算量はO(チームの人数)です
+ */
+public class RandomLeaderElection implements LeaderElectionStrategy {
+    public static final String NAME = "random";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<UUID> elect(String teamName, List<FormationCandidate> members, int leaders, LeaderHistory history,
+            RandomGenerator random) {
+        return pick(members, leaders, random);
+    }
+
+    /**
+     * メンバーから等しい確率で指定した人数を選びます
+     *
+     * @param members メンバー
+     * @param count   選ぶ人数
+     * @param random  乱数
+     * @return 選ばれたプレイヤーのUUID
+     */
+    static List<UUID> pick(List<FormationCandidate> members, int count, RandomGenerator random) {
+        List<FormationCandidate> pool = new ArrayList<>(members);
+        int picks = Math.min(Math.max(0, count), pool.size());
+        List<UUID> selected = new ArrayList<>(picks);
+        for (int i = 0; i < picks; i++) {
+            int j = i + random.nextInt(pool.size() - i);
+            pool.set(i, pool.set(j, pool.get(i)));
+            selected.add(pool.get(i).getUniqueId());
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,48 @@
+package com.karasu256.teamUtils.leader;
+
+import com.karasu256.teamUtils.formation.FormationCandidate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * リーダーを順番に回す方法
+ * 直前の選出でそのチームのリーダーだったプレイヤーは、他に候補がいる限り選ばれません
+ * 残りの候補からは、リーダーを務めた回数が少なく、最後に務めてから長く経っているプレイヤーを優先します
+ */
+public class RoundRobinLeaderElection implements LeaderElectionStrategy {
+    public static final String NAME = "roundrobin";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<UUID> elect(String teamName, List<FormationCandidate> members, int leaders, LeaderHistory history,
+            RandomGenerator random) {
+        Set<UUID> previous = new HashSet<>(history.getLastLeaders(teamName));
+        List<FormationCandidate> fresh = new ArrayList<>(members.size());
+        List<FormationCandidate> repeated = new ArrayList<>();
+        for (FormationCandidate member : members) {
+            (previous.contains(member.getUniqueId()) ? repeated : fresh).add(member);
+        }
+
+        // 同じ条件のプレイヤーの並びが偏らないよう、先にシャッフルしてから安定ソートする
+        List<UUID> selected = new ArrayList<>(RandomLeaderElection.pick(fresh, fresh.size(), random));
+        selected.sort(Comparator.<UUID>comparingInt(history::getTimesLed)
+                .thenComparingLong(history::getLastElection));
+        if (selected.size() > leaders) {
+            return new ArrayList<>(selected.subList(0, Math.max(0, leaders)));
+        }
+
+        // 候補が足りない場合だけ、直前のリーダーで埋める
+        selected.addAll(RandomLeaderElection.pick(repeated, leaders - selected.size(), random));
+        return selected;
+    }
+}
@@ -0,0 +1,59 @@
+package com.karasu256.teamUtils.leader;
+
+import com.karasu256.teamUtils.formation.FormationCandidate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * レーティングに比例した確率でリーダーを選ぶ方法
+ * リーダーを務めた回数が多いほど重みを下げ、同じプレイヤーばかりが選ばれないようにします
+ * 重み付きの非復元抽出にはEfraimidis–Spirakisの方法（キー = u^(1/重み)の上位を取る）を使い、
+ * 計算量はO(チームの人数 × log 選ぶ人数)です
+ */
+public class WeightedRatingLeaderElection implements LeaderElectionStrategy {
+    public static final String NAME = "weighted";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<UUID> elect(String teamName, List<FormationCandidate> members, int leaders, LeaderHistory history,
+            RandomGenerator random) {
+        int picks = Math.min(Math.max(0, leaders), members.size());
+        if (picks == 0) {
+            return new ArrayList<>();
+        }
+
+        // キーが小さい順のヒープに上位picks人だけを残す
+        PriorityQueue<WeightedKey> top = new PriorityQueue<>(picks + 1);
+        for (FormationCandidate member : members) {
+            double weight = Math.max(1.0, member.getRating()) / (1 + history.getTimesLed(member.getUniqueId()));
+            // log(u) / 重み は u^(1/重み) と同じ順序になり、小さな重みでもアンダーフローしない
+            double key = Math.log(random.nextDouble(Double.MIN_VALUE, 1.0)) / weight;
+            top.add(new WeightedKey(member.getUniqueId(), key));
+            if (top.size() > picks) {
+                top.poll();
+            }
+        }
+
+        List<UUID> selected = new ArrayList<>(picks);
+        while (!top.isEmpty()) {
+            selected.add(top.poll().uniqueId());
+        }
+        // キーの大きい順（選ばれやすかった順）にする
+        return selected.reversed();
+    }
+
+    private record WeightedKey(UUID uniqueId, double key) implements Comparable<WeightedKey> {
+        @Override
+        public int compareTo(WeightedKey other) {
+            return Double.compare(key, other.key);
+        }
+    }
+}
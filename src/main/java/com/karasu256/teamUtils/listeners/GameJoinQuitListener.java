@@ -1,6 +1,7 @@
 package com.karasu256.teamUtils.listeners;
 
 import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.utils.PlayerIndex;
 import com.karasu256.teamUtils.utils.TeamUtility;
 
 import org.bukkit.entity.Player;
@@ -21,9 +22,20 @@ import java.util.logging.Logger;
 public class GameJoinQuitListener implements Listener {
     private static final Logger LOGGER = TeamUtils.LOGGER;
 
+    /**
+     * プレイヤーがサーバーに参加した直後に、他のリスナーより先にプレイヤーインデックスへ登録する
+     *
+     * @param event プレイヤー参加イベント
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoinIndex(PlayerJoinEvent event) {
+        PlayerIndex.handleJoin(event.getPlayer());
+    }
+
     /**
      * プレイヤーがサーバーに参加した時の処理
      * ゲーム中の場合、自動的に観戦チームに割り当てる
+     * その後、プレイヤーの所属をチーム所属インデックスに反映する
      *
      * @param event プレイヤー参加イベント
      */
@@ -54,6 +66,9 @@ public class GameJoinQuitListener implements Listener {
                 TeamUtility.updateTeamSize();
             }
         }
+
+        // チーム所属インデックスに反映
+        TeamUtility.handlePlayerJoin(player);
     }
 
     /**
@@ -71,5 +86,8 @@ public class GameJoinQuitListener implements Listener {
             // TeamUtilityのhandlePlayerQuitを呼び出して処理
             TeamUtility.handlePlayerQuit(player);
         }
+
+        // 他のリスナーの処理が終わってからプレイヤーインデックスから削除
+        PlayerIndex.handleQuit(player);
     }
 }
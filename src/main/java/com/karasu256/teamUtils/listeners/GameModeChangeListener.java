@@ -1,7 +1,7 @@
 package com.karasu256.teamUtils.listeners;
 
 import com.karasu256.teamUtils.TeamUtils;
-import com.karasu256.teamUtils.utils.GameUtils;
+import com.karasu256.teamUtils.utils.PlayerAwaitRegistry;
 import com.karasu256.teamUtils.utils.TeamUtility;
 
 import org.bukkit.entity.Player;
@@ -51,7 +51,7 @@ public class GameModeChangeListener implements Listener {
 
     /**
      * プレイヤーのログアウトイベントを処理します
-     * オフラインのプレイヤーの待機をクリアする
+     * オフラインのプレイヤーの待機（ゲームモード変更、リスポーンなど）をすべて破棄する
      * 
      * @param event プレイヤーのログアウトイベント
      */
@@ -60,10 +60,7 @@ public class GameModeChangeListener implements Listener {
         Player player = event.getPlayer();
         UUID playerUuid = player.getUniqueId();
 
-        // ゲームモード待機のコールバックをクリア
-        if (GameUtils.isGameRunning()) {
-            // ゲームモード変更の待機リストから削除
-            TeamUtility.removeGameModeCallback(playerUuid);
-        }
+        // ゲームの実行状態に関わらず、退出したプレイヤーの待機を破棄する
+        PlayerAwaitRegistry.removePlayer(playerUuid);
     }
 }
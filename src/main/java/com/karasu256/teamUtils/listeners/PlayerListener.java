@@ -1,6 +1,9 @@
 package com.karasu256.teamUtils.listeners;
 
 import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.arena.ArenaRegistry;
+import com.karasu256.teamUtils.matchmaking.MatchmakingQueue;
+import com.karasu256.teamUtils.party.PartyRegistry;
 import com.karasu256.teamUtils.utils.TeamUtility;
 
 import org.bukkit.entity.Player;
@@ -31,6 +34,9 @@ public class PlayerListener implements Listener {
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
+        MatchmakingQueue.handlePlayerQuit(player);
+        ArenaRegistry.handlePlayerQuit(player);
+        PartyRegistry.handlePlayerQuit(player);
         TeamUtility.handlePlayerQuit(player);
     }
 }
@@ -0,0 +1,323 @@
+package com.karasu256.teamUtils.matchmaking;
+
+import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.arena.Arena;
+import com.karasu256.teamUtils.arena.ArenaRegistry;
+import com.karasu256.teamUtils.config.GameConfig;
+import com.karasu256.teamUtils.exception.TeamUtilityException;
+import com.karasu256.teamUtils.formation.TeamFormationStrategies;
+import com.karasu256.teamUtils.formation.TeamFormationStrategy;
+import com.karasu256.teamUtils.utils.PlayerIndex;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * 試合の参加待ちのキュー
+ * 待っている人数が{@link GameConfig#matchmakingBatchSize}に達するか、
+ * 先頭のプレイヤーが{@link GameConfig#matchmakingTimeoutSeconds}秒待った時点で
+ * {@link GameConfig#matchmakingMinPlayers}人以上いれば、先頭から1試合分を取り出してアリーナで試合を始めます
+ * 参加と取り消しはロックを使わないため任意のスレッドから呼び出せますが、
+ * キューからの取り出しと試合の開始はメインスレッドの定期処理からのみ行います
+ * 試合が終わったアリーナは次の定期処理で削除され、プレイヤーはメインスコアボードに戻ります
+ */
+public class MatchmakingQueue {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    // 試合名の接頭辞
+    private static final String MATCH_PREFIX = "match-";
+
+    // 待っている順のチケット（取り消されたチケットは取り出す時に読み飛ばす）
+    private static final ConcurrentLinkedDeque<Ticket> queue = new ConcurrentLinkedDeque<>();
+
+    // プレイヤーUUID -> 有効なチケット
+    private static final Map<UUID, Ticket> waiting = new ConcurrentHashMap<>();
+
+    // キューから始めた試合のアリーナ名（メインスレッドのみ）
+    private static final Set<String> matches = new LinkedHashSet<>();
+
+    private static int matchCounter;
+    private static BukkitTask task;
+
+    /**
+     * キューの定期処理を開始します
+     * プラグインの有効化時に呼び出してください
+     */
+    public static void start() {
+        if (task != null) {
+            return;
+        }
+        task = Bukkit.getScheduler().runTaskTimer(TeamUtils.getPlugin(), MatchmakingQueue::tick, 20L, 20L);
+    }
+
+    /**
+     * プレイヤーをキューに追加します
+     * 任意のスレッドから呼び出せます
+     *
+     * @param uuid プレイヤーのUUID
+     * @return 追加した場合true（既に待っている場合はfalse）
+     */
+    public static boolean enqueue(UUID uuid) {
+        Ticket ticket = new Ticket(uuid, System.nanoTime());
+        if (waiting.putIfAbsent(uuid, ticket) != null) {
+            return false;
+        }
+        queue.offer(ticket);
+        return true;
+    }
+
+    /**
+     * プレイヤーをキューに追加します
+     *
+     * @param player プレイヤー
+     * @return 追加した場合true（既に待っている場合はfalse）
+     * @throws TeamUtilityException アリーナに参加している場合
+     */
+    public static boolean enqueue(Player player) {
+        if (ArenaRegistry.isInArena(player)) {
+            throw new TeamUtilityException("アリーナに参加中はキューに参加できません");
+        }
+        return enqueue(player.getUniqueId());
+    }
+
+    /**
+     * プレイヤーをキューから取り除きます
+     * 任意のスレッドから呼び出せます
+     *
+     * @param uuid プレイヤーのUUID
+     * @return 取り除いた場合true（待っていない場合はfalse）
+     */
+    public static boolean dequeue(UUID uuid) {
+        return waiting.remove(uuid) != null;
+    }
+
+    public static boolean isQueued(UUID uuid) {
+        return waiting.containsKey(uuid);
+    }
+
+    /**
+     * @return キューで待っている人数
+     */
+    public static int size() {
+        return waiting.size();
+    }
+
+    /**
+     * @return キューから始めて進行中の試合の数
+     */
+    public static int getMatchCount() {
+        return matches.size();
+    }
+
+    /**
+     * 先頭のプレイヤーが待っている秒数を取得します
+     *
+     * @return 待っている秒数（誰も待っていない場合は0）
+     */
+    public static long getOldestWaitSeconds() {
+        Ticket oldest = peekOldest();
+        return oldest != null ? (System.nanoTime() - oldest.enqueuedAt()) / 1_000_000_000L : 0;
+    }
+
+    /**
+     * プレイヤーがサーバーから退出した時にキューから取り除きます
+     *
+     * @param player 退出したプレイヤー
+     */
+    public static void handlePlayerQuit(Player player) {
+        dequeue(player.getUniqueId());
+    }
+
+    /**
+     * 定期処理
+     * 終わった試合を片付け、条件を満たしていれば試合を始めます
+     * 誰も待っていない場合は試合の数に比例した時間で終わります
+     */
+    public static void tick() {
+        cleanupFinishedMatches();
+
+        GameConfig config = TeamUtils.GAME_CONFIG;
+        while (isReady(config)) {
+            if (startMatch(config.matchmakingBatchSize) == null) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 待っているプレイヤーから1試合分を取り出して試合を始めます
+     * チーム分けの反映は数ティックに分けて行い、反映が終わった時にゲームを開始します
+     * メインスレッドから呼び出してください
+     *
+     * @param batchSize 1試合の最大人数
+     * @return 始めた試合のアリーナ（人数が足りない場合はnull）
+     */
+    @Nullable
+    public static Arena startMatch(int batchSize) {
+        GameConfig config = TeamUtils.GAME_CONFIG;
+        List<Ticket> tickets = pollBatch(Math.max(2, batchSize));
+        List<Player> players = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            Player player = PlayerIndex.getPlayer(ticket.uniqueId());
+            // 待っている間に退出したプレイヤーやアリーナに参加したプレイヤーは除外する
+            if (player != null && !ArenaRegistry.isInArena(player)) {
+                players.add(player);
+            }
+        }
+
+        int minPlayers = Math.max(2, config.matchmakingMinPlayers);
+        if (players.size() < minPlayers) {
+            // 人数が足りない場合は待った時間と順番を保ったままキューの先頭に戻す
+            for (int i = tickets.size() - 1; i >= 0; i--) {
+                Ticket ticket = tickets.get(i);
+                Player player = PlayerIndex.getPlayer(ticket.uniqueId());
+                if (player != null && !ArenaRegistry.isInArena(player)
+                        && waiting.putIfAbsent(ticket.uniqueId(), ticket) == null) {
+                    queue.offerFirst(ticket);
+                }
+            }
+            return null;
+        }
+
+        String name;
+        do {
+            name = MATCH_PREFIX + (++matchCounter);
+        } while (ArenaRegistry.get(name) != null);
+
+        Arena arena = ArenaRegistry.create(name);
+        for (Player player : players) {
+            ArenaRegistry.join(player, name);
+        }
+
+        // 少なくとも2チームになるように1チームの人数を決める
+        int maxMember = Math.max(1, Math.min(config.maxTeamMembers, (players.size() + 1) / 2));
+        // チーム分けは非同期で計画し、数ティックに分けて反映してからゲームを始める
+        TeamFormationStrategy strategy = TeamFormationStrategies.getOrDefault(config.formationStrategy);
+        String matchName = name;
+        boolean shuffling = arena.shuffleAsync(maxMember, config.maxTeamLeaders, strategy, null, null,
+                plan -> {
+                    if (ArenaRegistry.get(matchName) == arena) {
+                        arena.startGame(config.matchmakingMatchSeconds);
+                    }
+                });
+        if (!shuffling) {
+            arena.startGame(config.matchmakingMatchSeconds);
+        }
+        matches.add(name);
+
+        for (Player player : players) {
+            player.sendMessage("§a試合 '" + name + "' が始まりました（" + players.size() + "人）。");
+        }
+        LOGGER.info("Started match " + name + " with " + players.size() + " players from the queue ("
+                + waiting.size() + " still waiting)");
+        return arena;
+    }
+
+    /**
+     * キューを空にし、キューから始めた試合をすべて終了します
+     * プラグインの無効化時に呼び出してください
+     */
+    public static void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (String name : new ArrayList<>(matches)) {
+            ArenaRegistry.delete(name);
+        }
+        matches.clear();
+        waiting.clear();
+        queue.clear();
+    }
+
+    /**
+     * @return キューから始めて進行中の試合のアリーナ名
+     */
+    public static Set<String> getMatchNames() {
+        return Collections.unmodifiableSet(matches);
+    }
+
+    private static boolean isReady(GameConfig config) {
+        int queued = waiting.size();
+        if (queued < Math.max(2, config.matchmakingMinPlayers)) {
+            return false;
+        }
+        if (queued >= Math.max(2, config.matchmakingBatchSize)) {
+            return true;
+        }
+        return config.matchmakingTimeoutSeconds > 0
+                && getOldestWaitSeconds() >= config.matchmakingTimeoutSeconds;
+    }
+
+    /**
+     * ゲームが終わった試合のアリーナを削除します
+     * チーム分けを反映中でまだゲームが始まっていない試合は削除しません
+     */
+    private static void cleanupFinishedMatches() {
+        Iterator<String> iterator = matches.iterator();
+        while (iterator.hasNext()) {
+            String name = iterator.next();
+            Arena arena = ArenaRegistry.get(name);
+            if (arena == null) {
+                iterator.remove();
+            } else if (!arena.isGameRunning() && !arena.isShuffleInProgress()) {
+                iterator.remove();
+                ArenaRegistry.delete(name);
+                LOGGER.info("Finished match " + name);
+            }
+        }
+    }
+
+    /**
+     * 先頭の有効なチケットを取得します
+     * 先頭にある取り消されたチケットはこの時に取り除きます
+     */
+    @Nullable
+    private static Ticket peekOldest() {
+        Ticket ticket;
+        while ((ticket = queue.peek()) != null) {
+            if (waiting.get(ticket.uniqueId()) == ticket) {
+                return ticket;
+            }
+            queue.remove(ticket);
+        }
+        return null;
+    }
+
+    /**
+     * 先頭から有効なチケットを最大で指定した数だけ取り出します
+     */
+    private static List<Ticket> pollBatch(int max) {
+        List<Ticket> batch = new ArrayList<>(max);
+        Ticket ticket;
+        while (batch.size() < max && (ticket = queue.poll()) != null) {
+            if (waiting.remove(ticket.uniqueId(), ticket)) {
+                batch.add(ticket);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * キューで待っている1人分の情報
+     *
+     * @param uniqueId   プレイヤーのUUID
+     * @param enqueuedAt キューに追加した時刻（{@link System#nanoTime()}）
+     */
+    private record Ticket(UUID uniqueId, long enqueuedAt) {
+    }
+}
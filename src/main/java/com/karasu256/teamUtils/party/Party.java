@@ -0,0 +1,62 @@
+package com.karasu256.teamUtils.party;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 同じチームに振り分けたいプレイヤーのグループ
+ * 作成と参加は{@link PartyRegistry}から行ってください
+ */
+public class Party {
+    private final UUID id = UUID.randomUUID();
+    private UUID leader;
+
+    // 参加順のメンバー（リーダーを含む）
+    private final Set<UUID> members = new LinkedHashSet<>();
+
+    Party(UUID leader) {
+        this.leader = leader;
+        members.add(leader);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getLeader() {
+        return leader;
+    }
+
+    public boolean isLeader(UUID uuid) {
+        return leader.equals(uuid);
+    }
+
+    /**
+     * @return メンバーのUUID（読み取り専用）
+     */
+    public Set<UUID> getMembers() {
+        return Collections.unmodifiableSet(members);
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    void addMember(UUID uuid) {
+        members.add(uuid);
+    }
+
+    /**
+     * メンバーを削除し、リーダーだった場合は最も古いメンバーにリーダーを引き継ぎます
+     *
+     * @param uuid 削除するメンバー
+     */
+    void removeMember(UUID uuid) {
+        members.remove(uuid);
+        if (leader.equals(uuid) && !members.isEmpty()) {
+            leader = members.iterator().next();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.karasu256.teamUtils.party;
+
+import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.exception.TeamUtilityException;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * パーティーを管理するレジストリ
+ * パーティーのメンバーはチーム分けの際に同じチームへ振り分けられます（{@code party}の振り分け方法を使用した場合）
+ * プレイヤーが退出してもパーティーは残るため、再参加すれば同じパーティーのまま振り分けられます
+ */
+public class PartyRegistry {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    // パーティーID -> パーティー（作成順）
+    private static final Map<UUID, Party> parties = new LinkedHashMap<>();
+
+    // プレイヤーUUID -> 所属しているパーティー
+    private static final Map<UUID, Party> memberParties = new HashMap<>();
+
+    // 招待されたプレイヤーUUID -> 招待元のパーティー
+    private static final Map<UUID, Party> invites = new HashMap<>();
+
+    /**
+     * プレイヤーをリーダーとする新しいパーティーを作成します
+     *
+     * @param leader リーダーになるプレイヤー
+     * @return 作成したパーティー
+     * @throws TeamUtilityException 既にパーティーに参加している場合
+     */
+    public static Party create(Player leader) {
+        if (memberParties.containsKey(leader.getUniqueId())) {
+            throw new TeamUtilityException("既にパーティーに参加しています");
+        }
+
+        Party party = new Party(leader.getUniqueId());
+        parties.put(party.getId(), party);
+        memberParties.put(leader.getUniqueId(), party);
+        invites.remove(leader.getUniqueId());
+        LOGGER.info("Created party " + party.getId() + " led by " + leader.getName());
+        return party;
+    }
+
+    /**
+     * プレイヤーをリーダーのパーティーに招待します
+     *
+     * @param leader パーティーのリーダー
+     * @param target 招待するプレイヤー
+     * @throws TeamUtilityException リーダーでない場合や、招待先が既にパーティーに参加している場合
+     */
+    public static void invite(Player leader, Player target) {
+        Party party = memberParties.get(leader.getUniqueId());
+        if (party == null || !party.isLeader(leader.getUniqueId())) {
+            throw new TeamUtilityException("パーティーのリーダーのみ招待できます");
+        }
+        if (memberParties.containsKey(target.getUniqueId())) {
+            throw new TeamUtilityException(target.getName() + " は既にパーティーに参加しています");
+        }
+
+        invites.put(target.getUniqueId(), party);
+    }
+
+    /**
+     * 招待されているパーティーに参加します
+     *
+     * @param player 参加するプレイヤー
+     * @return 参加したパーティー
+     * @throws TeamUtilityException 招待されていない場合や、既にパーティーに参加している場合
+     */
+    public static Party accept(Player player) {
+        Party party = invites.remove(player.getUniqueId());
+        if (party == null || !parties.containsKey(party.getId())) {
+            throw new TeamUtilityException("パーティーに招待されていません");
+        }
+        if (memberParties.containsKey(player.getUniqueId())) {
+            throw new TeamUtilityException("既にパーティーに参加しています");
+        }
+
+        party.addMember(player.getUniqueId());
+        memberParties.put(player.getUniqueId(), party);
+        return party;
+    }
+
+    /**
+     * パーティーから脱退します
+     * リーダーが脱退した場合は最も古いメンバーに引き継がれ、メンバーがいなくなったパーティーは解散します
+     *
+     * @param uuid 脱退するプレイヤーのUUID
+     * @return 脱退できた場合true（パーティーに参加していない場合はfalse）
+     */
+    public static boolean leave(UUID uuid) {
+        Party party = memberParties.remove(uuid);
+        if (party == null) {
+            return false;
+        }
+
+        party.removeMember(uuid);
+        if (party.size() == 0) {
+            disband(party);
+        }
+        return true;
+    }
+
+    /**
+     * パーティーを解散します
+     *
+     * @param party 解散するパーティー
+     */
+    public static void disband(Party party) {
+        parties.remove(party.getId());
+        party.getMembers().forEach(memberParties::remove);
+        invites.values().removeIf(invited -> invited == party);
+        LOGGER.info("Disbanded party " + party.getId());
+    }
+
+    @Nullable
+    public static Party getParty(UUID uuid) {
+        return memberParties.get(uuid);
+    }
+
+    /**
+     * チーム分けで使うパーティーのIDを取得します
+     *
+     * @param uuid プレイヤーのUUID
+     * @return パーティーのID（パーティーに参加していない場合はnull）
+     */
+    @Nullable
+    public static UUID getPartyId(UUID uuid) {
+        Party party = memberParties.get(uuid);
+        return party != null ? party.getId() : null;
+    }
+
+    /**
+     * @return 全パーティー（読み取り専用）
+     */
+    public static Collection<Party> getParties() {
+        return Collections.unmodifiableCollection(parties.values());
+    }
+
+    public static int size() {
+        return parties.size();
+    }
+
+    /**
+     * サーバーから退出したプレイヤーへの招待を破棄します
+     * パーティーへの所属はそのまま残ります
+     *
+     * @param player 退出したプレイヤー
+     */
+    public static void handlePlayerQuit(Player player) {
+        invites.remove(player.getUniqueId());
+    }
+
+    /**
+     * 全パーティーを解散します
+     * プラグインの無効化時に呼び出してください
+     */
+    public static void shutdown() {
+        for (Party party : new ArrayList<>(parties.values())) {
+            disband(party);
+        }
+        invites.clear();
+    }
+}
@@ -0,0 +1,125 @@
+package com.karasu256.teamUtils.utils;
+
+import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.config.GameConfig;
+import org.bukkit.Material;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * 安全な場所の探索で使うブロックの分類表
+ * Materialのordinalで引く配列に分類のビットを前もって計算しておき、各判定を配列の読み取り1回で行います
+ * 危険なブロックは{@link GameConfig#hazardousBlocks}で変更でき、{@link #reload}で表を作り直します
+ * 表は作り直す時に丸ごと差し替えるため、非同期の探索からも読み取れます
+ */
+public class BlockClassification {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    // 空気（AIR, CAVE_AIR, VOID_AIR）
+    private static final byte AIR = 1;
+    // プレイヤーが安全に通過できる（固体でなく、危険でない）
+    private static final byte PASSABLE = 1 << 1;
+    // 固体
+    private static final byte SOLID = 1 << 2;
+    // 危険（上に立ったり中に入ったりするとダメージを受ける）
+    private static final byte HAZARDOUS = 1 << 3;
+    // 昆布や海藻
+    private static final byte SEAWEED = 1 << 4;
+    // 上空を遮らない（ビーコンのビームが通る）
+    private static final byte SKY_TRANSPARENT = 1 << 5;
+
+    private static final Material[] MATERIALS = Material.values();
+
+    private static volatile byte[] table = build(new GameConfig().hazardousBlocks);
+
+    /**
+     * 設定の危険なブロックで分類表を作り直します
+     * プラグインの有効化時と設定の再読み込み時に呼び出してください
+     *
+     * @param config 設定
+     */
+    public static void reload(GameConfig config) {
+        table = build(config.hazardousBlocks);
+    }
+
+    /**
+     * 空気（AIR, CAVE_AIR, VOID_AIR）かどうか
+     */
+    public static boolean isAir(Material type) {
+        return (table[type.ordinal()] & AIR) != 0;
+    }
+
+    /**
+     * プレイヤーが安全に通過できるブロック（空気、水、固体でないブロックのうち危険でないもの）かどうか
+     */
+    public static boolean isPassable(Material type) {
+        return (table[type.ordinal()] & PASSABLE) != 0;
+    }
+
+    public static boolean isSolid(Material type) {
+        return (table[type.ordinal()] & SOLID) != 0;
+    }
+
+    public static boolean isHazardous(Material type) {
+        return (table[type.ordinal()] & HAZARDOUS) != 0;
+    }
+
+    /**
+     * 昆布や海藻かどうか（埋まっている場合は水中として扱う）
+     */
+    public static boolean isSeaweed(Material type) {
+        return (table[type.ordinal()] & SEAWEED) != 0;
+    }
+
+    /**
+     * 上空を遮らないブロック（ビーコンのビームが通るブロック）かどうか
+     */
+    public static boolean isSkyTransparent(Material type) {
+        return (table[type.ordinal()] & SKY_TRANSPARENT) != 0;
+    }
+
+    private static byte[] build(List<String> hazardousBlocks) {
+        byte[] flags = new byte[MATERIALS.length];
+        for (Material type : MATERIALS) {
+            // 旧形式のMaterialはワールドに置かれないので分類しない
+            if (type.isLegacy()) {
+                continue;
+            }
+
+            byte value = 0;
+            boolean air = type == Material.AIR || type == Material.CAVE_AIR || type == Material.VOID_AIR;
+            boolean solid = type.isSolid();
+            if (air) {
+                value |= AIR;
+            }
+            if (solid) {
+                value |= SOLID;
+            }
+            if (air || type == Material.WATER || !solid) {
+                value |= PASSABLE;
+                if (!type.isOccluding()) {
+                    value |= SKY_TRANSPARENT;
+                }
+            }
+            if (type == Material.KELP || type == Material.KELP_PLANT || type == Material.SEAGRASS
+                    || type == Material.TALL_SEAGRASS) {
+                value |= SEAWEED;
+            }
+            flags[type.ordinal()] = value;
+        }
+
+        if (hazardousBlocks != null) {
+            for (String name : hazardousBlocks) {
+                Material type = Material.matchMaterial(name);
+                if (type == null) {
+                    LOGGER.warning("Unknown hazardous block in config: " + name);
+                    continue;
+                }
+                // 危険なブロックの中には入らない
+                flags[type.ordinal()] = (byte) ((flags[type.ordinal()] | HAZARDOUS) & ~PASSABLE);
+            }
+        }
+        return flags;
+    }
+}
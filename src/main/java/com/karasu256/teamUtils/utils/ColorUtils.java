@@ -4,7 +4,7 @@ import org.bukkit.Color;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.md_5.bungee.api.ChatColor;  // ChatColorのインポート
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class ColorUtils {
     public interface IColor {
@@ -68,10 +68,9 @@ public class ColorUtils {
         return TextColor.color(chatColor.getColor().getRed() / 255.0f, chatColor.getColor().getGreen() / 255.0f, chatColor.getColor().getBlue() / 255.0f);
     }
 
-    // NamedTextColorからランダムな色を取得するメソッド
-    public static NamedTextColor getRandomNamedTextColor() {
+    // 指定した乱数でNamedTextColorからランダムな色を取得するメソッド（試合の乱数を渡すことで色も再現できます）
+    public static NamedTextColor getRandomNamedTextColor(RandomGenerator random) {
         // ランダムに生成されたTextColorを作成
-        Random random = new Random();
         float r = random.nextFloat();
         float g = random.nextFloat();
         float b = random.nextFloat();
@@ -0,0 +1,65 @@
+package com.karasu256.teamUtils.utils;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * 1試合分の乱数
+ * チーム分け、リーダーの選出、チームの色はすべてこの乱数から決まるため、
+ * 同じシードと同じプレイヤーで再編成すれば同じ結果を再現できます
+ * {@link SplittableRandom}はスレッドセーフではないため、{@link #generator()}はメインスレッドからのみ使い、
+ * 他のスレッドには{@link #split()}で分けた乱数を渡してください
+ */
+public class GameRandom {
+    private long seed;
+    private SplittableRandom random;
+
+    public GameRandom() {
+        reset(newSeed());
+    }
+
+    /**
+     * 新しいシードを生成します
+     *
+     * @return シード
+     */
+    public static long newSeed() {
+        return new SplittableRandom().nextLong();
+    }
+
+    /**
+     * 指定したシードで乱数を作り直します
+     *
+     * @param seed シード
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * @return 最後に{@link #reset(long)}したシード
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * メインスレッドで使う乱数を取得します
+     *
+     * @return 乱数
+     */
+    public RandomGenerator generator() {
+        return random;
+    }
+
+    /**
+     * 他のスレッドに渡すための独立した乱数を分けます
+     * 分けた時点の状態から決まるため、同じシードから同じ順番で分ければ同じ乱数が得られます
+     *
+     * @return 分けた乱数
+     */
+    public SplittableRandom split() {
+        return random.split();
+    }
+}
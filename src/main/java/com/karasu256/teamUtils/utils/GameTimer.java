@@ -0,0 +1,222 @@
+package com.karasu256.teamUtils.utils;
+
+import com.karasu256.teamUtils.TeamUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * ゲーム内のタイマー
+ * アリーナごとに独立したタイマーを持てるようにインスタンスとして状態を保持します
+ * サーバー全体のゲームで使うタイマーは{@link TimerUtils}から利用できます
+ */
+public class GameTimer {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    private final String name;
+    private BukkitTask timerTask;
+    private int remainingTicks;
+    private boolean isRunning = false;
+
+    // 1ティックごとに実行されるコールバック
+    private final List<Consumer<Integer>> tickCallbacks = new ArrayList<>();
+
+    // 特定の時間範囲で実行されるコールバック
+    private final Map<Integer, List<Consumer<Integer>>> rangeCallbacks = new HashMap<>();
+
+    /**
+     * @param name ログに表示するタイマーの名前
+     */
+    public GameTimer(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 指定したティック数のタイマーを開始します
+     *
+     * @param ticks タイマーのティック数
+     * @return タイマーの開始に成功した場合true
+     */
+    public boolean start(int ticks) {
+        if (isRunning) {
+            LOGGER.warning("Timer(" + name + ") is already running");
+            return false;
+        }
+
+        if (ticks <= 0) {
+            LOGGER.warning("Timer ticks must be greater than 0");
+            return false;
+        }
+
+        remainingTicks = ticks;
+        isRunning = true;
+
+        timerTask = Bukkit.getScheduler().runTaskTimer(TeamUtils.getPlugin(), () -> {
+            if (remainingTicks <= 0) {
+                stop();
+                return;
+            }
+
+            // 1ティックごとのコールバックを実行
+            for (Consumer<Integer> callback : tickCallbacks) {
+                try {
+                    callback.accept(remainingTicks);
+                } catch (Exception e) {
+                    LOGGER.warning("Error executing timer tick callback: " + e.getMessage());
+                }
+            }
+
+            // 範囲コールバックがあれば実行
+            List<Consumer<Integer>> callbacks = rangeCallbacks.get(remainingTicks);
+            if (callbacks != null) {
+                for (Consumer<Integer> callback : callbacks) {
+                    try {
+                        callback.accept(remainingTicks);
+                    } catch (Exception e) {
+                        LOGGER.warning("Error executing timer range callback: " + e.getMessage());
+                    }
+                }
+            }
+
+            remainingTicks--;
+        }, 0L, 1L); // 1 tick間隔で実行
+
+        LOGGER.info("Timer(" + name + ") started with " + ticks + " ticks ("
+                + TimerUtils.ticksToSeconds(ticks) + " seconds)");
+        return true;
+    }
+
+    /**
+     * 指定した秒数のタイマーを開始します（ティックに変換されます）
+     *
+     * @param seconds タイマーの秒数
+     * @return タイマーの開始に成功した場合true
+     */
+    public boolean startInSeconds(int seconds) {
+        return start(TimerUtils.secondsToTicks(seconds));
+    }
+
+    /**
+     * 実行中のタイマーを停止します
+     *
+     * @return タイマーの停止に成功した場合true
+     */
+    public boolean stop() {
+        if (!isRunning) {
+            LOGGER.warning("Timer(" + name + ") is not running");
+            return false;
+        }
+
+        if (timerTask != null) {
+            timerTask.cancel();
+            timerTask = null;
+        }
+
+        isRunning = false;
+        LOGGER.info("Timer(" + name + ") stopped");
+        return true;
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    /**
+     * 残り時間をティックで取得します
+     *
+     * @return 残り時間（ティック）
+     */
+    public int getRemainingTicks() {
+        return remainingTicks;
+    }
+
+    /**
+     * 残り時間を秒で取得します
+     *
+     * @return 残り時間（秒）
+     */
+    public int getRemainingSeconds() {
+        return TimerUtils.ticksToSeconds(remainingTicks);
+    }
+
+    /**
+     * 残り時間をフォーマットして取得します
+     *
+     * @return フォーマットされた残り時間
+     */
+    public String getFormattedRemainingTime() {
+        return TimerUtils.formatTime(remainingTicks);
+    }
+
+    /**
+     * 1ティックごとに実行されるコールバックを追加します
+     *
+     * @param callback 残りティック数を引数に取るコールバック
+     */
+    public void addTickCallback(Consumer<Integer> callback) {
+        if (callback != null) {
+            tickCallbacks.add(callback);
+        }
+    }
+
+    /**
+     * 1ティックごとに実行されるコールバックをすべて削除します
+     */
+    public void clearTickCallbacks() {
+        tickCallbacks.clear();
+    }
+
+    /**
+     * 特定の時間で実行されるコールバックを追加します
+     *
+     * @param second   実行する残り時間（ティック）
+     * @param callback 残り時間を引数に取るコールバック
+     */
+    public void addRangeCallback(int second, Consumer<Integer> callback) {
+        if (callback != null) {
+            rangeCallbacks.computeIfAbsent(second, k -> new ArrayList<>()).add(callback);
+        }
+    }
+
+    /**
+     * 特定の時間範囲で実行されるコールバックを追加します
+     *
+     * @param startSecond 範囲の開始時間（ティック）
+     * @param endSecond   範囲の終了時間（ティック）
+     * @param callback    残り時間を引数に取るコールバック
+     */
+    public void addRangeCallback(int startSecond, int endSecond, Consumer<Integer> callback) {
+        if (callback == null || startSecond < 0 || endSecond < 0 || startSecond < endSecond) {
+            return;
+        }
+
+        for (int i = endSecond; i <= startSecond; i++) {
+            addRangeCallback(i, callback);
+        }
+    }
+
+    /**
+     * 特定の時間範囲のコールバックをすべて削除します
+     */
+    public void clearRangeCallbacks() {
+        rangeCallbacks.clear();
+    }
+
+    /**
+     * すべてのコールバックを削除します
+     */
+    public void clearAllCallbacks() {
+        clearTickCallbacks();
+        clearRangeCallbacks();
+    }
+}
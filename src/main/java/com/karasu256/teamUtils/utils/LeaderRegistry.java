@@ -0,0 +1,206 @@
+package com.karasu256.teamUtils.utils;
+
+import com.karasu256.teamUtils.TeamUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * チームリーダーをUUIDで管理するレジストリ
+ * リーダー判定はメモリ上の情報だけで行い、teamLeaderオブジェクティブへの書き込みは
+ * ティックの終わりにまとめて反映します
+ */
+public class LeaderRegistry {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    private final Supplier<Scoreboard> scoreboardSupplier;
+    private final String objectiveName;
+
+    // リーダーのUUID -> 所属チーム名
+    private final Map<UUID, String> leaderTeams = new HashMap<>();
+
+    // チーム名 -> リーダーのUUID（選出順）
+    private final Map<String, List<UUID>> teamLeaders = new HashMap<>();
+
+    // オブジェクティブへの未反映の書き込み（エントリー名 -> スコア）
+    private final Map<String, Integer> pendingScores = new LinkedHashMap<>();
+    private BukkitTask flushTask;
+
+    public LeaderRegistry(Supplier<Scoreboard> scoreboardSupplier, String objectiveName) {
+        this.scoreboardSupplier = scoreboardSupplier;
+        this.objectiveName = objectiveName;
+    }
+
+    /**
+     * オブジェクティブのスコアからレジストリを作り直します
+     * 起動時など、メモリ上の情報が失われている場合に呼び出してください
+     */
+    public void rebuild() {
+        leaderTeams.clear();
+        teamLeaders.clear();
+        pendingScores.clear();
+
+        Scoreboard scoreboard = scoreboardSupplier.get();
+        Objective objective = scoreboard.getObjective(objectiveName);
+        if (objective == null) {
+            return;
+        }
+
+        for (String entry : scoreboard.getEntries()) {
+            Score score = objective.getScore(entry);
+            if (!score.isScoreSet() || score.getScore() != 1) {
+                continue;
+            }
+
+            Team team = scoreboard.getEntryTeam(entry);
+            UUID uuid = PlayerIndex.resolveUniqueId(entry);
+            if (team == null || uuid == null) {
+                continue;
+            }
+
+            leaderTeams.put(uuid, team.getName());
+            teamLeaders.computeIfAbsent(team.getName(), k -> new ArrayList<>()).add(uuid);
+        }
+
+        LOGGER.info("Rebuilt leader registry: " + leaderTeams.size() + " leaders");
+    }
+
+    public boolean isLeader(UUID uuid) {
+        return leaderTeams.containsKey(uuid);
+    }
+
+    /**
+     * チームのリーダーを取得します
+     *
+     * @param teamName チーム名
+     * @return リーダーのUUID（読み取り専用）
+     */
+    public List<UUID> getLeaders(String teamName) {
+        List<UUID> leaders = teamLeaders.get(teamName);
+        return leaders == null ? Collections.emptyList() : Collections.unmodifiableList(leaders);
+    }
+
+    /**
+     * プレイヤーをチームのリーダーに設定します
+     *
+     * @param player リーダーにするプレイヤー
+     * @param team   リーダーを務めるチーム
+     */
+    public void setLeader(Player player, Team team) {
+        UUID uuid = player.getUniqueId();
+        String previous = leaderTeams.put(uuid, team.getName());
+        if (previous != null) {
+            removeFromTeam(previous, uuid);
+        }
+
+        teamLeaders.computeIfAbsent(team.getName(), k -> new ArrayList<>()).add(uuid);
+        queueScore(player.getName(), 1);
+    }
+
+    /**
+     * プレイヤーのリーダーフラグを解除します
+     * オブジェクティブ側に古いスコアが残っている場合も考慮し、常に0の書き込みを予約します
+     *
+     * @param player 解除するプレイヤー
+     */
+    public void unsetLeader(Player player) {
+        unsetLeader(player.getUniqueId(), player.getName());
+    }
+
+    /**
+     * オフラインのプレイヤーなど、エントリー名とUUIDしか分からない場合にリーダーフラグを解除します
+     *
+     * @param uuid  プレイヤーのUUID（不明な場合はnull）
+     * @param entry スコアボードのエントリー名
+     */
+    public void unsetLeader(@Nullable UUID uuid, String entry) {
+        if (uuid != null) {
+            String previous = leaderTeams.remove(uuid);
+            if (previous != null) {
+                removeFromTeam(previous, uuid);
+            }
+        }
+        queueScore(entry, 0);
+    }
+
+    private void removeFromTeam(String teamName, UUID uuid) {
+        List<UUID> leaders = teamLeaders.get(teamName);
+        if (leaders != null) {
+            leaders.remove(uuid);
+            if (leaders.isEmpty()) {
+                teamLeaders.remove(teamName);
+            }
+        }
+    }
+
+    /**
+     * オブジェクティブへの書き込みを予約し、次のティックで反映されるようにします
+     * 同じエントリーへの複数回の書き込みは最後の値だけが反映されます
+     */
+    private void queueScore(String entry, int score) {
+        pendingScores.put(entry, score);
+
+        if (flushTask == null) {
+            TeamUtils plugin = TeamUtils.getPlugin();
+            if (plugin.isEnabled()) {
+                flushTask = Bukkit.getScheduler().runTask(plugin, this::flush);
+            } else {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * 予約されている書き込みをオブジェクティブへ反映します
+     * 既に同じ値が設定されているエントリーには書き込みません
+     */
+    public void flush() {
+        flushTask = null;
+        if (pendingScores.isEmpty()) {
+            return;
+        }
+
+        Objective objective = scoreboardSupplier.get().getObjective(objectiveName);
+        if (objective == null) {
+            LOGGER.info("Failed to flush team leaders. Because the objective is null.");
+            pendingScores.clear();
+            return;
+        }
+
+        pendingScores.forEach((entry, value) -> {
+            Score score = objective.getScore(entry);
+            int current = score.isScoreSet() ? score.getScore() : 0;
+            if (current != value) {
+                score.setScore(value);
+            }
+        });
+        pendingScores.clear();
+    }
+
+    public int size() {
+        return leaderTeams.size();
+    }
+
+    /**
+     * @return オブジェクティブへの未反映の書き込みの数
+     */
+    public int getPendingCount() {
+        return pendingScores.size();
+    }
+}
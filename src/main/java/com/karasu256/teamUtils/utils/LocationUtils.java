@@ -1,5 +1,9 @@
 package com.karasu256.teamUtils.utils;
 
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.HeightMap;
 import org.bukkit.World;
 import org.bukkit.WorldBorder;
 import org.bukkit.Location;
@@ -9,10 +13,17 @@ import org.bukkit.entity.Player;
 import org.bukkit.scoreboard.Team;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.logging.Logger;
 import com.karasu256.teamUtils.TeamUtils;
 
@@ -21,52 +32,58 @@ public class LocationUtils {
     private static final Random random = new Random();
     private static final int MAX_ATTEMPTS = 50; // 安全な場所を探す最大試行回数
     private static final int MIN_SAFE_DISTANCE = 30; // 指定範囲から最低限離れるべき距離
+    private static final double LEADER_MIN_DISTANCE = MIN_SAFE_DISTANCE * 3; // チームリーダー同士の最小距離
+    private static final double MEMBER_MIN_DISTANCE = 5; // メンバーをリーダーの近くに配置する時の最小距離
+    private static final double MEMBER_MAX_DISTANCE = 20; // メンバーをリーダーの近くに配置する時の最大距離
+    private static final int LAVA_SEARCH_RADIUS = 5; // テレポート先が溶岩の場合に周囲を探す半径
     private static final Logger LOGGER = TeamUtils.LOGGER;
 
+    // 安全な高さの探索を行う非同期スレッド（プラグインが無効な場合はその場で実行する）
+    private static final Executor SEARCH_EXECUTOR = task -> {
+        if (TeamUtils.getPlugin().isEnabled()) {
+            Bukkit.getScheduler().runTaskAsynchronously(TeamUtils.getPlugin(), task);
+        } else {
+            task.run();
+        }
+    };
+
+    // テレポートなどワールドに触れる処理を行うメインスレッド（プラグインが無効な場合はその場で実行する）
+    private static final Executor MAIN_EXECUTOR = task -> {
+        if (TeamUtils.getPlugin().isEnabled() && !Bukkit.isPrimaryThread()) {
+            Bukkit.getScheduler().runTask(TeamUtils.getPlugin(), task);
+        } else {
+            task.run();
+        }
+    };
+
     /**
      * 指定されたx, z座標で安全なy座標を見つけます。
      * ビーコンのビームが出る条件（上空に遮るものがない）を利用して安全性を判断します。
+     * ブロックはイミュータブルな{@link ChunkSnapshot}から読むため、メインスレッド以外から呼び出せます。
+     * 上空が開けているかは、WORLD_SURFACEの高さから下に向かって最初に遮るブロックを1度だけ探して判定するため、
+     * 1列あたりの読み取りは列の高さに比例する回数で済みます。
      * 
-     * @param world 対象のワールド
-     * @param x     X座標
-     * @param z     Z座標
+     * @param column 対象の列
+     * @param x      X座標
+     * @param z      Z座標
      * @return 安全な場所のLocation、見つからない場合はnull
      */
-    private static Location findSafeY(World world, double x, double z) {
-        // 地表から探索を開始
-        int startY = world.getHighestBlockYAt((int) x, (int) z);
-
-        // 高すぎる場合は適正な高さから始める
-        if (startY > 256)
-            startY = 256;
-        else if (startY < 60)
-            startY = 100; // 地下が深い場合は空中から探す
-
-        // 上から下に探索
-        for (int y = startY; y > 0; y--) {
-            Block block = world.getBlockAt((int) x, y, (int) z);
-            Block below = world.getBlockAt((int) x, y - 1, (int) z);
-
-            // 1. 現在地が通過可能
-            // 2. 足元が固体でかつ危険でない
-            if (isAirOrSafe(block) && isSolid(below) && !isHazardous(below)) {
-                // ビーコンの条件：上空が遮られていないことを確認
-                if (hasDirectSkyAccess(world, (int) x, y, (int) z)) {
-                    // プレイヤーの頭上のスペースを確認（2ブロック分）
-                    if (isAirOrSafe(world.getBlockAt((int) x, y + 1, (int) z)) &&
-                            isAirOrSafe(world.getBlockAt((int) x, y + 2, (int) z))) {
-                        return new Location(world, x + 0.5, y, z + 0.5);
-                    }
-                }
-            }
+    private static Location findSafeY(ColumnSnapshot column, double x, double z) {
+        Location grounded = findGroundedY(column, x, z);
+        if (grounded != null) {
+            return grounded;
         }
 
+        World world = column.world();
+        int startY = getSearchStartY(column);
+        int skyFloor = column.findSkyFloor();
+
         // 安全な場所が見つからなかった場合、空中に生成（ただし天井がない場所を探す）
         for (int y = Math.min(startY, 200); y > 100; y -= 5) {
-            if (hasDirectSkyAccess(world, (int) x, y, (int) z) &&
-                    isAirOrSafe(world.getBlockAt((int) x, y, (int) z)) &&
-                    isAirOrSafe(world.getBlockAt((int) x, y + 1, (int) z)) &&
-                    isAirOrSafe(world.getBlockAt((int) x, y + 2, (int) z))) {
+            if (y >= skyFloor &&
+                    isAirOrSafe(column.getType(y)) &&
+                    isAirOrSafe(column.getType(y + 1)) &&
+                    isAirOrSafe(column.getType(y + 2))) {
                 return new Location(world, x + 0.5, y, z + 0.5);
             }
         }
@@ -76,103 +93,271 @@ public class LocationUtils {
     }
 
     /**
-     * 指定された位置から空までの直接のアクセスがあるかを確認します。
-     * ビーコンのビームが出る条件と同様に、上空に遮るものがないかチェックします。
-     * 
-     * @param world 対象のワールド
-     * @param x     X座標
-     * @param y     Y座標
-     * @param z     Z座標
-     * @return 空に直接アクセスできるならtrue
+     * 探索を始める高さを地表（MOTION_BLOCKINGの高さ）から決めます。
+     */
+    private static int getSearchStartY(ColumnSnapshot column) {
+        int startY = column.motionBlockingY();
+
+        // 高すぎる場合は適正な高さから始める
+        if (startY > 256)
+            return 256;
+        else if (startY < 60)
+            return 100; // 地下が深い場合は空中から探す
+        return startY;
+    }
+
+    /**
+     * 上空が開けていて、足元に危険でない地面がある高さを探します。
+     * {@link #findSafeY}と異なり、空中の位置で代用しません。
+     *
+     * @return 地面の上の安全な場所、見つからない場合はnull
      */
-    private static boolean hasDirectSkyAccess(World world, int x, int y, int z) {
-        // 現在の位置から最大建築高度まで確認
-        int maxHeight = world.getMaxHeight();
-
-        for (int checkY = y + 1; checkY < maxHeight; checkY++) {
-            Block blockAbove = world.getBlockAt(x, checkY, z);
-            if (!isAirOrSafe(blockAbove) || blockAbove.getType().isOccluding()) {
-                return false; // 遮るブロックがある
+    private static Location findGroundedY(ColumnSnapshot column, double x, double z) {
+        World world = column.world();
+        int startY = getSearchStartY(column);
+
+        // これより上のブロックはすべて通過でき、空が見える
+        int skyFloor = column.findSkyFloor();
+
+        // 上から下に探索（skyFloorより下は空が見えないので探索しない）
+        for (int y = startY; y > Math.max(0, skyFloor - 1); y--) {
+            Material type = column.getType(y);
+            Material below = column.getType(y - 1);
+
+            // 1. 現在地が通過可能
+            // 2. 足元が固体でかつ危険でない
+            // 3. 上空が遮られていない
+            // 4. プレイヤーの頭上のスペースがある（2ブロック分）
+            if (isAirOrSafe(type) && isSolid(below) && !isHazardous(below) && y >= skyFloor &&
+                    isAirOrSafe(column.getType(y + 1)) && isAirOrSafe(column.getType(y + 2))) {
+                return new Location(world, x + 0.5, y, z + 0.5);
             }
         }
-
-        return true; // 空までの直接アクセスがある
+        return null;
     }
 
     /**
      * ブロックが空気または安全なブロック（プレイヤーが通過できる）かどうかを判定します。
+     * ブロックの判定はすべて{@link BlockClassification}の分類表を引くだけで行います。
      */
     private static boolean isAirOrSafe(Block block) {
-        Material type = block.getType();
-        return type == Material.AIR ||
-                type == Material.CAVE_AIR ||
-                type == Material.VOID_AIR ||
-                type == Material.WATER ||
-                !type.isSolid();
+        return BlockClassification.isPassable(block.getType());
+    }
+
+    private static boolean isAirOrSafe(Material type) {
+        return BlockClassification.isPassable(type);
     }
 
     /**
      * ブロックが固体かどうかを判定します。
      */
     private static boolean isSolid(Block block) {
-        return block.getType().isSolid();
+        return BlockClassification.isSolid(block.getType());
+    }
+
+    private static boolean isSolid(Material type) {
+        return BlockClassification.isSolid(type);
     }
 
     /**
      * ブロックが危険かどうかを判定します。
      */
     private static boolean isHazardous(Block block) {
-        Material type = block.getType();
-        return type == Material.LAVA ||
-                type == Material.FIRE ||
-                type == Material.MAGMA_BLOCK ||
-                type == Material.CACTUS ||
-                type == Material.CAMPFIRE ||
-                type == Material.SOUL_CAMPFIRE;
+        return BlockClassification.isHazardous(block.getType());
+    }
+
+    private static boolean isHazardous(Material type) {
+        return BlockClassification.isHazardous(type);
+    }
+
+    /**
+     * ブロックが空気（AIR, CAVE_AIR, VOID_AIR）かどうかを判定します。
+     */
+    private static boolean isAir(Block block) {
+        return BlockClassification.isAir(block.getType());
+    }
+
+    /**
+     * 上空を遮らないブロック（ビーコンのビームが通るブロック）かどうかを判定します。
+     */
+    private static boolean isSkyTransparent(Material type) {
+        return BlockClassification.isSkyTransparent(type);
+    }
+
+    /**
+     * 安全な高さの探索に使う1列分のブロックと高さの情報
+     * チャンクのスナップショットとハイトマップの値だけを持つため、作成後はどのスレッドからでも読めます
+     *
+     * @param world           ワールド（Locationの作成にのみ使用）
+     * @param snapshot        列を含むチャンクのスナップショット
+     * @param localX          チャンク内のX座標
+     * @param localZ          チャンク内のZ座標
+     * @param motionBlockingY MOTION_BLOCKINGハイトマップの高さ
+     * @param worldSurfaceY   WORLD_SURFACEハイトマップの高さ（これより上は空気のみ）
+     * @param minY            ワールドの最低の高さ
+     * @param maxY            ワールドの最大の高さ（この値は含まない）
+     */
+    private record ColumnSnapshot(World world, ChunkSnapshot snapshot, int localX, int localZ,
+            int motionBlockingY, int worldSurfaceY, int minY, int maxY) {
+
+        /**
+         * 読み込み済みのチャンクから列の情報を取得します
+         * メインスレッドから呼び出してください
+         */
+        static ColumnSnapshot capture(Chunk chunk, int x, int z) {
+            World world = chunk.getWorld();
+            return new ColumnSnapshot(world, chunk.getChunkSnapshot(false, false, false), x & 15, z & 15,
+                    world.getHighestBlockYAt(x, z, HeightMap.MOTION_BLOCKING),
+                    world.getHighestBlockYAt(x, z, HeightMap.WORLD_SURFACE),
+                    world.getMinHeight(), world.getMaxHeight());
+        }
+
+        Material getType(int y) {
+            if (y < minY || y >= maxY) {
+                return y < minY ? Material.VOID_AIR : Material.AIR;
+            }
+            return snapshot.getBlockType(localX, y, localZ);
+        }
+
+        /**
+         * 上空が開けている最も低い高さを求めます
+         * この高さ以上の位置では、上にあるブロックがすべて上空を遮りません
+         */
+        int findSkyFloor() {
+            for (int y = worldSurfaceY; y >= minY; y--) {
+                if (!isSkyTransparent(getType(y))) {
+                    return y + 1;
+                }
+            }
+            return minY;
+        }
     }
 
     /**
      * 全チームのリーダーを安全な場所にランダムにテレポートさせます。
-     * チームリーダー同士が近すぎる場所にテレポートしないように調整します。
+     * 移動先はワールドボーダー内のポアソンディスクサンプリングで決めるため、
+     * どのリーダー同士も{@link #LEADER_MIN_DISTANCE}以上離れます（ボーダーが狭すぎる場合は距離を縮めます）。
+     * 移動先の座標は先にまとめて決め、チャンクの読み込みとテレポートは非同期で並行して行うため、
+     * この呼び出しはサーバーを止めません。
      * 
-     * @return テレポートに成功したリーダーの数
+     * @return テレポートに成功したリーダーの数（すべてのテレポートが終わった時に完了します）
      */
-    public static int teleportTeamLeadersToSafeLocations() {
-        final int[] successCount = { 0 };
-
-        // すでにテレポートしたリーダーの位置を記録して、他のリーダーが近くにテレポートしないようにする
-        final List<Location> leaderLocations = new ArrayList<>();
+    public static CompletableFuture<Integer> teleportTeamLeadersToSafeLocations() {
+        AtomicInteger successCount = new AtomicInteger();
+        List<CompletableFuture<Void>> teleports = new ArrayList<>();
+
+        // ワールドごとにリーダーをまとめる
+        Map<World, List<Player>> leadersByWorld = new LinkedHashMap<>();
+        TeamUtility.forEachTeamLeader((leader, team) -> leadersByWorld
+                .computeIfAbsent(leader.getWorld(), world -> new ArrayList<>()).add(leader));
+
+        leadersByWorld.forEach((world, leaders) -> {
+            List<LeaderTarget> targets = placeLeaders(world, leaders.size());
+            for (int i = 0; i < leaders.size(); i++) {
+                Player leader = leaders.get(i);
+                LOGGER.info("Teleporting team leader " + leader.getName() + "...");
+
+                if (i >= targets.size()) {
+                    LOGGER.warning("Failed to teleport team leader " + leader.getName());
+                    continue;
+                }
 
-        // チームリーダーごとに処理
-        TeamUtility.forEachTeamLeader((leader, team) -> {
-            LOGGER.info("Teleporting team leader " + leader.getName() + "...");
-
-            // このリーダーを他のリーダーから離れた安全な場所にテレポート
-            boolean success = teleportLeaderToSafeLocation(leader, team, leaderLocations);
-
-            if (success) {
-                successCount[0]++;
-                leaderLocations.add(leader.getLocation()); // 成功したらリーダーの新しい位置を記録
-                LOGGER.info("Successfully teleported team leader " + leader.getName() + ": " +
-                        leader.getLocation().getBlockX() + ", " +
-                        leader.getLocation().getBlockY() + ", " +
-                        leader.getLocation().getBlockZ());
-            } else {
-                LOGGER.warning("Failed to teleport team leader " + leader.getName());
+                // 確認済みのスポーン地点はそのまま使い、それ以外は安全な高さを探してからテレポートする
+                LeaderTarget target = targets.get(i);
+                CompletableFuture<Boolean> teleport = target.verified()
+                        ? teleportAndEnsureGround(leader, target.location())
+                        : teleportToSafeLocation(leader, target.location());
+                teleports.add(teleport.thenAccept(success -> {
+                    if (success) {
+                        successCount.incrementAndGet();
+                        LOGGER.info("Successfully teleported team leader " + leader.getName() + ": " +
+                                leader.getLocation().getBlockX() + ", " +
+                                leader.getLocation().getBlockY() + ", " +
+                                leader.getLocation().getBlockZ());
+                    } else {
+                        LOGGER.warning("Failed to teleport team leader " + leader.getName());
+                    }
+                }));
             }
         });
 
-        return successCount[0];
+        return CompletableFuture.allOf(teleports.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> successCount.get());
+    }
+
+    /**
+     * ワールドボーダー内に、互いに{@link #LEADER_MIN_DISTANCE}以上離れたリーダーの移動先を決めます。
+     * 確認済みのスポーン地点のうち条件を満たすものを先に使い、足りない分をポアソンディスクサンプリングで補います。
+     * ボーダーが狭くて必要な数を置けない場合は、最小距離を縮めながら残りを配置します。
+     * 座標の計算だけを行い、チャンクは読み込みません。
+     * 
+     * @param world 対象のワールド
+     * @param count リーダーの数
+     * @return 移動先のリスト（順番はランダム）
+     */
+    private static List<LeaderTarget> placeLeaders(World world, int count) {
+        WorldBorder border = world.getWorldBorder();
+        Location borderCenter = border.getCenter();
+        // ボーダーの有効範囲を少し小さくして、ボーダーぎりぎりにスポーンしないようにする
+        double radius = border.getSize() / 2 * 0.9;
+
+        double distance = LEADER_MIN_DISTANCE;
+        PoissonDiskSampler sampler = new PoissonDiskSampler(borderCenter.getX() - radius,
+                borderCenter.getZ() - radius, borderCenter.getX() + radius, borderCenter.getZ() + radius,
+                distance, random);
+
+        // 確認済みのスポーン地点で、配置済みのリーダーから十分離れたものを使う
+        List<LeaderTarget> targets = new ArrayList<>(count);
+        PoissonDiskSampler poolSampler = sampler;
+        while (targets.size() < count) {
+            Location pooled = SpawnPointPool.pollMatching(world,
+                    location -> poolSampler.isFarEnough(location.getX(), location.getZ()));
+            if (pooled == null) {
+                break;
+            }
+            poolSampler.tryAdd(pooled.getX(), pooled.getZ());
+            targets.add(new LeaderTarget(pooled, true));
+        }
+
+        // 足りない分を配置する（置けなくなったら距離を縮めてやり直す）
+        int missing = count - sampler.size();
+        while ((missing -= sampler.fill(missing)) > 0 && distance > 1) {
+            distance *= 0.75;
+            LOGGER.warning("World border of " + world.getName() + " is too small to keep team leaders "
+                    + sampler.getMinDistance() + " blocks apart, trying " + distance + " blocks");
+            sampler = sampler.withMinDistance(distance);
+        }
+
+        List<PoissonDiskSampler.Point> points = sampler.getPoints();
+        for (int i = targets.size(); i < points.size(); i++) {
+            PoissonDiskSampler.Point point = points.get(i);
+            targets.add(new LeaderTarget(new Location(world, point.x(), 0, point.z()), false));
+        }
+
+        // どのチームのリーダーが確認済みの地点に行くかが偏らないように混ぜる
+        Collections.shuffle(targets, random);
+        return targets;
+    }
+
+    /**
+     * リーダーの移動先
+     * 
+     * @param location 移動先
+     * @param verified 確認済みのスポーン地点の場合true（高さも決まっている）
+     */
+    private record LeaderTarget(Location location, boolean verified) {
     }
 
     /**
      * チームリーダーではないチームに属したプレイヤーをそのチームのリーダー付近にスポーンさせます。
      * リーダーの周辺の安全な場所を探して配置します。
+     * リーダーのテレポートが終わってから呼び出してください。
      * 
-     * @return テレポートに成功したプレイヤーの数
+     * @return テレポートに成功したプレイヤーの数（すべてのテレポートが終わった時に完了します）
      */
-    public static int teleportTeamMembersNearLeaders() {
-        final int[] successCount = { 0 };
+    public static CompletableFuture<Integer> teleportTeamMembersNearLeaders() {
+        AtomicInteger successCount = new AtomicInteger();
+        List<CompletableFuture<Void>> teleports = new ArrayList<>();
 
         // チームごとのリーダー位置を記録
         final Map<Team, List<Location>> teamLeaderLocations = new HashMap<>();
@@ -199,49 +384,155 @@ public class LocationUtils {
                     // リーダーのランダムな位置を選択
                     Location leaderLocation = leaderLocations.get(random.nextInt(leaderLocations.size()));
 
-                    // リーダー付近の安全な場所にテレポート
-                    boolean success = teleportPlayerNearLocation(player, leaderLocation, 5, 20);
-
-                    if (success) {
-                        successCount[0]++;
-                        LOGGER.info("Teleported player " + player.getName() + " near team leader: " +
-                                player.getLocation().getBlockX() + ", " +
-                                player.getLocation().getBlockY() + ", " +
-                                player.getLocation().getBlockZ());
-                    } else {
-                        LOGGER.warning("Failed to teleport player " + player.getName());
+                    // 既にリーダーの近くにいる場合（近いプレイヤー同士でチーム分けした場合など）は、
+                    // 遠くのチャンクを読み込まずにそのままにする
+                    if (isWithinDistance(player.getLocation(), leaderLocation, MEMBER_MAX_DISTANCE)) {
+                        successCount.incrementAndGet();
+                        return;
                     }
+
+                    // リーダー付近の安全な場所にテレポート
+                    teleports.add(teleportPlayerNearLocation(player, leaderLocation, MEMBER_MIN_DISTANCE,
+                            MEMBER_MAX_DISTANCE).thenAccept(success -> {
+                                if (success) {
+                                    successCount.incrementAndGet();
+                                    LOGGER.info("Teleported player " + player.getName() + " near team leader: " +
+                                            player.getLocation().getBlockX() + ", " +
+                                            player.getLocation().getBlockY() + ", " +
+                                            player.getLocation().getBlockZ());
+                                } else {
+                                    LOGGER.warning("Failed to teleport player " + player.getName());
+                                }
+                            }));
                 } else {
                     LOGGER.warning("No leader found for player " + player.getName() + "'s team");
                 }
             }
         });
 
-        return successCount[0];
+        return CompletableFuture.allOf(teleports.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> successCount.get());
+    }
+
+    /**
+     * 指定したx, z座標のチャンクを非同期で読み込んでから、安全なy座標を探します。
+     * メインスレッドではチャンクのスナップショットとハイトマップの値を取るだけで、
+     * 探索は非同期スレッドで行い、結果はメインスレッドで通知されます。
+     * 
+     * @param world 対象のワールド
+     * @param x     X座標
+     * @param z     Z座標
+     * @return 安全な場所（見つからない場合はnull）
+     */
+    public static CompletableFuture<Location> findSafeLocationAsync(World world, double x, double z) {
+        return searchColumnAsync(world, x, z, column -> findSafeY(column, x, z));
+    }
+
+    /**
+     * 指定したx, z座標のチャンクを非同期で読み込んでから、地面の上の安全な場所を探します。
+     * {@link #findSafeLocationAsync}と異なり、地面が見つからない場合に空中の位置で代用しません。
+     * 
+     * @param world 対象のワールド
+     * @param x     X座標
+     * @param z     Z座標
+     * @return 地面の上の安全な場所（見つからない場合はnull）
+     */
+    public static CompletableFuture<Location> findGroundedLocationAsync(World world, double x, double z) {
+        return searchColumnAsync(world, x, z, column -> findGroundedY(column, x, z));
+    }
+
+    /**
+     * チャンクを非同期で読み込み、メインスレッドで列のスナップショットを取ってから非同期スレッドで探索します。
+     * 結果は失敗した場合も含めてメインスレッドで通知されます。
+     */
+    private static CompletableFuture<Location> searchColumnAsync(World world, double x, double z,
+            Function<ColumnSnapshot, Location> search) {
+        int blockX = (int) x;
+        int blockZ = (int) z;
+        return world.getChunkAtAsync(blockX >> 4, blockZ >> 4, true)
+                .thenApply(chunk -> ColumnSnapshot.capture(chunk, blockX, blockZ))
+                .thenApplyAsync(search, SEARCH_EXECUTOR)
+                .handleAsync((location, error) -> {
+                    if (error != null) {
+                        throw error instanceof CompletionException completion ? completion
+                                : new CompletionException(error);
+                    }
+                    return location;
+                }, MAIN_EXECUTOR);
+    }
+
+    /**
+     * 候補の座標で安全な高さを探し、プレイヤーをテレポートさせます。
+     */
+    private static CompletableFuture<Boolean> teleportToSafeLocation(Player player, Location candidate) {
+        return findSafeLocationAsync(candidate.getWorld(), candidate.getX(), candidate.getZ())
+                .thenCompose(safeLoc -> safeLoc != null ? teleportAndEnsureGround(player, safeLoc)
+                        : CompletableFuture.completedFuture(false))
+                .exceptionally(e -> {
+                    LOGGER.warning("Failed to load chunk for player " + player.getName() + ": " + e.getMessage());
+                    return false;
+                });
     }
 
     /**
-     * テレポート後にプレイヤーの下に地面がない場合、安全な地面を見つけて再テレポートします。
-     * また、プレイヤーが水中にいる場合は、上方向に空気を探して再テレポートします。
+     * テレポート先の周囲のチャンクを非同期で読み込み、地面がない場合や水中・溶岩の場合は安全な位置に補正してから
+     * プレイヤーを非同期でテレポートさせます。
      * 
      * @param player   テレポートするプレイヤー
      * @param location テレポート先の位置
      * @return テレポートに成功したかどうか
      */
-    private static boolean teleportAndEnsureGround(Player player, Location location) {
-        if (player == null || location == null) {
-            return false;
+    private static CompletableFuture<Boolean> teleportAndEnsureGround(Player player, Location location) {
+        if (player == null || location == null || location.getWorld() == null) {
+            return CompletableFuture.completedFuture(false);
         }
 
         World world = location.getWorld();
-        if (world == null) {
-            return false;
-        }
+        int x = location.getBlockX();
+        int z = location.getBlockZ();
 
-        // テレポート前にチャンクをロード
-        world.getChunkAt(location).load(true);
+        // 溶岩を避ける探索で周囲のブロックも参照するため、その範囲のチャンクを読み込む
+        return loadChunksAsync(world, x - LAVA_SEARCH_RADIUS, z - LAVA_SEARCH_RADIUS, x + LAVA_SEARCH_RADIUS,
+                z + LAVA_SEARCH_RADIUS)
+                .thenCompose(ignored -> {
+                    if (!player.isOnline()) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    return player.teleportAsync(findGroundNear(location, player.getName()));
+                })
+                .exceptionally(e -> {
+                    LOGGER.warning("Failed to teleport player " + player.getName() + ": " + e.getMessage());
+                    return false;
+                });
+    }
 
-        // テレポート前に溶岩チェック
+    /**
+     * 指定した範囲を含むチャンクを非同期で読み込みます（必要に応じて生成します）。
+     * 
+     * @return すべてのチャンクの読み込みが終わった時に完了するFuture
+     */
+    private static CompletableFuture<Void> loadChunksAsync(World world, int minX, int minZ, int maxX, int maxZ) {
+        List<CompletableFuture<Chunk>> chunks = new ArrayList<>();
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                chunks.add(world.getChunkAtAsync(chunkX, chunkZ, true));
+            }
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * テレポート先を安全な位置に補正します。
+     * 溶岩の場合は周囲の安全な場所を、水中や昆布・海藻の中の場合は水面を、
+     * 足元に地面がない場合は下方向の地面を探します。
+     * 周囲のチャンクが読み込まれた状態で呼び出してください。
+     * 
+     * @param location   テレポート先の位置
+     * @param playerName ログに表示するプレイヤー名
+     * @return 補正した位置（補正が不要な場合や安全な場所が見つからない場合は元の位置）
+     */
+    private static Location findGroundNear(Location location, String playerName) {
+        World world = location.getWorld();
         int x = location.getBlockX();
         int y = location.getBlockY();
         int z = location.getBlockZ();
@@ -252,12 +543,11 @@ public class LocationUtils {
 
         // 溶岩チェック - プレイヤーの位置や足元が溶岩の場合は別の場所を探す
         if (targetBlock.getType() == Material.LAVA || belowBlock.getType() == Material.LAVA) {
-            LOGGER.warning("Target location for player " + player.getName() + " contains lava. Finding alternative...");
+            LOGGER.warning("Target location for player " + playerName + " contains lava. Finding alternative...");
 
-            // 周囲の安全な場所を探す (半径5ブロック内)
-            for (int offsetX = -5; offsetX <= 5; offsetX++) {
-                for (int offsetZ = -5; offsetZ <= 5; offsetZ++) {
-                    // 中心から遠い順に確認（溶岩から離れるため）
+            // 周囲の安全な場所を探す
+            for (int offsetX = -LAVA_SEARCH_RADIUS; offsetX <= LAVA_SEARCH_RADIUS; offsetX++) {
+                for (int offsetZ = -LAVA_SEARCH_RADIUS; offsetZ <= LAVA_SEARCH_RADIUS; offsetZ++) {
                     if (offsetX * offsetX + offsetZ * offsetZ < 4)
                         continue; // 中心近くはスキップ
 
@@ -267,54 +557,26 @@ public class LocationUtils {
 
                         if (isAirOrSafe(checkBlock) && !checkBlock.getType().equals(Material.LAVA) &&
                                 isSolid(checkBelow) && !checkBelow.getType().equals(Material.LAVA)) {
-                            // 安全な場所が見つかった
-                            location = new Location(world, x + offsetX + 0.5, y + offsetY, z + offsetZ + 0.5,
-                                    location.getYaw(), location.getPitch());
                             LOGGER.info("Found safe alternative location away from lava");
-                            break;
+                            return new Location(world, x + offsetX + 0.5, y + offsetY, z + offsetZ + 0.5,
+                                    location.getYaw(), location.getPitch());
                         }
                     }
                 }
             }
 
-            // それでも安全な場所が見つからない場合、元の位置より高い場所を試す
-            if (targetBlock.getType() == Material.LAVA || belowBlock.getType() == Material.LAVA) {
-                LOGGER.info("Trying location above lava for player " + player.getName());
-                location = new Location(world, x + 0.5, y + 5, z + 0.5, location.getYaw(), location.getPitch());
-            }
+            // 安全な場所が見つからない場合、元の位置より高い場所を使う
+            LOGGER.info("Trying location above lava for player " + playerName);
+            return new Location(world, x + 0.5, y + 5, z + 0.5, location.getYaw(), location.getPitch());
         }
 
-        // テレポート実行
-        player.teleport(location);
-
-        // プレイヤーの現在位置を取得
-        Location playerLoc = player.getLocation();
-        x = playerLoc.getBlockX();
-        y = playerLoc.getBlockY();
-        z = playerLoc.getBlockZ();
-
         // プレイヤーの位置または頭上が水かどうか確認
-        Block playerBlock = world.getBlockAt(x, y, z);
         Block headBlock = world.getBlockAt(x, y + 1, z);
 
-        // 念のためテレポート後も溶岩チェック
-        if (playerBlock.getType() == Material.LAVA) {
-            LOGGER.warning("Player " + player.getName() + " teleported into lava! Emergency teleport...");
-            // 緊急避難 - 高い位置に再テレポート
-            Location emergencyLoc = new Location(world, x + 0.5, y + 10, z + 0.5,
-                    playerLoc.getYaw(), playerLoc.getPitch());
-            player.teleport(emergencyLoc);
-            return true; // 緊急避難したので処理終了
-        }
-
-        // 昆布や海藻が存在する可能性があるため、それらのブロックがあるか確認
-        boolean isPlayerInSeaweed = isSeaweed(playerBlock);
-        boolean isHeadInSeaweed = isSeaweed(headBlock);
-
         // プレイヤーが水中または昆布/海藻内にいる場合、上方向に空気を探す
-        if (playerBlock.getType() == Material.WATER || headBlock.getType() == Material.WATER ||
-                isPlayerInSeaweed || isHeadInSeaweed) {
-            LOGGER.info("Player " + player.getName() + " is underwater or in seaweed. Searching for surface...");
+        if (targetBlock.getType() == Material.WATER || headBlock.getType() == Material.WATER ||
+                isSeaweed(targetBlock) || isSeaweed(headBlock)) {
+            LOGGER.info("Player " + playerName + " is underwater or in seaweed. Searching for surface...");
 
             // 上方向に空気を探す（最大50ブロック）
             for (int checkY = y + 1; checkY < Math.min(world.getMaxHeight(), y + 50); checkY++) {
@@ -322,77 +584,57 @@ public class LocationUtils {
                 Block aboveBlock = world.getBlockAt(x, checkY + 1, z);
 
                 // 水の表面（その上が空気）を見つけた場合、または昆布/海藻の上が空気の場合
-                if ((block.getType() == Material.WATER || isSeaweed(block)) &&
-                        (aboveBlock.getType() == Material.AIR ||
-                                aboveBlock.getType() == Material.CAVE_AIR ||
-                                aboveBlock.getType() == Material.VOID_AIR)) {
-
-                    // プレイヤーを水面の上にテレポート
+                if ((block.getType() == Material.WATER || isSeaweed(block)) && isAir(aboveBlock)) {
                     Location surfaceLoc = new Location(world, x + 0.5, checkY + 1, z + 0.5,
-                            playerLoc.getYaw(), playerLoc.getPitch());
-
-                    LOGGER.info("Teleporting player " + player.getName() + " to water surface: " +
+                            location.getYaw(), location.getPitch());
+                    LOGGER.info("Teleporting player " + playerName + " to water surface: " +
                             surfaceLoc.getBlockX() + ", " + surfaceLoc.getBlockY() + ", " + surfaceLoc.getBlockZ());
-                    return player.teleport(surfaceLoc);
+                    return surfaceLoc;
                 }
 
                 // すでに空気を見つけた場合
-                if ((block.getType() == Material.AIR ||
-                        block.getType() == Material.CAVE_AIR ||
-                        block.getType() == Material.VOID_AIR) &&
-                        (aboveBlock.getType() == Material.AIR ||
-                                aboveBlock.getType() == Material.CAVE_AIR ||
-                                aboveBlock.getType() == Material.VOID_AIR)) {
-
-                    // プレイヤーをその位置にテレポート
+                if (isAir(block) && isAir(aboveBlock)) {
                     Location airLoc = new Location(world, x + 0.5, checkY, z + 0.5,
-                            playerLoc.getYaw(), playerLoc.getPitch());
-
-                    LOGGER.info("Teleporting player " + player.getName() + " to air location: " +
+                            location.getYaw(), location.getPitch());
+                    LOGGER.info("Teleporting player " + playerName + " to air location: " +
                             airLoc.getBlockX() + ", " + airLoc.getBlockY() + ", " + airLoc.getBlockZ());
-                    return player.teleport(airLoc);
+                    return airLoc;
                 }
             }
 
-            LOGGER.warning("No safe air found above player " + player.getName());
+            LOGGER.warning("No safe air found above player " + playerName);
         }
 
-        // プレイヤーの足元が空気かどうか確認
-        Block blockBelow = world.getBlockAt(x, y - 1, z);
-
         // 足元が空気または通過可能なブロックの場合、地面を探す
-        if (isAirOrSafe(blockBelow) && !isSolid(blockBelow)) {
-            LOGGER.info("Player " + player.getName() + " has no ground below. Searching for ground...");
+        if (!isSolid(belowBlock)) {
+            LOGGER.info("Player " + playerName + " has no ground below. Searching for ground...");
 
             // 下方向に安全な地面を探す（最大100ブロック）
             for (int checkY = y - 1; checkY > Math.max(0, y - 100); checkY--) {
                 Block block = world.getBlockAt(x, checkY, z);
 
-                // 固体のブロックを見つけた場合
-                if (isSolid(block) && !isHazardous(block)) {
-                    // プレイヤーを地面の上にテレポート
+                // 固体のブロックを見つけ、頭上のスペースがある場合
+                if (isSolid(block) && !isHazardous(block) &&
+                        isAirOrSafe(world.getBlockAt(x, checkY + 1, z)) &&
+                        isAirOrSafe(world.getBlockAt(x, checkY + 2, z))) {
                     Location groundLoc = new Location(world, x + 0.5, checkY + 1, z + 0.5,
-                            playerLoc.getYaw(), playerLoc.getPitch());
-
-                    // 頭上のスペースを確認
-                    if (isAirOrSafe(world.getBlockAt(x, checkY + 1, z)) &&
-                            isAirOrSafe(world.getBlockAt(x, checkY + 2, z))) {
-                        LOGGER.info("Teleporting player " + player.getName() + " to ground: " +
-                                groundLoc.getBlockX() + ", " + groundLoc.getBlockY() + ", " + groundLoc.getBlockZ());
-                        return player.teleport(groundLoc);
-                    }
+                            location.getYaw(), location.getPitch());
+                    LOGGER.info("Teleporting player " + playerName + " to ground: " +
+                            groundLoc.getBlockX() + ", " + groundLoc.getBlockY() + ", " + groundLoc.getBlockZ());
+                    return groundLoc;
                 }
             }
 
-            LOGGER.warning("No safe ground found below player " + player.getName());
+            LOGGER.warning("No safe ground found below player " + playerName);
         }
 
-        // 元々足元に地面があるか、地面が見つからない場合は現状維持
-        return true;
+        // 元々足元に地面があるか、地面が見つからない場合は元の位置
+        return location;
     }
 
     /**
      * プレイヤーを指定された位置の周辺の安全な場所にテレポートさせます。
+     * チャンクの読み込みとテレポートは非同期で行われます。
      * 
      * @param player      プレイヤー
      * @param center      中心位置
@@ -400,18 +642,27 @@ public class LocationUtils {
      * @param maxDistance 最大距離（これより遠くには配置しない）
      * @return テレポートに成功したかどうか
      */
-    public static boolean teleportPlayerNearLocation(Player player, Location center, double minDistance,
-            double maxDistance) {
+    public static CompletableFuture<Boolean> teleportPlayerNearLocation(Player player, Location center,
+            double minDistance, double maxDistance) {
         if (player == null || center == null) {
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
         World world = center.getWorld();
         if (world == null) {
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
-        // 最大試行回数
+        // 範囲内に確認済みのスポーン地点があればそれを使う
+        Location pooled = SpawnPointPool.pollNear(center, minDistance, maxDistance);
+        if (pooled != null) {
+            return teleportAndEnsureGround(player, pooled);
+        }
+
+        // ワールドボーダー内の候補の座標を探す（座標の計算だけなのでチャンクは読み込まない）
+        WorldBorder border = world.getWorldBorder();
+        Location borderCenter = border.getCenter();
+        double borderRadius = border.getSize() / 2;
         for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
             // 中心位置からランダムな角度と距離を選択
             double angle = random.nextDouble() * 2 * Math.PI;
@@ -421,23 +672,13 @@ public class LocationUtils {
             double x = center.getX() + Math.cos(angle) * distance;
             double z = center.getZ() + Math.sin(angle) * distance;
 
-            // ワールドボーダー内かどうか確認
-            WorldBorder border = world.getWorldBorder();
-            Location borderCenter = border.getCenter();
-            double borderRadius = border.getSize() / 2;
-
             if (Math.abs(x - borderCenter.getX()) < borderRadius &&
                     Math.abs(z - borderCenter.getZ()) < borderRadius) {
-
-                // 安全な高さを見つける
-                Location safeLoc = findSafeY(world, x, z);
-                if (safeLoc != null) {
-                    return teleportAndEnsureGround(player, safeLoc);
-                }
+                return teleportToSafeLocation(player, new Location(world, x, center.getY(), z));
             }
         }
 
-        // 安全な場所が見つからなかった場合、直接中心位置の近くにテレポート
+        // 候補が見つからなかった場合、直接中心位置の近くにテレポート
         Location fallbackLocation = center.clone();
         fallbackLocation.add((random.nextDouble() * 2 - 1) * 5, 1, (random.nextDouble() * 2 - 1) * 5);
         return teleportAndEnsureGround(player, fallbackLocation);
@@ -458,13 +699,14 @@ public class LocationUtils {
      * @param player スポーンさせるプレイヤー
      * @return スポーンに成功したかどうか
      */
-    public static boolean spawnPlayerInSafeLocation(Player player) {
+    public static CompletableFuture<Boolean> spawnPlayerInSafeLocation(Player player) {
         return spawnPlayerInSafeLocation(player, null, 0, 0, 0);
     }
 
     /**
      * ワールドボーダー内の安全な場所にプレイヤーをスポーンさせます。
      * 指定された範囲から一定距離離れた場所にスポーンします。
+     * チャンクの読み込みとテレポートは非同期で行われます。
      * 
      * @param player      スポーンさせるプレイヤー
      * @param avoidCenter 避けるべき中心位置（nullの場合は考慮しない）
@@ -473,13 +715,33 @@ public class LocationUtils {
      * @param avoidDz     避けるべきZ方向の範囲
      * @return スポーンに成功したかどうか
      */
-    public static boolean spawnPlayerInSafeLocation(Player player, Location avoidCenter, double avoidDx, double avoidDy,
-            double avoidDz) {
+    public static CompletableFuture<Boolean> spawnPlayerInSafeLocation(Player player, Location avoidCenter,
+            double avoidDx, double avoidDy, double avoidDz) {
         if (player == null) {
-            return false;
+            return CompletableFuture.completedFuture(false);
+        }
+
+        // 確認済みのスポーン地点があればそれを使う
+        Location pooled = SpawnPointPool.pollAwayFrom(player.getWorld(), avoidCenter,
+                avoidDx + MIN_SAFE_DISTANCE, avoidDz + MIN_SAFE_DISTANCE);
+        if (pooled != null) {
+            return teleportAndEnsureGround(player, pooled);
+        }
+
+        Location candidate = pickSpawnLocation(player.getWorld(), avoidCenter, avoidDx, avoidDz);
+        if (candidate == null) {
+            return CompletableFuture.completedFuture(false); // 候補が見つからなかった
         }
+        return teleportToSafeLocation(player, candidate);
+    }
 
-        World world = player.getWorld();
+    /**
+     * ワールドボーダー内で、指定された範囲から一定距離離れた候補の座標を探します。
+     * 座標の計算だけを行い、チャンクは読み込みません。
+     * 
+     * @return 候補の座標（見つからない場合はnull）
+     */
+    private static Location pickSpawnLocation(World world, Location avoidCenter, double avoidDx, double avoidDz) {
         WorldBorder border = world.getWorldBorder();
         Location borderCenter = border.getCenter();
         double borderSize = border.getSize() / 2; // 中心からの距離
@@ -503,67 +765,23 @@ public class LocationUtils {
                 }
             }
 
-            // 安全な高さを見つける
-            Location safeLoc = findSafeY(world, x, z);
-            if (safeLoc != null) {
-                return teleportAndEnsureGround(player, safeLoc);
-            }
+            return new Location(world, x, 0, z);
         }
 
-        return false; // 安全な場所が見つからなかった
+        return null;
     }
 
     /**
-     * 個別のチームリーダーを安全な場所にテレポートさせます。
-     * 他のリーダーから離れた場所に配置します。
+     * 2つの位置が同じワールドにあり、指定した距離以内かどうかを判定します
      * 
-     * @param leader               テレポートさせるリーダー
-     * @param team                 リーダーのチーム
-     * @param otherLeaderLocations 他のリーダーの位置のリスト
-     * @return テレポートに成功したかどうか
+     * @param a        位置
+     * @param b        位置
+     * @param distance 距離
+     * @return 距離以内ならtrue
      */
-    private static boolean teleportLeaderToSafeLocation(Player leader, Team team,
-            List<Location> otherLeaderLocations) {
-        // 他のリーダーから十分離れた場所を見つける
-        // リーダーに最も近い他のリーダーの位置を取得
-        Location nearestLeaderLoc = findNearestLocation(leader.getLocation(), otherLeaderLocations);
-
-        if (nearestLeaderLoc == null) {
-            // 他のリーダーがまだいない場合は、単純に安全な場所へテレポート
-            return spawnPlayerInSafeLocation(leader);
-        } else {
-            // 他のリーダーの位置から離れた場所にテレポート
-            double avoidDistance = MIN_SAFE_DISTANCE * 2; // リーダー間の距離は通常の2倍確保
-            return spawnPlayerInSafeLocation(leader, nearestLeaderLoc, avoidDistance, avoidDistance, avoidDistance);
-        }
-    }
-
-    /**
-     * 基準位置から最も近い位置を見つけます
-     * 
-     * @param baseLocation 基準位置
-     * @param locations    検索対象の位置のリスト
-     * @return 最も近い位置、リストが空の場合はnull
-     */
-    private static Location findNearestLocation(Location baseLocation, List<Location> locations) {
-        if (locations.isEmpty()) {
-            return null;
-        }
-
-        Location nearest = null;
-        double nearestDistance = Double.MAX_VALUE;
-
-        for (Location loc : locations) {
-            if (loc.getWorld().equals(baseLocation.getWorld())) {
-                double distance = loc.distanceSquared(baseLocation);
-                if (distance < nearestDistance) {
-                    nearestDistance = distance;
-                    nearest = loc;
-                }
-            }
-        }
-
-        return nearest;
+    private static boolean isWithinDistance(Location a, Location b, double distance) {
+        return a.getWorld() != null && a.getWorld().equals(b.getWorld())
+                && a.distanceSquared(b) <= distance * distance;
     }
 
     /**
@@ -574,10 +792,6 @@ public class LocationUtils {
      * @return 昆布や海藻ならtrue
      */
     private static boolean isSeaweed(Block block) {
-        Material type = block.getType();
-        return type == Material.KELP ||
-                type == Material.KELP_PLANT ||
-                type == Material.SEAGRASS ||
-                type == Material.TALL_SEAGRASS;
+        return BlockClassification.isSeaweed(block.getType());
     }
 }
@@ -0,0 +1,280 @@
+package com.karasu256.teamUtils.utils;
+
+import com.karasu256.teamUtils.TeamUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * プレイヤーが条件を満たすまで待機し、満たした時にコールバックを実行するレジストリ
+ * 1人のプレイヤーに複数の待機を登録でき、待機はタイムアウト、プレイヤーの退出、明示的な解除のいずれかで破棄されます
+ * 登録と解除は任意のスレッドから行えますが、{@link #dispatch(Player, Object)}はイベントと同じメインスレッドから呼び出してください
+ *
+ * @param <T> 条件の判定に渡される値の型（ゲームモードなど）
+ */
+public class PlayerAwaitRegistry<T> {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    // タイムアウトを確認する間隔（ティック）
+    private static final long SWEEP_INTERVAL_TICKS = 20L;
+
+    // タイムアウトを確認する対象の全レジストリ
+    private static final List<PlayerAwaitRegistry<?>> registries = new CopyOnWriteArrayList<>();
+
+    // 全レジストリで共有するタイムアウト確認タスク
+    private static BukkitTask sweepTask;
+
+    private final String name;
+
+    // プレイヤーUUID -> 待機（登録順）
+    private final Map<UUID, Queue<Waiter<T>>> waiters = new ConcurrentHashMap<>();
+
+    // タイムアウトのある待機（期限の早い順）
+    private final PriorityBlockingQueue<Waiter<T>> deadlines = new PriorityBlockingQueue<>(16,
+            Comparator.comparingLong(waiter -> waiter.deadlineTick));
+
+    /**
+     * @param name ログに表示するレジストリの名前
+     */
+    public PlayerAwaitRegistry(String name) {
+        this.name = name;
+        registries.add(this);
+    }
+
+    /**
+     * タイムアウトなしで待機を登録します
+     *
+     * @param uuid      待機するプレイヤーのUUID
+     * @param condition 満たされるまで待機する条件
+     * @param callback  条件を満たした時に実行するコールバック
+     * @return 登録した待機
+     */
+    public Waiter<T> await(UUID uuid, Predicate<T> condition, Consumer<Player> callback) {
+        return await(uuid, condition, callback, 0, null);
+    }
+
+    /**
+     * 待機を登録します
+     *
+     * @param uuid         待機するプレイヤーのUUID
+     * @param condition    満たされるまで待機する条件
+     * @param callback     条件を満たした時に実行するコールバック
+     * @param timeoutTicks タイムアウトまでのティック数（0以下の場合はタイムアウトしない）
+     * @param onTimeout    タイムアウトした時に実行する処理（不要な場合はnull）
+     * @return 登録した待機
+     */
+    public Waiter<T> await(UUID uuid, Predicate<T> condition, Consumer<Player> callback, long timeoutTicks,
+            @Nullable Runnable onTimeout) {
+        long deadlineTick = timeoutTicks > 0 ? Bukkit.getCurrentTick() + timeoutTicks : Long.MAX_VALUE;
+        Waiter<T> waiter = new Waiter<>(this, uuid, condition, callback, deadlineTick, onTimeout);
+
+        waiters.computeIfAbsent(uuid, k -> new ConcurrentLinkedQueue<>()).add(waiter);
+        if (timeoutTicks > 0) {
+            deadlines.add(waiter);
+            startSweep();
+        }
+        return waiter;
+    }
+
+    /**
+     * プレイヤーの待機の条件を判定し、満たした待機のコールバックを実行して破棄します
+     * 他のプレイヤーの待機は参照しません
+     *
+     * @param player 対象のプレイヤー
+     * @param value  条件の判定に渡す値
+     * @return 実行したコールバックの数
+     */
+    public int dispatch(Player player, T value) {
+        Queue<Waiter<T>> playerWaiters = waiters.get(player.getUniqueId());
+        if (playerWaiters == null) {
+            return 0;
+        }
+
+        int executed = 0;
+        for (Waiter<T> waiter : playerWaiters) {
+            if (!waiter.condition.test(value) || !waiter.complete()) {
+                continue;
+            }
+
+            try {
+                waiter.callback.accept(player);
+                executed++;
+            } catch (Exception e) {
+                LOGGER.warning("Error executing " + name + " callback for " + player.getName() + ": " + e.getMessage());
+            }
+        }
+        return executed;
+    }
+
+    public boolean isWaiting(UUID uuid) {
+        Queue<Waiter<T>> playerWaiters = waiters.get(uuid);
+        return playerWaiters != null && !playerWaiters.isEmpty();
+    }
+
+    /**
+     * プレイヤーの待機をすべて破棄します
+     *
+     * @param uuid プレイヤーのUUID
+     */
+    public void cancelAll(UUID uuid) {
+        Queue<Waiter<T>> playerWaiters = waiters.remove(uuid);
+        if (playerWaiters != null) {
+            playerWaiters.forEach(waiter -> waiter.done.set(true));
+        }
+    }
+
+    /**
+     * すべての待機を破棄します
+     */
+    public void clear() {
+        waiters.values().forEach(playerWaiters -> playerWaiters.forEach(waiter -> waiter.done.set(true)));
+        waiters.clear();
+        deadlines.clear();
+    }
+
+    /**
+     * @return 待機中の数
+     */
+    public int size() {
+        int size = 0;
+        for (Queue<Waiter<T>> playerWaiters : waiters.values()) {
+            size += playerWaiters.size();
+        }
+        return size;
+    }
+
+    private void detach(Waiter<T> waiter) {
+        waiters.computeIfPresent(waiter.uuid, (uuid, playerWaiters) -> {
+            playerWaiters.remove(waiter);
+            return playerWaiters.isEmpty() ? null : playerWaiters;
+        });
+    }
+
+    /**
+     * 期限を過ぎた待機を破棄し、タイムアウト時の処理を実行します
+     */
+    private void sweep(long currentTick) {
+        Waiter<T> waiter;
+        while ((waiter = deadlines.peek()) != null && waiter.deadlineTick <= currentTick) {
+            deadlines.poll();
+            if (!waiter.done.compareAndSet(false, true)) {
+                continue;
+            }
+
+            detach(waiter);
+            if (waiter.onTimeout != null) {
+                try {
+                    waiter.onTimeout.run();
+                } catch (Exception e) {
+                    LOGGER.warning("Error executing " + name + " timeout for " + waiter.uuid + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static synchronized void startSweep() {
+        if (sweepTask != null) {
+            return;
+        }
+
+        TeamUtils plugin = TeamUtils.getPlugin();
+        if (!plugin.isEnabled()) {
+            return;
+        }
+
+        sweepTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            long currentTick = Bukkit.getCurrentTick();
+            for (PlayerAwaitRegistry<?> registry : registries) {
+                registry.sweep(currentTick);
+            }
+        }, SWEEP_INTERVAL_TICKS, SWEEP_INTERVAL_TICKS);
+    }
+
+    /**
+     * 退出したプレイヤーの待機を全レジストリから破棄します
+     *
+     * @param uuid 退出したプレイヤーのUUID
+     */
+    public static void removePlayer(UUID uuid) {
+        for (PlayerAwaitRegistry<?> registry : registries) {
+            registry.cancelAll(uuid);
+        }
+    }
+
+    /**
+     * 全レジストリの待機を破棄し、タイムアウト確認タスクを停止します
+     * プラグインの無効化時に呼び出してください
+     */
+    public static synchronized void shutdown() {
+        for (PlayerAwaitRegistry<?> registry : registries) {
+            registry.clear();
+        }
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+    }
+
+    /**
+     * 登録された1件の待機
+     * コールバックとタイムアウトのどちらか一方だけが一度だけ実行されます
+     */
+    public static final class Waiter<T> {
+        private final PlayerAwaitRegistry<T> registry;
+        private final UUID uuid;
+        private final Predicate<T> condition;
+        private final Consumer<Player> callback;
+        private final long deadlineTick;
+        @Nullable
+        private final Runnable onTimeout;
+        private final AtomicBoolean done = new AtomicBoolean(false);
+
+        private Waiter(PlayerAwaitRegistry<T> registry, UUID uuid, Predicate<T> condition, Consumer<Player> callback,
+                long deadlineTick, @Nullable Runnable onTimeout) {
+            this.registry = registry;
+            this.uuid = uuid;
+            this.condition = condition;
+            this.callback = callback;
+            this.deadlineTick = deadlineTick;
+            this.onTimeout = onTimeout;
+        }
+
+        private boolean complete() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            // 期限のキューからは取り除かず、タイムアウト確認時に読み飛ばす
+            registry.detach(this);
+            return true;
+        }
+
+        /**
+         * 待機を解除します
+         *
+         * @return 解除できた場合true（既に実行済み、または破棄済みの場合はfalse）
+         */
+        public boolean cancel() {
+            return complete();
+        }
+
+        public boolean isDone() {
+            return done.get();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.karasu256.teamUtils.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * オンラインのプレイヤーを名前とUUIDで引くためのインデックス
+ * 参加・退出イベントで更新され、スコアボードのエントリー名からプレイヤーをO(1)で解決します
+ * 名前は大文字小文字を区別しない完全一致で照合します（Minecraftのプレイヤー名は大文字小文字だけが異なる名前を持てません）
+ * {@code Bukkit.getPlayer(String)}と異なり、前方一致で別のプレイヤーが選ばれることはありません
+ */
+public class PlayerIndex {
+    // 小文字化したプレイヤー名 -> UUID
+    private static final Map<String, UUID> uniqueIdsByName = new ConcurrentHashMap<>();
+
+    // UUID -> オンラインのプレイヤー
+    private static final Map<UUID, Player> playersByUniqueId = new ConcurrentHashMap<>();
+
+    /**
+     * 現在オンラインのプレイヤーからインデックスを作り直します
+     * プラグインの有効化時（リロード時を含む）に呼び出してください
+     */
+    public static void initialize() {
+        uniqueIdsByName.clear();
+        playersByUniqueId.clear();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            handleJoin(player);
+        }
+    }
+
+    /**
+     * 参加したプレイヤーをインデックスに追加します
+     *
+     * @param player 参加したプレイヤー
+     */
+    public static void handleJoin(Player player) {
+        uniqueIdsByName.put(normalize(player.getName()), player.getUniqueId());
+        playersByUniqueId.put(player.getUniqueId(), player);
+    }
+
+    /**
+     * 退出したプレイヤーをインデックスから削除します
+     *
+     * @param player 退出したプレイヤー
+     */
+    public static void handleQuit(Player player) {
+        uniqueIdsByName.remove(normalize(player.getName()), player.getUniqueId());
+        playersByUniqueId.remove(player.getUniqueId());
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 名前が大文字小文字を区別せずに完全一致するオンラインのプレイヤーを取得します
+     *
+     * @param name プレイヤー名、またはスコアボードのエントリー名
+     * @return プレイヤー（オンラインでない場合はnull）
+     */
+    @Nullable
+    public static Player getPlayer(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        UUID uuid = uniqueIdsByName.get(normalize(name));
+        return uuid != null ? playersByUniqueId.get(uuid) : null;
+    }
+
+    /**
+     * UUIDからオンラインのプレイヤーを取得します
+     *
+     * @param uuid プレイヤーのUUID
+     * @return プレイヤー（オンラインでない場合はnull）
+     */
+    @Nullable
+    public static Player getPlayer(UUID uuid) {
+        return uuid != null ? playersByUniqueId.get(uuid) : null;
+    }
+
+    public static boolean isOnline(String name) {
+        return getPlayer(name) != null;
+    }
+
+    /**
+     * エントリー名からプレイヤーのUUIDを解決します
+     * オンラインのプレイヤーとは大文字小文字を区別しない完全一致で照合します
+     * オンラインでない場合はサーバーにキャッシュされているオフラインプレイヤーから解決します
+     *
+     * @param name プレイヤー名、またはスコアボードのエントリー名
+     * @return UUID（解決できなかった場合はnull）
+     */
+    @Nullable
+    public static UUID resolveUniqueId(String name) {
+        UUID uuid = uniqueIdsByName.get(normalize(name));
+        if (uuid != null) {
+            return uuid;
+        }
+
+        OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayerIfCached(name);
+        return offlinePlayer != null ? offlinePlayer.getUniqueId() : null;
+    }
+
+    /**
+     * @return インデックスに登録されているオンラインのプレイヤーの数
+     */
+    public static int size() {
+        return playersByUniqueId.size();
+    }
+}
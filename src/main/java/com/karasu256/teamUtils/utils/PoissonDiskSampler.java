@@ -0,0 +1,198 @@
+package com.karasu256.teamUtils.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * 矩形の範囲に、どの2点も最小距離以上離れた点を配置するポアソンディスクサンプリング
+ * セルの大きさを最小距離/√2にした一様なグリッドで点を管理するため、各セルには最大1点しか入らず、
+ * 距離の確認は周囲5x5のセルを見るだけで済みます（配置済みの点の数によらず定数時間です）
+ * 新しい点はまず範囲全体から一様に選び（ダーツ投げ）、空きが少なくなって見つからない場合は
+ * 配置済みの点の周囲の円環から選びます（Bridsonの方法）
+ * グリッドは使うセルだけを持つため、ワールドボーダーが非常に大きくてもメモリは点の数に比例します
+ */
+public class PoissonDiskSampler {
+    // 1点を探す時に試す候補の数
+    private static final int CANDIDATES = 30;
+
+    private final double minX;
+    private final double minZ;
+    private final double maxX;
+    private final double maxZ;
+    private final double minDistance;
+    private final double cellSize;
+    private final RandomGenerator random;
+
+    // セル -> 点のインデックス
+    private final Map<Long, Integer> grid = new HashMap<>();
+    private final List<Point> points = new ArrayList<>();
+
+    // 周囲にまだ点を置ける可能性がある点のインデックス
+    private final List<Integer> active = new ArrayList<>();
+
+    /**
+     * @param minX        範囲の最小のX座標
+     * @param minZ        範囲の最小のZ座標
+     * @param maxX        範囲の最大のX座標
+     * @param maxZ        範囲の最大のZ座標
+     * @param minDistance 点同士の最小距離
+     * @param random      乱数生成器
+     */
+    public PoissonDiskSampler(double minX, double minZ, double maxX, double maxZ, double minDistance,
+            RandomGenerator random) {
+        if (minDistance <= 0) {
+            throw new IllegalArgumentException("minDistance must be positive: " + minDistance);
+        }
+        this.minX = minX;
+        this.minZ = minZ;
+        this.maxX = Math.max(minX, maxX);
+        this.maxZ = Math.max(minZ, maxZ);
+        this.minDistance = minDistance;
+        this.cellSize = minDistance / Math.sqrt(2);
+        this.random = random;
+    }
+
+    /**
+     * 指定した位置が範囲内にあり、配置済みのすべての点から最小距離以上離れているかを判定します
+     */
+    public boolean isFarEnough(double x, double z) {
+        if (x < minX || x > maxX || z < minZ || z > maxZ) {
+            return false;
+        }
+
+        int cellX = cellOf(x - minX);
+        int cellZ = cellOf(z - minZ);
+        double minDistanceSquared = minDistance * minDistance;
+        for (int dx = -2; dx <= 2; dx++) {
+            for (int dz = -2; dz <= 2; dz++) {
+                Integer index = grid.get(cellKey(cellX + dx, cellZ + dz));
+                if (index == null) {
+                    continue;
+                }
+                Point point = points.get(index);
+                double distanceX = point.x() - x;
+                double distanceZ = point.z() - z;
+                if (distanceX * distanceX + distanceZ * distanceZ < minDistanceSquared) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 配置済みのすべての点から最小距離以上離れている場合に点を追加します
+     *
+     * @return 追加した場合true
+     */
+    public boolean tryAdd(double x, double z) {
+        if (!isFarEnough(x, z)) {
+            return false;
+        }
+        int index = points.size();
+        points.add(new Point(x, z));
+        grid.put(cellKey(cellOf(x - minX), cellOf(z - minZ)), index);
+        active.add(index);
+        return true;
+    }
+
+    /**
+     * 新しい点を最大で指定した数だけ追加します
+     * 範囲に空きがなくなった場合は指定した数より少なくなります
+     *
+     * @param count 追加する点の数
+     * @return 追加した点の数
+     */
+    public int fill(int count) {
+        int added = 0;
+        while (added < count && addNextPoint()) {
+            added++;
+        }
+        return added;
+    }
+
+    /**
+     * 配置済みの点を保ったまま、最小距離を変えたサンプラーを作成します
+     * 範囲が狭くて必要な数の点を置けない場合に、距離を縮めてやり直すのに使います
+     * 配置済みの点は新しい最小距離を満たしている必要があります（距離を縮める場合は常に満たします）
+     *
+     * @param minDistance 新しい最小距離
+     * @return 新しいサンプラー
+     */
+    public PoissonDiskSampler withMinDistance(double minDistance) {
+        PoissonDiskSampler sampler = new PoissonDiskSampler(minX, minZ, maxX, maxZ, minDistance, random);
+        for (Point point : points) {
+            if (!sampler.tryAdd(point.x(), point.z())) {
+                throw new IllegalArgumentException("existing points are closer than " + minDistance);
+            }
+        }
+        return sampler;
+    }
+
+    /**
+     * @return 配置した順の点
+     */
+    public List<Point> getPoints() {
+        return Collections.unmodifiableList(points);
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    public double getMinDistance() {
+        return minDistance;
+    }
+
+    private boolean addNextPoint() {
+        // 空きが多いうちは範囲全体から一様に選ぶ
+        for (int attempt = 0; attempt < CANDIDATES; attempt++) {
+            double x = minX + random.nextDouble() * (maxX - minX);
+            double z = minZ + random.nextDouble() * (maxZ - minZ);
+            if (tryAdd(x, z)) {
+                return true;
+            }
+        }
+
+        // 見つからない場合は配置済みの点の周囲（最小距離から2倍の距離の円環）から選ぶ
+        while (!active.isEmpty()) {
+            int activeIndex = random.nextInt(active.size());
+            Point origin = points.get(active.get(activeIndex));
+            for (int attempt = 0; attempt < CANDIDATES; attempt++) {
+                double angle = random.nextDouble() * 2 * Math.PI;
+                double distance = minDistance * (1 + random.nextDouble());
+                if (tryAdd(origin.x() + Math.cos(angle) * distance, origin.z() + Math.sin(angle) * distance)) {
+                    return true;
+                }
+            }
+
+            // 周囲に置けなかった点は候補から外す（末尾と入れ替えて取り除く）
+            int last = active.remove(active.size() - 1);
+            if (activeIndex < active.size()) {
+                active.set(activeIndex, last);
+            }
+        }
+        return false;
+    }
+
+    private int cellOf(double offset) {
+        return (int) Math.floor(offset / cellSize);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xffffffffL);
+    }
+
+    /**
+     * 配置した点
+     *
+     * @param x X座標
+     * @param z Z座標
+     */
+    public record Point(double x, double z) {
+    }
+}
@@ -0,0 +1,1377 @@
+package com.karasu256.teamUtils.utils;
+
+import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.config.GameConfig;
+import com.karasu256.teamUtils.exception.TeamUtilityException;
+import com.karasu256.teamUtils.formation.FormationCandidate;
+import com.karasu256.teamUtils.formation.PlayerRatings;
+import com.karasu256.teamUtils.formation.ShufflePlan;
+import com.karasu256.teamUtils.formation.TeamFormationStrategy;
+import com.karasu256.teamUtils.leader.LeaderElectionStrategies;
+import com.karasu256.teamUtils.leader.LeaderElectionStrategy;
+import com.karasu256.teamUtils.leader.LeaderHistory;
+import com.karasu256.teamUtils.party.PartyRegistry;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.md_5.bungee.api.ChatColor;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Criteria;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+/**
+ * 1つのスコアボードに結び付いたチームの状態と処理
+ * 所属インデックス、リーダー、リーダーの履歴、更新キュー、試合の乱数、チームの再編成をスコアボードごとに持ちます
+ * メインスコアボードは{@link TeamUtility}から、アリーナのスコアボードは各アリーナから同じ処理で扱います
+ * スナップショット以外はメインスレッドから呼び出してください
+ */
+public class ScoreboardTeams {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+    public static final String LEADER_OBJECTIVE = "teamLeader";
+    public static final String TEAM_SIZE_OBJECTIVE = "teamSize";
+    public static final String SPECTATOR_TEAM = "spectator";
+
+    private final String name;
+    private final Supplier<Scoreboard> scoreboardSupplier;
+    private final Predicate<Player> participant;
+
+    private List<Team> teams;
+    private Team spectatorTeam;
+
+    // プレイヤーのチーム所属インデックス
+    private final TeamMembershipIndex membershipIndex;
+
+    // update()で最後に確認したインデックスのバージョン（全体とスロットごと）
+    private long lastSeenVersion = -1;
+    private long[] lastSeenSlotVersions = new long[0];
+
+    // チームリーダーのレジストリ（オブジェクティブへはティック単位でまとめて書き込む）
+    private final LeaderRegistry leaderRegistry;
+
+    // リーダーを務めた履歴（順番に回す選出や重み付きの選出で使う）
+    private final LeaderHistory leaderHistory = new LeaderHistory();
+
+    // 人数の偏りを解消する移動の計算（リーダーは移動させない）
+    private final TeamRebalancer rebalancer;
+
+    // チームサイズと表示名の更新キュー（ティックの終わりにまとめて反映する）
+    private final TeamUpdateQueue updateQueue;
+
+    // 試合の乱数（チーム分け、リーダーの選出、チームの色に使う）
+    private final GameRandom gameRandom = new GameRandom();
+
+    // 反映中のチームの再編成（反映中はスコアボードとの再同期を行わない）
+    private TickBudgetedTask activeShuffle;
+
+    // 再編成を開始するたびに増える番号（計画中に開始された別の再編成を検出する）
+    private long shuffleGeneration;
+
+    // 計画中の再編成の世代（shuffleGenerationと同じ間は計画中）
+    private long planningGeneration = -1;
+
+    // 非同期スレッドから読み取るためのチーム状態のスナップショット
+    private volatile TeamSnapshot snapshot = TeamSnapshot.EMPTY;
+
+    /**
+     * @param name               ログに表示する名前
+     * @param scoreboardSupplier 対象のスコアボード
+     * @param participant        チーム分けの対象になるプレイヤーかどうか（他のスコアボードで遊んでいるプレイヤーを除くなど）
+     */
+    public ScoreboardTeams(String name, Supplier<Scoreboard> scoreboardSupplier, Predicate<Player> participant) {
+        this.name = name;
+        this.scoreboardSupplier = scoreboardSupplier;
+        this.participant = participant;
+        this.membershipIndex = new TeamMembershipIndex(scoreboardSupplier);
+        this.leaderRegistry = new LeaderRegistry(scoreboardSupplier, LEADER_OBJECTIVE);
+        this.rebalancer = new TeamRebalancer(membershipIndex, uuid -> !leaderRegistry.isLeader(uuid));
+        this.updateQueue = new TeamUpdateQueue(scoreboardSupplier, TEAM_SIZE_OBJECTIVE, this::updateTeamDisplayName,
+                this::publishSnapshot);
+    }
+
+    public Scoreboard getScoreboard() {
+        return scoreboardSupplier.get();
+    }
+
+    @Nullable
+    private Objective getObjective(String objectiveName) {
+        return getScoreboard().getObjective(objectiveName);
+    }
+
+    private void getOrCreateObjective(String objectiveName, Component displayName) {
+        Objective objective = getObjective(objectiveName);
+        if (objective == null) {
+            getScoreboard().registerNewObjective(objectiveName, Criteria.DUMMY, displayName);
+        }
+    }
+
+    /**
+     * チーム初期化時の処理を行います
+     * オブジェクティブと観戦チームがない場合は作成し、各チームにランダムな色を設定します
+     */
+    public void initialize() {
+        reloadTeamCache();
+
+        // スコアボード初期化
+        getOrCreateObjective(LEADER_OBJECTIVE, Component.text("チームリーダー"));
+        getOrCreateObjective(TEAM_SIZE_OBJECTIVE, Component.text("チームサイズ"));
+        leaderRegistry.rebuild();
+        lastSeenVersion = -1;
+        updateQueue.markAllSizesDirty();
+    }
+
+    /**
+     * チームのキャッシュをリロードします
+     * 各チームにランダムな色を設定し、色と名前を合わせます
+     */
+    public void reloadTeamCache() {
+        loadTeams();
+
+        teams.forEach(team -> {
+            team.color(ColorUtils.getRandomNamedTextColor(gameRandom.generator()));
+            updateQueue.markDisplayNameDirty(team);
+        });
+
+        membershipIndex.rebuild();
+        LOGGER.info("Updated team cache of " + name + ": " + membershipIndex.size() + "entries");
+    }
+
+    /**
+     * スコアボードからチーム一覧と観戦チームを読み込みます（観戦チームがない場合は作成します）
+     */
+    private void loadTeams() {
+        Scoreboard scoreboard = getScoreboard();
+        teams = scoreboard.getTeams().stream()
+                .filter(team -> !team.getName().equals(SPECTATOR_TEAM))
+                .toList();
+
+        spectatorTeam = scoreboard.getTeam(SPECTATOR_TEAM);
+        if (spectatorTeam == null) {
+            spectatorTeam = scoreboard.registerNewTeam(SPECTATOR_TEAM);
+            spectatorTeam.displayName(Component.text("観戦"));
+            spectatorTeam.color(NamedTextColor.GRAY);
+        }
+    }
+
+    /**
+     * チームのキャッシュが未初期化の場合は初期化し、
+     * スコアボードが外部から変更されている場合のみチーム一覧と所属インデックスを再同期します
+     * 色や表示名は変更しません
+     */
+    public void refreshIfNeeded() {
+        if (teams == null) {
+            initialize();
+            return;
+        }
+
+        // 再編成の反映中はチームが一時的にスコアボードと食い違うため、反映が終わるまで待つ
+        if (isShuffleInProgress()) {
+            return;
+        }
+
+        if (membershipIndex.isOutOfSync()) {
+            loadTeams();
+            membershipIndex.rebuild();
+            updateQueue.markAllSizesDirty();
+            LOGGER.info("Detected external scoreboard changes. Resynced team cache of " + name + ": "
+                    + membershipIndex.size() + "entries");
+        }
+    }
+
+    /**
+     * @return チームのキャッシュを初期化済みの場合true
+     */
+    public boolean isInitialized() {
+        return teams != null;
+    }
+
+    /**
+     * 最後に公開されたチーム状態のスナップショットを取得します
+     * 任意のスレッドから呼び出せますが、最新のティックの変更は反映されていない場合があります
+     *
+     * @return チーム状態のスナップショット
+     */
+    public TeamSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 現在のチーム状態からスナップショットを作り直して公開します
+     * 更新キューの反映後にメインスレッドから呼び出されます
+     */
+    private void publishSnapshot() {
+        if (teams == null) {
+            return;
+        }
+        snapshot = TeamSnapshot.capture(snapshot.getVersion() + 1, getScoreboard(), SPECTATOR_TEAM,
+                membershipIndex, leaderRegistry);
+    }
+
+    /**
+     * サーバーに参加したプレイヤーをチーム所属インデックスに反映します
+     *
+     * @param player 参加したプレイヤー
+     */
+    public void handlePlayerJoin(Player player) {
+        if (player == null || teams == null) {
+            return;
+        }
+        membershipIndex.markOnline(player);
+    }
+
+    /**
+     * プレイヤーのチーム所属をキャッシュから取得します
+     *
+     * @param uuid プレイヤーのUUID
+     * @return チーム名、所属していない場合はnull
+     */
+    @Nullable
+    public String getCachedTeamName(UUID uuid) {
+        return membershipIndex.getTeamName(uuid);
+    }
+
+    /**
+     * チームの表示名を更新します
+     * チームリーダーがいる場合はリーダーの名前に、いない場合は色に基づいた名前にします
+     * 表示名が変わらない場合はスコアボードに書き込みません
+     * 通常は{@link TeamUpdateQueue}からティックの終わりに呼び出されます
+     *
+     * @param team 更新するチーム
+     */
+    private void updateTeamDisplayName(Team team) {
+        if (team == null || team == spectatorTeam) {
+            return;
+        }
+
+        Component displayName;
+
+        // チームリーダーを探す
+        List<Player> leaders = getTeamLeadersStream(team).toList();
+        if (!leaders.isEmpty()) {
+            // リーダーがいる場合は、リーダーの名前を表示名に設定
+            displayName = Component.text(leaders.getFirst().getName());
+        } else {
+            // リーダーがいない場合は、チームの色に基づいた名前を設定
+            var color = team.color();
+            if (color == null) {
+                LOGGER.info("A team color was null. While setting team display name.");
+                return;
+            }
+            displayName = Component.text(color.examinableName());
+        }
+        try {
+            ChatColor teamColor = TeamUtility.textColorToChatColor(team.color());
+            TextColor color = ColorUtils.convert(teamColor);
+            displayName = displayName.color(color);
+        } catch (IllegalStateException e) {
+            LOGGER.warning("Could not set the team(" + team.getName() + ") color.Is the team color modified?");
+        }
+
+        if (!displayName.equals(team.displayName())) {
+            team.displayName(displayName);
+        }
+    }
+
+    /**
+     * チーム状態を確認し、必要な更新を予約します
+     * オフラインになったことが分かっているエントリーだけをチームから外し、
+     * チームごとのバージョンを比較して所属が変わったチームのサイズだけを更新対象にします
+     * ゲーム中にだけ呼び出してください
+     */
+    public void update() {
+        refreshIfNeeded();
+
+        // オフラインになったエントリーの処理
+        membershipIndex.drainOfflineEntries().forEach((entry, uuid) -> {
+            if (PlayerIndex.isOnline(entry)) {
+                return;
+            }
+
+            Team team = getScoreboard().getEntryTeam(entry);
+            if (team == null || team == spectatorTeam) {
+                return;
+            }
+
+            removeDepartedEntry(team, entry, uuid);
+        });
+
+        // 全体のバージョンが変わっていなければチームを走査しない
+        long version = membershipIndex.getVersion();
+        if (version == lastSeenVersion) {
+            return;
+        }
+
+        int slotLimit = membershipIndex.getSlotLimit();
+        if (lastSeenSlotVersions.length < slotLimit) {
+            lastSeenSlotVersions = Arrays.copyOf(lastSeenSlotVersions, slotLimit);
+        }
+
+        for (int slot = 0; slot < slotLimit; slot++) {
+            long slotVersion = membershipIndex.getSlotVersion(slot);
+            if (slotVersion == lastSeenSlotVersions[slot]) {
+                continue;
+            }
+
+            lastSeenSlotVersions[slot] = slotVersion;
+            String teamName = membershipIndex.getSlotName(slot);
+            if (teamName != null) {
+                updateQueue.markSizeDirty(getScoreboard().getTeam(teamName));
+            }
+        }
+        lastSeenVersion = version;
+
+        // 所属が変わった時だけ人数の偏りを確認する
+        rebalanceIfNeeded();
+    }
+
+    /**
+     * チームの人数の差が設定の閾値（{@link GameConfig#rebalanceThreshold}）を超えている場合、
+     * 最近加わったプレイヤーから順に最小限の人数を人数の少ないチームへ移動します
+     * 移動先の人数は{@link GameConfig#maxTeamMembers}を超えません
+     * 偏りがない場合の確認はチーム数に比例した時間で終わります
+     *
+     * @return 移動したプレイヤーの数
+     */
+    public int rebalanceIfNeeded() {
+        int threshold = TeamUtils.GAME_CONFIG.rebalanceThreshold;
+        if (threshold <= 0 || teams == null || isShuffleInProgress()) {
+            return 0;
+        }
+
+        int moved = 0;
+        for (TeamRebalancer.Move move : rebalancer.planMoves(getSpectatorSlot(), threshold,
+                TeamUtils.GAME_CONFIG.maxTeamMembers)) {
+            Player player = PlayerIndex.getPlayer(move.uniqueId());
+            if (player != null && movePlayerToTeam(player, move.toTeam())) {
+                player.sendMessage("§eチームの人数を調整するため、" + move.toTeam() + "に移動しました。");
+                moved++;
+            }
+        }
+
+        if (moved > 0) {
+            LOGGER.info("Rebalanced teams of " + name + " by moving " + moved + " players");
+        }
+        return moved;
+    }
+
+    /**
+     * 全チーム（観戦チームを含む）のサイズを更新対象にします
+     * 実際の書き込みはティックの終わりにまとめて行われ、値が変わったチームのみ反映されます
+     */
+    public void markAllSizesDirty() {
+        updateQueue.markAllSizesDirty();
+    }
+
+    /**
+     * チームに所属する全プレイヤー（観戦者を除く）に対して処理を実行します
+     *
+     * @param consumer プレイヤーに対して実行する処理
+     */
+    public void forEachTeamPlayer(Consumer<Player> consumer) {
+        refreshIfNeeded();
+
+        int spectatorSlot = getSpectatorSlot();
+        int slotLimit = membershipIndex.getSlotLimit();
+        for (int slot = 0; slot < slotLimit; slot++) {
+            if (slot != spectatorSlot) {
+                forEachOnlineMember(slot, consumer);
+            }
+        }
+    }
+
+    /**
+     * チームに所属しているオンラインプレイヤーに対して処理を実行します
+     *
+     * @param team     チーム
+     * @param consumer プレイヤーに対して実行する処理
+     */
+    public void forEachTeamPlayer(Team team, Consumer<Player> consumer) {
+        forEachOnlineMember(membershipIndex.getSlot(team.getName()), consumer);
+    }
+
+    /**
+     * スロットに所属しているオンラインプレイヤーに対して処理を実行します
+     *
+     * @param slot     チームのスロット番号
+     * @param consumer プレイヤーに対して実行する処理
+     */
+    private void forEachOnlineMember(int slot, Consumer<Player> consumer) {
+        UUID[] members = membershipIndex.getMembers(slot);
+        for (UUID uuid : members) {
+            Player player = PlayerIndex.getPlayer(uuid);
+            if (player != null) {
+                consumer.accept(player);
+            }
+        }
+    }
+
+    /**
+     * 観戦チームのスロット番号を取得します
+     *
+     * @return 観戦チームのスロット番号、存在しない場合は{@link TeamMembershipIndex#NO_TEAM}
+     */
+    private int getSpectatorSlot() {
+        return spectatorTeam != null ? membershipIndex.getSlot(spectatorTeam.getName())
+                : TeamMembershipIndex.NO_TEAM;
+    }
+
+    /**
+     * @return 観戦チーム以外のチーム（未初期化の場合はnull）
+     */
+    public List<Team> getTeams() {
+        return teams;
+    }
+
+    public Team getSpectatorTeam() {
+        return spectatorTeam;
+    }
+
+    /**
+     * 全チームのリーダーのStreamを返します
+     *
+     * @return チームリーダーのStream
+     */
+    public Stream<Player> getTeamLeadersStream() {
+        return teams.stream().flatMap(this::getTeamLeadersStream);
+    }
+
+    /**
+     * 特定のチームのリーダーのStreamを返します
+     *
+     * @param team 対象チーム
+     * @return チームリーダーのStream
+     */
+    public Stream<Player> getTeamLeadersStream(Team team) {
+        if (team == null || team == spectatorTeam) {
+            return Stream.empty();
+        }
+
+        int slot = membershipIndex.getSlot(team.getName());
+        return leaderRegistry.getLeaders(team.getName()).stream()
+                .filter(uuid -> membershipIndex.getSlot(uuid) == slot)
+                .map(PlayerIndex::getPlayer)
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * チームサイズのオブジェクティブに書き込まれている人数を取得します
+     *
+     * @param teamName チーム名
+     * @return 人数（オブジェクティブがない場合は0）
+     */
+    public int getTeamSize(String teamName) {
+        Objective objective = getObjective(TEAM_SIZE_OBJECTIVE);
+        return objective != null ? objective.getScore(teamName).getScore() : 0;
+    }
+
+    /**
+     * 指定した振り分け方法とシードでチームを再編成します
+     * 計画と反映をこの呼び出しの中ですべて行います
+     * 人数が多い場合は{@link #shuffleAsync(int, int, TeamFormationStrategy, Long, BiConsumer, Consumer)}を使ってください
+     *
+     * @param maxMember   1チームの最大人数（0以下の場合は設定の最大人数）
+     * @param teamLeaders 1チームあたりのリーダー数
+     * @param strategy    振り分け方法
+     * @param seed        試合の乱数のシード（同じシードと同じプレイヤーなら同じチーム分けになります）
+     * @return 再編成した場合true（対象のプレイヤーがいない場合はfalse）
+     */
+    public boolean shuffle(int maxMember, int teamLeaders, TeamFormationStrategy strategy, long seed) {
+        cancelActiveShuffle();
+
+        List<FormationCandidate> candidates = collectShuffleCandidates();
+        if (candidates.isEmpty()) {
+            LOGGER.warning("No players available for team shuffle on " + name);
+            return false;
+        }
+
+        RandomGenerator random = resetGameRandom(seed);
+        ShufflePlan plan = planShuffle(candidates, maxMember, strategy, random);
+        createShuffleTask(plan, teamLeaders, 0, null, null).runAll();
+        return true;
+    }
+
+    /**
+     * 指定した振り分け方法でチームを再編成します
+     * 計画はメインスレッド以外で作成し、スコアボードへの反映は1ティックあたりの時間の上限
+     * （{@link GameConfig#shuffleTickBudgetMillis}）を守りながら複数のティックに分けて行います
+     * 反映中に再度呼び出された場合、前の再編成は中止されます
+     * メインスレッドから呼び出してください
+     *
+     * @param maxMember   1チームの最大人数（0以下の場合は設定の最大人数）
+     * @param teamLeaders 1チームあたりのリーダー数
+     * @param strategy    振り分け方法
+     * @param seed        試合の乱数のシード（nullの場合は新しく生成します）
+     * @param onProgress  反映の進捗（完了した処理の数、全体の数）を受け取る処理（不要な場合はnull）
+     * @param onComplete  反映が完了した時に呼び出す処理（不要な場合はnull、対象のプレイヤーがいない場合は呼び出されません）
+     * @return 計画と反映を開始した場合true（対象のプレイヤーがいない場合はfalse）
+     */
+    public boolean shuffleAsync(int maxMember, int teamLeaders, TeamFormationStrategy strategy,
+            @Nullable Long seed, @Nullable BiConsumer<Integer, Integer> onProgress,
+            @Nullable Consumer<ShufflePlan> onComplete) {
+        cancelActiveShuffle();
+
+        // 計画に使うプレイヤーの一覧はメインスレッドで取得しておく
+        List<FormationCandidate> candidates = collectShuffleCandidates();
+        if (candidates.isEmpty()) {
+            LOGGER.warning("No players available for team shuffle on " + name);
+            return false;
+        }
+
+        // 計画には試合の乱数から分けた乱数を渡す（SplittableRandomはスレッドセーフではないため）
+        RandomGenerator random = resetGameRandom(seed != null ? seed : GameRandom.newSeed());
+
+        TeamUtils plugin = TeamUtils.getPlugin();
+        long budgetMillis = TeamUtils.GAME_CONFIG.shuffleTickBudgetMillis;
+        if (!plugin.isEnabled()) {
+            ShufflePlan plan = planShuffle(candidates, maxMember, strategy, random);
+            createShuffleTask(plan, teamLeaders, budgetMillis, onProgress, onComplete).runAll();
+            return true;
+        }
+
+        long generation = ++shuffleGeneration;
+        planningGeneration = generation;
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            ShufflePlan plan;
+            try {
+                plan = planShuffle(candidates, maxMember, strategy, random);
+            } catch (RuntimeException e) {
+                LOGGER.warning("Failed to plan team shuffle on " + name + ": " + e.getMessage());
+                plan = null;
+            }
+            ShufflePlan plannedShuffle = plan;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                // 計画中に別の再編成が開始された場合は破棄する
+                if (generation != shuffleGeneration) {
+                    return;
+                }
+                planningGeneration = -1;
+                if (plannedShuffle == null) {
+                    return;
+                }
+                activeShuffle = createShuffleTask(plannedShuffle, teamLeaders, budgetMillis, onProgress,
+                        onComplete);
+                activeShuffle.start();
+            });
+        });
+        return true;
+    }
+
+    /**
+     * @return チームの再編成を計画中または反映中の場合true
+     */
+    public boolean isShuffleInProgress() {
+        return planningGeneration == shuffleGeneration || isApplyingShuffle();
+    }
+
+    private boolean isApplyingShuffle() {
+        return activeShuffle != null && !activeShuffle.isDone();
+    }
+
+    /**
+     * 計画中または反映中のチームの再編成を中止します
+     * 反映済みの変更はそのまま残ります
+     */
+    public void cancelActiveShuffle() {
+        shuffleGeneration++;
+        planningGeneration = -1;
+        if (isApplyingShuffle()) {
+            activeShuffle.cancel();
+            // 途中まで反映されたスコアボードに合わせてキャッシュを作り直す
+            refreshIfNeeded();
+        }
+        activeShuffle = null;
+    }
+
+    /**
+     * 試合の乱数を指定したシードで作り直し、チーム分けの計画に使う乱数を分けます
+     *
+     * @param seed シード
+     * @return 計画に使う乱数
+     */
+    private RandomGenerator resetGameRandom(long seed) {
+        gameRandom.reset(seed);
+        LOGGER.info("Team shuffle seed on " + name + ": " + seed);
+        return gameRandom.split();
+    }
+
+    /**
+     * 試合の乱数を取得します
+     * チーム分け、リーダーの選出、チームの色はすべてこの乱数から決まります
+     *
+     * @return 試合の乱数
+     */
+    public GameRandom getGameRandom() {
+        return gameRandom;
+    }
+
+    /**
+     * チーム分けの対象となるプレイヤーを集めます
+     * 観戦チームのプレイヤーと、このスコアボードの参加者でないプレイヤーは対象外です
+     * 同じシードで同じ結果になるよう、オンラインプレイヤーの並び順に依存しないUUID順で返します
+     */
+    private List<FormationCandidate> collectShuffleCandidates() {
+        // チームの初期化またはキャッシュ更新
+        if (teams == null) {
+            initialize();
+        } else {
+            refreshIfNeeded();
+        }
+
+        List<FormationCandidate> candidates = new ArrayList<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (spectatorTeam.hasEntry(player.getName()) || !participant.test(player)) {
+                continue;
+            }
+            Location location = player.getLocation();
+            candidates.add(new FormationCandidate(player.getUniqueId(), player.getName(),
+                    PlayerRatings.getRating(player.getUniqueId()), PartyRegistry.getPartyId(player.getUniqueId()))
+                    .withLocation(player.getWorld().getName(), location.getX(), location.getZ()));
+        }
+        candidates.sort(Comparator.comparing(FormationCandidate::getUniqueId));
+        return candidates;
+    }
+
+    /**
+     * チーム分けを計画します
+     * スコアボードやプレイヤーに触れないため、メインスレッド以外から呼び出せます
+     */
+    private static ShufflePlan planShuffle(List<FormationCandidate> candidates, int maxMember,
+            TeamFormationStrategy strategy, RandomGenerator random) {
+        if (maxMember <= 0) {
+            maxMember = TeamUtils.GAME_CONFIG.maxTeamMembers;
+        }
+
+        int playerCount = candidates.size();
+        int requiredTeams = (maxMember == 1) ? playerCount
+                : Math.max(1, (int) Math.ceil((double) playerCount / maxMember));
+        return ShufflePlan.create(candidates, requiredTeams, strategy, random);
+    }
+
+    /**
+     * チーム分けの計画をスコアボードに反映するタスクを作成します
+     * 既存のチームは削除せず、計画のチームとメンバーの重なりが大きいものから順に再利用し、
+     * 所属が変わるプレイヤーだけを{@link Team#addEntries(java.util.Collection)}でまとめて移動します
+     * 再利用したチームの名前と色はそのままで、表示名だけが新しいリーダーに合わせて更新されます
+     * 反映の時点でオフラインのプレイヤーや観戦チーム・他のスコアボードに移ったプレイヤーは読み飛ばします
+     */
+    private TickBudgetedTask createShuffleTask(ShufflePlan plan, int teamLeaders, long budgetMillis,
+            @Nullable BiConsumer<Integer, Integer> onProgress, @Nullable Consumer<ShufflePlan> onComplete) {
+        Scoreboard scoreboard = getScoreboard();
+        List<ShufflePlan.PlannedTeam> plannedTeams = plan.getTeams();
+        Team[] targetTeams = new Team[plannedTeams.size()];
+        List<Team> unusedTeams = new ArrayList<>();
+        Set<String> plannedEntries = new HashSet<>();
+        int[] reusedCount = {0};
+        List<Runnable> steps = new ArrayList<>();
+
+        // 既存チームと計画のチームの対応付け
+        steps.add(() -> {
+            // スコアボードオブジェクティブの用意
+            getOrCreateObjective(LEADER_OBJECTIVE, Component.text("チームリーダー"));
+            getOrCreateObjective(TEAM_SIZE_OBJECTIVE, Component.text("チームサイズ"));
+
+            for (ShufflePlan.PlannedTeam plannedTeam : plannedTeams) {
+                plannedTeam.getMembers().forEach(member -> plannedEntries.add(member.getName()));
+            }
+            unusedTeams.addAll(matchExistingTeams(scoreboard, plannedTeams, targetTeams));
+            for (Team team : targetTeams) {
+                if (team != null) {
+                    reusedCount[0]++;
+                }
+            }
+            teams = new ArrayList<>(teams);
+        });
+
+        for (int i = 0; i < plannedTeams.size(); i++) {
+            int index = i;
+            ShufflePlan.PlannedTeam plannedTeam = plannedTeams.get(i);
+            steps.add(() -> applyPlannedTeam(scoreboard, plannedTeam, index, targetTeams, plannedEntries,
+                    teamLeaders));
+        }
+
+        // 使われなかった既存チームの削除
+        steps.add(() -> {
+            for (Team team : unusedTeams) {
+                if (team.isRegistered()) {
+                    for (String entry : team.getEntries()) {
+                        unsetLeaderEntry(entry);
+                    }
+                    String teamName = team.getName();
+                    team.unregister();
+                    membershipIndex.refreshCount(teamName);
+                }
+            }
+
+            List<Team> shuffledTeams = new ArrayList<>();
+            for (Team team : targetTeams) {
+                if (team != null) {
+                    shuffledTeams.add(team);
+                }
+            }
+            teams = shuffledTeams;
+        });
+
+        return new TickBudgetedTask("team shuffle", steps, budgetMillis, onProgress, () -> {
+            markAllSizesDirty();
+            LOGGER.info("Completed team shuffle (" + plan.getStrategyName() + ") on " + name + " with "
+                    + plannedTeams.size() + " teams (" + reusedCount[0] + " reused, " + unusedTeams.size()
+                    + " removed) and " + plan.getPlayerCount() + " players");
+            if (onComplete != null) {
+                onComplete.accept(plan);
+            }
+        });
+    }
+
+    /**
+     * 計画のチームに既存のチームを対応付けます
+     * 現在の所属メンバーの重なりが大きい組み合わせから順に決め、残った既存チームも空いている計画のチームに割り当てます
+     *
+     * @param scoreboard   対象のスコアボード
+     * @param plannedTeams 計画のチーム
+     * @param targetTeams  計画のチームと同じ順番で、対応付けた既存チームを書き込む配列（対応がない場合はnull）
+     * @return どの計画のチームにも対応付けられなかった既存チーム
+     */
+    private List<Team> matchExistingTeams(Scoreboard scoreboard, List<ShufflePlan.PlannedTeam> plannedTeams,
+            Team[] targetTeams) {
+        Map<String, Team> existingTeams = new LinkedHashMap<>();
+        for (Team team : scoreboard.getTeams()) {
+            if (!team.equals(spectatorTeam)) {
+                existingTeams.put(team.getName(), team);
+            }
+        }
+
+        // (計画のチーム, 既存チーム, 重なっている人数)の組を重なりの大きい順に並べる
+        List<TeamOverlap> overlaps = new ArrayList<>();
+        for (int i = 0; i < plannedTeams.size(); i++) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (FormationCandidate member : plannedTeams.get(i).getMembers()) {
+                String teamName = membershipIndex.getTeamName(member.getUniqueId());
+                if (teamName != null && existingTeams.containsKey(teamName)) {
+                    counts.merge(teamName, 1, Integer::sum);
+                }
+            }
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                overlaps.add(new TeamOverlap(i, count.getKey(), count.getValue()));
+            }
+        }
+        overlaps.sort(Comparator.comparingInt(TeamOverlap::members).reversed());
+
+        for (TeamOverlap overlap : overlaps) {
+            if (targetTeams[overlap.plannedIndex()] == null && existingTeams.containsKey(overlap.teamName())) {
+                targetTeams[overlap.plannedIndex()] = existingTeams.remove(overlap.teamName());
+            }
+        }
+
+        // 重なりのない既存チームも作り直さずに使い回す
+        Iterator<Team> remaining = existingTeams.values().iterator();
+        for (int i = 0; i < targetTeams.length && remaining.hasNext(); i++) {
+            if (targetTeams[i] == null) {
+                targetTeams[i] = remaining.next();
+                remaining.remove();
+            }
+        }
+        return new ArrayList<>(existingTeams.values());
+    }
+
+    /**
+     * 計画のチームと既存チームで重なっているメンバーの人数
+     */
+    private record TeamOverlap(int plannedIndex, String teamName, int members) {
+    }
+
+    /**
+     * 計画の1チームをスコアボードに反映します
+     * 対応する既存チームがない場合だけ新しく登録し、計画にないエントリーの削除と
+     * 他のチームから移るプレイヤーの追加をそれぞれ一度の呼び出しで行います
+     */
+    private void applyPlannedTeam(Scoreboard scoreboard, ShufflePlan.PlannedTeam plannedTeam, int index,
+            Team[] targetTeams, Set<String> plannedEntries, int teamLeaders) {
+        Team team = targetTeams[index];
+        if (team == null || !team.isRegistered()) {
+            String teamName = plannedTeam.getName();
+            for (int suffix = 2; scoreboard.getTeam(teamName) != null; suffix++) {
+                teamName = plannedTeam.getName() + "_" + suffix;
+            }
+            team = scoreboard.registerNewTeam(teamName);
+            team.color(plannedTeam.getColor());
+            targetTeams[index] = team;
+            teams.add(team);
+        }
+
+        // どの計画のチームにも含まれないエントリーとオフラインのエントリーを外す
+        List<String> staleEntries = new ArrayList<>();
+        for (String entry : team.getEntries()) {
+            if (!plannedEntries.contains(entry) || !PlayerIndex.isOnline(entry)) {
+                staleEntries.add(entry);
+            }
+        }
+        if (!staleEntries.isEmpty()) {
+            team.removeEntries(staleEntries);
+            for (String entry : staleEntries) {
+                Player player = PlayerIndex.getPlayer(entry);
+                if (player != null) {
+                    membershipIndex.remove(player);
+                }
+                unsetLeaderEntry(entry);
+            }
+            membershipIndex.refreshCount(team.getName());
+        }
+
+        // 他のチームから移るプレイヤーだけを追加する
+        List<Player> incoming = new ArrayList<>();
+        for (FormationCandidate member : plannedTeam.getMembers()) {
+            Player player = PlayerIndex.getPlayer(member.getUniqueId());
+            if (player == null || team.hasEntry(player.getName()) || spectatorTeam.hasEntry(player.getName())
+                    || !participant.test(player)) {
+                continue;
+            }
+            incoming.add(player);
+        }
+        if (!incoming.isEmpty()) {
+            team.addEntries(incoming.stream().map(Player::getName).toList());
+            for (Player player : incoming) {
+                membershipIndex.put(player, team);
+                if (leaderRegistry.isLeader(player.getUniqueId())) {
+                    leaderRegistry.unsetLeader(player);
+                }
+            }
+        }
+
+        // リーダーの選出（再利用したチームの名前で履歴や指定を引くため、メンバーを反映してから行う）
+        // 変わらないリーダーには書き込まず、選ばれたリーダーはこのチームの名前で履歴に記録される
+        if (teamLeaders > 0) {
+            electTeamLeaders(team, teamLeaders);
+        } else {
+            for (UUID leaderId : new ArrayList<>(leaderRegistry.getLeaders(team.getName()))) {
+                unsetLeader(leaderId);
+            }
+        }
+        updateQueue.markDirty(team);
+    }
+
+    /**
+     * エントリー名のプレイヤーがリーダーの場合はリーダーフラグを解除します
+     */
+    private void unsetLeaderEntry(String entry) {
+        UUID uuid = PlayerIndex.resolveUniqueId(entry);
+        if (uuid != null && leaderRegistry.isLeader(uuid)) {
+            leaderRegistry.unsetLeader(uuid, entry);
+        }
+    }
+
+    /**
+     * オフラインのプレイヤーも含めてリーダーフラグを解除します
+     */
+    private void unsetLeader(UUID leaderId) {
+        Player leader = PlayerIndex.getPlayer(leaderId);
+        if (leader != null) {
+            leaderRegistry.unsetLeader(leader);
+        } else {
+            leaderRegistry.unsetLeader(leaderId, Objects.requireNonNullElse(
+                    Bukkit.getOfflinePlayer(leaderId).getName(), leaderId.toString()));
+        }
+    }
+
+    /**
+     * 設定されている選出方法（{@link GameConfig#leaderElectionStrategy}）でチームのリーダーを選出します
+     *
+     * @param team    対象のチーム
+     * @param leaders 選出する人数
+     * @return 選出されたリーダー
+     */
+    public List<Player> electTeamLeaders(Team team, int leaders) {
+        return electTeamLeaders(team, leaders,
+                LeaderElectionStrategies.getOrDefault(TeamUtils.GAME_CONFIG.leaderElectionStrategy));
+    }
+
+    /**
+     * 指定した選出方法でチームのリーダーを選び直します
+     * 候補はチームのオンラインメンバーだけで、サーバー全体のプレイヤーは走査しません
+     * 現在のリーダーは解除され、選ばれたリーダーは履歴に記録されます
+     *
+     * @param team     対象のチーム
+     * @param leaders  選出する人数（メンバーより多い場合は全員）
+     * @param strategy 選出方法
+     * @return 選出されたリーダー
+     */
+    public List<Player> electTeamLeaders(Team team, int leaders, LeaderElectionStrategy strategy) {
+        if (team == null || team == spectatorTeam || leaders <= 0) {
+            return new ArrayList<>();
+        }
+
+        try {
+            // 同じシードで同じリーダーが選ばれるよう、UUID順に並べてから選ぶ
+            List<FormationCandidate> members = new ArrayList<>();
+            forEachOnlineMember(membershipIndex.getSlot(team.getName()), player -> members.add(
+                    new FormationCandidate(player.getUniqueId(), player.getName(),
+                            PlayerRatings.getRating(player.getUniqueId()))));
+            if (members.isEmpty()) {
+                return new ArrayList<>();
+            }
+            members.sort(Comparator.comparing(FormationCandidate::getUniqueId));
+
+            List<UUID> elected = strategy.elect(team.getName(), members, leaders, leaderHistory,
+                    gameRandom.generator());
+
+            // 現在のリーダーのフラグだけを解除する
+            for (UUID leaderId : new ArrayList<>(leaderRegistry.getLeaders(team.getName()))) {
+                if (!elected.contains(leaderId)) {
+                    unsetLeader(leaderId);
+                }
+            }
+
+            List<UUID> currentLeaders = leaderRegistry.getLeaders(team.getName());
+            List<Player> selectedLeaders = new ArrayList<>(elected.size());
+            for (UUID leaderId : elected) {
+                Player leader = PlayerIndex.getPlayer(leaderId);
+                if (leader == null) {
+                    continue;
+                }
+                selectedLeaders.add(leader);
+                if (!currentLeaders.contains(leaderId)) {
+                    LOGGER.info("Setting team " + team.getName() + " leader on " + name + " ("
+                            + strategy.getName() + "): " + leader.getName());
+                    leaderRegistry.setLeader(leader, team);
+                }
+            }
+            leaderHistory.record(team.getName(), elected);
+
+            // チームのリーダーが設定されたので表示名を更新
+            updateQueue.markDisplayNameDirty(team);
+            return selectedLeaders;
+        } catch (TeamUtilityException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new TeamUtilityException("チームリーダーの設定中にエラーが発生しました: " + e.getMessage());
+        }
+    }
+
+    /**
+     * リーダーを務めた履歴を取得します
+     *
+     * @return リーダーの履歴
+     */
+    public LeaderHistory getLeaderHistory() {
+        return leaderHistory;
+    }
+
+    public boolean isTeamLeader(Player player) {
+        return player != null && leaderRegistry.isLeader(player.getUniqueId());
+    }
+
+    public boolean isSameTeam(Player player1, Player player2) {
+        if (player1 == null || player2 == null) {
+            return false;
+        }
+
+        int slot1 = membershipIndex.getSlot(player1.getUniqueId());
+        return slot1 != TeamMembershipIndex.NO_TEAM && slot1 == membershipIndex.getSlot(player2.getUniqueId());
+    }
+
+    /**
+     * プレイヤー間の攻撃が可能かどうかを所属から判定します
+     * 同じチームのメンバー同士と観戦者は攻撃できません
+     *
+     * @param attacker 攻撃するプレイヤー
+     * @param target   攻撃を受けるプレイヤー
+     * @return 攻撃可能な場合はtrue
+     */
+    public boolean canAttack(Player attacker, Player target) {
+        // インデックスから各プレイヤーのチームのスロット番号を取得
+        int attackerSlot = membershipIndex.getSlot(attacker.getUniqueId());
+        int targetSlot = membershipIndex.getSlot(target.getUniqueId());
+        // 両方またはどちらかがチームに所属していない場合は攻撃可能
+        if (attackerSlot == TeamMembershipIndex.NO_TEAM || targetSlot == TeamMembershipIndex.NO_TEAM) {
+            return true;
+        }
+        // 観戦者チームは攻撃不可
+        if (attackerSlot == getSpectatorSlot()) {
+            return false;
+        }
+        // 同じチームのメンバーは攻撃不可
+        return attackerSlot != targetSlot;
+    }
+
+    /**
+     * 内部で保持しているプレイヤーごとの状態の件数を追加します
+     *
+     * @param stats 項目名 -> 件数
+     */
+    public void putDebugStats(Map<String, Integer> stats) {
+        stats.put("membershipIndex.players", membershipIndex.size());
+        stats.put("membershipIndex.offlineEntries", membershipIndex.getOfflineEntryCount());
+        stats.put("membershipIndex.slots", membershipIndex.getSlotLimit());
+        stats.put("leaderRegistry.leaders", leaderRegistry.size());
+        stats.put("leaderRegistry.pendingScores", leaderRegistry.getPendingCount());
+        stats.put("leaderHistory.players", leaderHistory.size());
+        stats.put("updateQueue.pending", updateQueue.getPendingCount());
+        stats.put("snapshot.players", snapshot.getPlayerCount());
+    }
+
+    /**
+     * 保留中のスコアボードへの書き込みを即座に反映します
+     */
+    public void flush() {
+        leaderRegistry.flush();
+        updateQueue.flush();
+    }
+
+    /**
+     * プレイヤーが退出した時の処理を行います
+     * チームから外す場合はリーダーの再選出や空チームの処理も行います
+     *
+     * @param player         退出したプレイヤー
+     * @param removeFromTeam チームから外す場合true（falseの場合はエントリーを残したままオンラインメンバーからのみ外す）
+     */
+    public void handlePlayerQuit(Player player, boolean removeFromTeam) {
+        if (!removeFromTeam) {
+            membershipIndex.markOffline(player);
+            return;
+        }
+
+        String playerName = player.getName();
+        Team playerTeam = getScoreboard().getEntryTeam(playerName);
+        if (playerTeam == null || playerTeam == spectatorTeam)
+            return;
+
+        // インデックスのオンラインメンバーから削除
+        membershipIndex.remove(player);
+
+        removeDepartedEntry(playerTeam, playerName, player.getUniqueId());
+    }
+
+    /**
+     * 退出したエントリーをチームから外し、リーダーの再選出や空チームの処理を行います
+     * オフラインのエントリーにも使えるよう、プレイヤーオブジェクトには依存しません
+     *
+     * @param team  エントリーが所属しているチーム
+     * @param entry 退出したエントリー名
+     * @param uuid  エントリーのUUID（不明な場合はnull）
+     */
+    private void removeDepartedEntry(Team team, String entry, @Nullable UUID uuid) {
+        // プレイヤーがチームリーダーだった場合
+        boolean wasLeader = uuid != null && leaderRegistry.isLeader(uuid);
+
+        // チームからプレイヤーを削除
+        team.removeEntry(entry);
+        membershipIndex.refreshCount(team.getName());
+        if (wasLeader) {
+            leaderRegistry.unsetLeader(uuid, entry);
+        }
+
+        // チームサイズが0になった場合はチームを削除対象としてマーク
+        if (team.getEntries().isEmpty()) {
+            LOGGER.info(String.format("Team %s on %s is now empty", team.getName(), name));
+            // 空のチームを削除する代わりに、チームをリセットしてキープ
+            handleEmptyTeam(team);
+            return;
+        }
+
+        // リーダーが抜けた場合は新しいリーダーを選出
+        if (wasLeader) {
+            LOGGER.info(String.format("Team leader of %s on %s has left, selecting a new leader", team.getName(),
+                    name));
+            electTeamLeaders(team, 1);
+        }
+
+        // チームサイズと表示名を更新
+        updateQueue.markDirty(team);
+    }
+
+    /**
+     * 空になったチームを処理します
+     *
+     * @param team 空のチーム
+     */
+    private void handleEmptyTeam(Team team) {
+        if (team == null || team == spectatorTeam) {
+            return;
+        }
+
+        // チームリーダースコアをリセット
+        Objective leaderObjective = getObjective(LEADER_OBJECTIVE);
+        if (leaderObjective != null) {
+            leaderObjective.getScore(team.getName()).setScore(0);
+        }
+
+        // チームカラーをリセット（オプション）
+        team.color(NamedTextColor.WHITE);
+
+        // チームサイズと表示名を更新
+        updateQueue.markDirty(team);
+    }
+
+    /**
+     * プレイヤーをチームに追加します
+     * プレイヤーがリーダーだった場合は、先に元のチームのリーダーを選び直します
+     *
+     * @param player   追加するプレイヤー
+     * @param teamName 追加先のチーム名
+     * @return 追加に成功した場合はtrue、失敗した場合はfalse
+     */
+    public boolean addPlayerToTeam(Player player, String teamName) {
+        if (player == null) {
+            return false;
+        }
+
+        if (isTeamLeader(player)) {
+            electTeamLeaders(getPlayerTeam(player), 1);
+        }
+
+        Team team = getScoreboard().getTeam(teamName);
+        if (team == null) {
+            LOGGER.warning("チーム '" + teamName + "' が見つかりません");
+            return false;
+        }
+
+        // 既に所属しているチームがある場合は、そのチームから離脱させる
+        Team currentTeam = getPlayerTeam(player);
+        if (currentTeam != null && !currentTeam.getName().equals(teamName)) {
+            currentTeam.removeEntry(player.getName());
+            membershipIndex.remove(player);
+            updateQueue.markDirty(currentTeam);
+        }
+
+        // 指定したチームに追加
+        team.addEntry(player.getName());
+
+        // インデックスを更新
+        membershipIndex.put(player, team);
+
+        // チームサイズと表示名を更新
+        updateQueue.markDirty(team);
+
+        LOGGER.info(player.getName() + " を " + teamName + " チームに追加しました");
+        return true;
+    }
+
+    /**
+     * プレイヤーをチームから削除します
+     *
+     * @param player プレイヤー
+     * @return 削除に成功した場合はtrue、プレイヤーがチームに所属していない場合はfalse
+     */
+    public boolean removePlayerFromTeam(Player player) {
+        if (player == null) {
+            return false;
+        }
+
+        Team team = getPlayerTeam(player);
+        if (team == null) {
+            return false;
+        }
+
+        boolean wasLeader = isTeamLeader(player);
+
+        // チームからプレイヤーを削除
+        team.removeEntry(player.getName());
+
+        // インデックスからも削除
+        membershipIndex.remove(player);
+
+        // リーダーならリーダーフラグをリセット
+        if (wasLeader) {
+            leaderRegistry.unsetLeader(player);
+
+            // リーダーだった場合は、新しいリーダーを選出
+            if (!team.equals(spectatorTeam) && !team.getEntries().isEmpty()) {
+                electTeamLeaders(team, 1);
+            }
+        }
+
+        // 空のチームの処理（観戦チームは消さない）
+        if (!team.equals(spectatorTeam) && team.getEntries().isEmpty()) {
+            handleEmptyTeam(team);
+        } else {
+            // チームサイズと表示名を更新
+            updateQueue.markDirty(team);
+        }
+
+        LOGGER.info(player.getName() + " を " + team.getName() + " チームから削除しました");
+        return true;
+    }
+
+    /**
+     * プレイヤーが所属しているチームを取得します（キャッシュも利用）
+     *
+     * @param player プレイヤー
+     * @return プレイヤーが所属しているチーム、所属していない場合はnull
+     */
+    @Nullable
+    public Team getPlayerTeam(Player player) {
+        if (player == null) {
+            return null;
+        }
+
+        // まずインデックスからチーム名を探す
+        String teamName = membershipIndex.getTeamName(player.getUniqueId());
+        if (teamName != null) {
+            Team cachedTeam = getScoreboard().getTeam(teamName);
+            if (cachedTeam != null && cachedTeam.hasEntry(player.getName())) {
+                return cachedTeam;
+            }
+        }
+
+        // インデックスが古い場合はScoreboardから取得してインデックスを更新
+        Team team = getScoreboard().getEntryTeam(player.getName());
+        if (team != null) {
+            membershipIndex.put(player, team);
+        } else {
+            membershipIndex.remove(player);
+        }
+        return team;
+    }
+
+    /**
+     * プレイヤーが何かしらのチームに所属しているかをチェックします
+     *
+     * @param player チェック対象のプレイヤー
+     * @return プレイヤーが何かしらのチームに所属しているか
+     */
+    public boolean isPlayerInAnyTeam(Player player) {
+        return membershipIndex.contains(player.getUniqueId());
+    }
+
+    /**
+     * プレイヤーを別のチームに移動させます
+     *
+     * @param player   移動させるプレイヤー
+     * @param teamName 移動先のチーム名
+     * @return 移動に成功した場合はtrue、失敗した場合はfalse
+     */
+    public boolean movePlayerToTeam(Player player, String teamName) {
+        if (player == null) {
+            return false;
+        }
+
+        Team team = getScoreboard().getTeam(teamName);
+        if (team == null) {
+            LOGGER.warning("チーム '" + teamName + "' が見つかりません");
+            return false;
+        }
+
+        Team currentTeam = getPlayerTeam(player);
+        if (currentTeam != null) {
+            // 既に同じチームに所属している場合は何もしない
+            if (currentTeam.equals(team)) {
+                return true;
+            }
+
+            // リーダーであれば、リーダーフラグをリセット
+            boolean wasLeader = isTeamLeader(player);
+            if (wasLeader) {
+                leaderRegistry.unsetLeader(player);
+            }
+
+            // 現在のチームから削除
+            currentTeam.removeEntry(player.getName());
+
+            // 前のチームでリーダーだった場合は、新しいリーダーを選出
+            if (wasLeader && !currentTeam.equals(spectatorTeam) && !currentTeam.getEntries().isEmpty()) {
+                electTeamLeaders(currentTeam, 1);
+            }
+
+            // 空のチームの処理（観戦チームは消さない）
+            if (!currentTeam.equals(spectatorTeam) && currentTeam.getEntries().isEmpty()) {
+                handleEmptyTeam(currentTeam);
+            } else {
+                updateQueue.markDirty(currentTeam);
+            }
+        }
+
+        // 新しいチームに追加
+        team.addEntry(player.getName());
+        membershipIndex.put(player, team);
+
+        // チームサイズと表示名を更新
+        updateQueue.markDirty(team);
+
+        LOGGER.info(player.getName() + " を " + (currentTeam != null ? currentTeam.getName() : "無所属") +
+                " から " + teamName + " チームに移動しました");
+        return true;
+    }
+
+    /**
+     * 定員に空きのあるチームのうち、最も人数の少ないチームにプレイヤーを参加させます
+     * チームは人数順のヒープから選ぶため、チーム数がnの場合O(log n)で決まります
+     *
+     * @param player   参加させるプレイヤー
+     * @param capacity 1チームの定員（0以下の場合は無制限）
+     * @return 参加したチーム
+     * @throws TeamUtilityException 参加できるチームがない場合やすべてのチームが定員に達している場合
+     */
+    public Team joinLeastFullTeam(Player player, int capacity) {
+        refreshIfNeeded();
+
+        int slot = membershipIndex.getLeastFullSlot(getSpectatorSlot());
+        Team team = slot != TeamMembershipIndex.NO_TEAM ? getScoreboard().getTeam(membershipIndex.getSlotName(slot))
+                : null;
+        if (team == null) {
+            throw new TeamUtilityException("利用可能なチームが見つかりませんでした");
+        }
+        return joinTeamWithinCapacity(player, team, capacity);
+    }
+
+    /**
+     * 定員を確認してからプレイヤーをチームに参加させます
+     * 確認と移動はどちらもメインスレッドで続けて行われ、間に他の参加が入ることはないため、定員を超える参加は起こりません
+     * 非同期スレッドからは呼び出さないでください
+     * 観戦チームには定員はありません
+     *
+     * @param player   参加させるプレイヤー
+     * @param team     参加先のチーム
+     * @param capacity 1チームの定員（0以下の場合は無制限）
+     * @return 参加したチーム
+     * @throws TeamUtilityException チームが定員に達している場合や移動に失敗した場合
+     */
+    public Team joinTeamWithinCapacity(Player player, Team team, int capacity) {
+        if (team.hasEntry(player.getName())) {
+            return team;
+        }
+
+        refreshIfNeeded();
+        if (team.equals(spectatorTeam)) {
+            capacity = 0;
+        }
+        if (capacity > 0 && membershipIndex.getEntryCount(membershipIndex.getSlot(team.getName())) >= capacity) {
+            throw new TeamUtilityException("チーム " + team.getName() + " は定員（" + capacity + "人）に達しています");
+        }
+
+        if (!movePlayerToTeam(player, team.getName())) {
+            throw new TeamUtilityException("チーム " + team.getName() + " への参加に失敗しました");
+        }
+        return team;
+    }
+
+    /**
+     * 観戦チーム以外のランダムなチームを1つ取得します
+     *
+     * @return 観戦チーム以外のランダムなチーム、存在しない場合はnull
+     */
+    @Nullable
+    public Team getRandomTeam() {
+        if (teams == null || teams.isEmpty()) {
+            refreshIfNeeded();
+        }
+
+        // チームのキャッシュには観戦チームが含まれないため、コピーせずにそのまま選ぶ
+        if (teams == null || teams.isEmpty()) {
+            return null;
+        }
+        return teams.get(gameRandom.generator().nextInt(teams.size()));
+    }
+}
@@ -0,0 +1,370 @@
+package com.karasu256.teamUtils.utils;
+
+import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.config.GameConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldBorder;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * ワールドボーダー内の安全なスポーン地点を前もって探しておくプール
+ * 定期処理でボーダー内のランダムな座標を{@link LocationUtils#findGroundedLocationAsync}で非同期に確かめ、
+ * 安全だった地点をワールドごとに{@link GameConfig#spawnPoolSize}個まで貯めておきます
+ * ゲーム開始時はここから取り出すだけで済むため、その時点でのチャンクの読み込みやブロックの探索が不要になります
+ * ボーダーの中心や大きさが変わった場合、ワールドがアンロードされた場合は貯めた地点を捨てて探し直します
+ * 地点はチャンク単位より粗いグリッドで管理し、ある位置の周辺の地点をグリッドの近いセルだけから探せます
+ * メインスレッドからのみ使用してください
+ */
+public class SpawnPointPool {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    // 空間インデックスのグリッドの1セルの大きさ（ブロック）
+    private static final int CELL_SIZE = 64;
+
+    // ボーダーぎりぎりにスポーンしないように、探す範囲をボーダーの大きさのこの割合にする
+    private static final double BORDER_MARGIN = 0.9;
+
+    // 取り出す時に条件に合う地点を探す回数
+    private static final int MAX_DRAW_ATTEMPTS = 8;
+
+    // ワールドUUID -> 地点のプール
+    private static final Map<UUID, WorldPool> pools = new HashMap<>();
+
+    private static final SplittableRandom random = new SplittableRandom();
+
+    private static BukkitTask task;
+
+    /**
+     * プールの定期処理を開始し、メインのワールドの地点を探し始めます
+     * プラグインの有効化時に呼び出してください
+     */
+    public static void start() {
+        if (task != null) {
+            return;
+        }
+        if (!Bukkit.getWorlds().isEmpty()) {
+            getOrCreatePool(Bukkit.getWorlds().get(0));
+        }
+        task = Bukkit.getScheduler().runTaskTimer(TeamUtils.getPlugin(), SpawnPointPool::tick, 20L, 20L);
+    }
+
+    /**
+     * 定期処理
+     * ボーダーが変わったプールやアンロードされたワールドのプールを捨て、足りない地点を探し始めます
+     */
+    public static void tick() {
+        GameConfig config = TeamUtils.GAME_CONFIG;
+        Iterator<WorldPool> iterator = pools.values().iterator();
+        while (iterator.hasNext()) {
+            WorldPool pool = iterator.next();
+            World world = Bukkit.getWorld(pool.worldId);
+            if (world == null) {
+                iterator.remove();
+                LOGGER.info("Discarded spawn point pool of an unloaded world");
+                continue;
+            }
+
+            BorderArea area = BorderArea.of(world.getWorldBorder());
+            if (!area.equals(pool.area)) {
+                pool.reset(area);
+                LOGGER.info("World border of " + world.getName() + " changed, refilling spawn point pool");
+            }
+
+            refill(world, pool, config);
+        }
+    }
+
+    /**
+     * ボーダー内の安全な地点をランダムに1つ取り出します
+     *
+     * @param world ワールド
+     * @return 地点（プールが空の場合はnull）
+     */
+    @Nullable
+    public static Location poll(World world) {
+        WorldPool pool = getOrCreatePool(world);
+        if (pool.points.isEmpty()) {
+            return null;
+        }
+        return pool.take(pool.points.get(random.nextInt(pool.points.size())));
+    }
+
+    /**
+     * 指定した範囲から離れた安全な地点をランダムに1つ取り出します
+     * 範囲は{@link LocationUtils}と同じく、X軸とZ軸それぞれの距離で判定します
+     *
+     * @param world       ワールド
+     * @param avoidCenter 避ける範囲の中心（nullの場合は考慮しない）
+     * @param avoidDx     避けるX方向の範囲
+     * @param avoidDz     避けるZ方向の範囲
+     * @return 地点（条件に合う地点が見つからない場合はnull）
+     */
+    @Nullable
+    public static Location pollAwayFrom(World world, @Nullable Location avoidCenter, double avoidDx,
+            double avoidDz) {
+        if (avoidCenter == null) {
+            return poll(world);
+        }
+
+        return pollMatching(world, location -> Math.abs(location.getX() - avoidCenter.getX()) >= avoidDx
+                && Math.abs(location.getZ() - avoidCenter.getZ()) >= avoidDz);
+    }
+
+    /**
+     * 条件を満たす安全な地点をランダムに1つ取り出します
+     * ランダムに選んだ地点を最大{@link #MAX_DRAW_ATTEMPTS}回まで確かめます
+     *
+     * @param world     ワールド
+     * @param condition 地点の条件（渡された位置は変更しないでください）
+     * @return 地点（条件に合う地点が見つからない場合はnull）
+     */
+    @Nullable
+    public static Location pollMatching(World world, Predicate<Location> condition) {
+        WorldPool pool = getOrCreatePool(world);
+        for (int attempt = 0; attempt < MAX_DRAW_ATTEMPTS && !pool.points.isEmpty(); attempt++) {
+            SpawnPoint point = pool.points.get(random.nextInt(pool.points.size()));
+            if (condition.test(point.location)) {
+                return pool.take(point);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 指定した位置から一定の距離の範囲にある安全な地点をランダムに1つ取り出します
+     * 範囲に重なるグリッドのセルだけを調べます
+     *
+     * @param center      中心位置
+     * @param minDistance 最小距離
+     * @param maxDistance 最大距離
+     * @return 地点（範囲に地点がない場合はnull）
+     */
+    @Nullable
+    public static Location pollNear(Location center, double minDistance, double maxDistance) {
+        World world = center.getWorld();
+        if (world == null) {
+            return null;
+        }
+
+        WorldPool pool = getOrCreatePool(world);
+        double minSquared = minDistance * minDistance;
+        double maxSquared = maxDistance * maxDistance;
+        int minCellX = cellOf(center.getX() - maxDistance);
+        int maxCellX = cellOf(center.getX() + maxDistance);
+        int minCellZ = cellOf(center.getZ() - maxDistance);
+        int maxCellZ = cellOf(center.getZ() + maxDistance);
+
+        // 範囲内の地点から1つを一様に選ぶ（リザーバーサンプリング）
+        SpawnPoint chosen = null;
+        int matches = 0;
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                List<SpawnPoint> cell = pool.cells.get(cellKey(cellX, cellZ));
+                if (cell == null) {
+                    continue;
+                }
+                for (SpawnPoint point : cell) {
+                    double dx = point.x - center.getX();
+                    double dz = point.z - center.getZ();
+                    double distanceSquared = dx * dx + dz * dz;
+                    if (distanceSquared >= minSquared && distanceSquared <= maxSquared
+                            && random.nextInt(++matches) == 0) {
+                        chosen = point;
+                    }
+                }
+            }
+        }
+        return chosen != null ? pool.take(chosen) : null;
+    }
+
+    /**
+     * ワールドに貯めた地点を捨てて探し直します
+     * スポーン地点の周辺を大きく作り変えた場合などに呼び出してください
+     *
+     * @param world ワールド
+     */
+    public static void invalidate(World world) {
+        WorldPool pool = pools.get(world.getUID());
+        if (pool != null) {
+            pool.reset(BorderArea.of(world.getWorldBorder()));
+        }
+    }
+
+    /**
+     * @return すべてのワールドで貯めている地点の数
+     */
+    public static int size() {
+        int size = 0;
+        for (WorldPool pool : pools.values()) {
+            size += pool.points.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return すべてのワールドで確認中の候補の数
+     */
+    public static int getPendingCount() {
+        int pending = 0;
+        for (WorldPool pool : pools.values()) {
+            pending += pool.pending;
+        }
+        return pending;
+    }
+
+    /**
+     * 定期処理を止め、貯めた地点をすべて捨てます
+     * プラグインの無効化時に呼び出してください
+     */
+    public static void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        pools.clear();
+    }
+
+    private static WorldPool getOrCreatePool(World world) {
+        return pools.computeIfAbsent(world.getUID(),
+                uid -> new WorldPool(uid, BorderArea.of(world.getWorldBorder())));
+    }
+
+    /**
+     * 足りない分の候補を確認し始めます
+     * 1回の定期処理で確認し始める数は{@link GameConfig#spawnPoolRefillPerSecond}までです
+     */
+    private static void refill(World world, WorldPool pool, GameConfig config) {
+        int missing = config.spawnPoolSize - pool.points.size() - pool.pending;
+        int count = Math.min(missing, Math.max(1, config.spawnPoolRefillPerSecond));
+        BorderArea area = pool.area;
+        for (int i = 0; i < count; i++) {
+            double x = area.centerX() + (random.nextDouble() * 2 - 1) * area.radius() * BORDER_MARGIN;
+            double z = area.centerZ() + (random.nextDouble() * 2 - 1) * area.radius() * BORDER_MARGIN;
+            long generation = pool.generation;
+            pool.pending++;
+            LocationUtils.findGroundedLocationAsync(world, x, z).whenComplete((location, error) -> {
+                // 確認中にプールが捨てられたり作り直されたりした場合は結果を使わない
+                if (pools.get(pool.worldId) != pool || pool.generation != generation) {
+                    return;
+                }
+                pool.pending--;
+                if (error != null) {
+                    LOGGER.warning("Failed to check spawn point candidate: " + error.getMessage());
+                } else if (location != null && pool.points.size() < config.spawnPoolSize) {
+                    pool.add(new SpawnPoint(location));
+                }
+            });
+        }
+    }
+
+    private static int cellOf(double coordinate) {
+        return Math.floorDiv((int) Math.floor(coordinate), CELL_SIZE);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xffffffffL);
+    }
+
+    /**
+     * プールを作った時のボーダーの範囲
+     *
+     * @param centerX 中心のX座標
+     * @param centerZ 中心のZ座標
+     * @param radius  中心からボーダーまでの距離
+     */
+    private record BorderArea(double centerX, double centerZ, double radius) {
+        static BorderArea of(WorldBorder border) {
+            Location center = border.getCenter();
+            return new BorderArea(center.getX(), center.getZ(), border.getSize() / 2);
+        }
+    }
+
+    /**
+     * 確認済みの安全な地点
+     */
+    private static class SpawnPoint {
+        private final Location location;
+        private final double x;
+        private final double z;
+
+        // WorldPool#pointsの中の位置
+        private int index;
+
+        SpawnPoint(Location location) {
+            this.location = location;
+            this.x = location.getX();
+            this.z = location.getZ();
+        }
+    }
+
+    /**
+     * 1つのワールドの地点のプール
+     * 地点は一様に選ぶための配列と、周辺を探すためのグリッドの両方に入れます
+     */
+    private static class WorldPool {
+        private final UUID worldId;
+        private final List<SpawnPoint> points = new ArrayList<>();
+        private final Map<Long, List<SpawnPoint>> cells = new HashMap<>();
+        private BorderArea area;
+
+        // 作り直すたびに増やし、古い確認結果を捨てるのに使う
+        private long generation;
+
+        // 確認中の候補の数
+        private int pending;
+
+        WorldPool(UUID worldId, BorderArea area) {
+            this.worldId = worldId;
+            this.area = area;
+        }
+
+        void add(SpawnPoint point) {
+            point.index = points.size();
+            points.add(point);
+            cells.computeIfAbsent(cellKey(cellOf(point.x), cellOf(point.z)), key -> new ArrayList<>())
+                    .add(point);
+        }
+
+        /**
+         * 地点をプールから取り除いて返します
+         * 配列からは末尾の地点と入れ替えて取り除くため、セルの地点数を除いて定数時間です
+         */
+        Location take(SpawnPoint point) {
+            SpawnPoint last = points.remove(points.size() - 1);
+            if (last != point) {
+                points.set(point.index, last);
+                last.index = point.index;
+            }
+
+            long key = cellKey(cellOf(point.x), cellOf(point.z));
+            List<SpawnPoint> cell = cells.get(key);
+            cell.remove(point);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+            return point.location.clone();
+        }
+
+        void reset(BorderArea area) {
+            this.area = area;
+            points.clear();
+            cells.clear();
+            pending = 0;
+            generation++;
+        }
+    }
+}
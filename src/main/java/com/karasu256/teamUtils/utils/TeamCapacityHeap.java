@@ -0,0 +1,168 @@
+package com.karasu256.teamUtils.utils;
+
+import java.util.Arrays;
+
+/**
+ * チームのスロットを人数の少ない順に並べるインデックス付きの二分ヒープ
+ * スロットごとにヒープ内の位置を保持しているため、人数の更新と削除はO(log チーム数)、
+ * 最も人数の少ないチームの取得はO(1)で行えます
+ * 人数が同じ場合はスロット番号の小さい順です
+ */
+public class TeamCapacityHeap {
+    private static final int INITIAL_CAPACITY = 16;
+
+    // ヒープ（スロット番号の配列）
+    private int[] heap = new int[INITIAL_CAPACITY];
+    private int size;
+
+    // スロット番号 -> ヒープ内の位置（含まれていない場合は-1）
+    private int[] positions = new int[INITIAL_CAPACITY];
+
+    // スロット番号 -> 人数
+    private int[] keys = new int[INITIAL_CAPACITY];
+
+    public TeamCapacityHeap() {
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * スロットの人数を設定します
+     * ヒープに含まれていない場合は追加します
+     *
+     * @param slot スロット番号
+     * @param key  人数
+     */
+    public void set(int slot, int key) {
+        ensureSlot(slot);
+        int position = positions[slot];
+        if (position < 0) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            keys[slot] = key;
+            heap[size] = slot;
+            positions[slot] = size;
+            siftUp(size++);
+            return;
+        }
+
+        int previous = keys[slot];
+        keys[slot] = key;
+        if (key < previous) {
+            siftUp(position);
+        } else if (key > previous) {
+            siftDown(position);
+        }
+    }
+
+    /**
+     * スロットをヒープから削除します
+     *
+     * @param slot スロット番号
+     */
+    public void remove(int slot) {
+        if (slot < 0 || slot >= positions.length || positions[slot] < 0) {
+            return;
+        }
+
+        int position = positions[slot];
+        positions[slot] = -1;
+        size--;
+        if (position == size) {
+            return;
+        }
+
+        // 末尾の要素で埋めて、上下どちらかに移動させる
+        int last = heap[size];
+        heap[position] = last;
+        positions[last] = position;
+        siftUp(position);
+        siftDown(positions[last]);
+    }
+
+    /**
+     * 最も人数の少ないスロットを取得します
+     * 除外するスロットが先頭の場合も、残りの最小は先頭の子のどちらかなので定数時間で求まります
+     *
+     * @param excludedSlot 対象外のスロット（ない場合は{@link TeamMembershipIndex#NO_TEAM}）
+     * @return スロット番号（対象のスロットがない場合は{@link TeamMembershipIndex#NO_TEAM}）
+     */
+    public int peek(int excludedSlot) {
+        if (size == 0) {
+            return TeamMembershipIndex.NO_TEAM;
+        }
+        if (heap[0] != excludedSlot) {
+            return heap[0];
+        }
+        if (size == 1) {
+            return TeamMembershipIndex.NO_TEAM;
+        }
+        if (size == 2 || less(heap[1], heap[2])) {
+            return heap[1];
+        }
+        return heap[2];
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void ensureSlot(int slot) {
+        if (slot < positions.length) {
+            return;
+        }
+        int capacity = Math.max(positions.length * 2, slot + 1);
+        int oldLength = positions.length;
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, oldLength, capacity, -1);
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    private void siftUp(int position) {
+        int slot = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!less(slot, heap[parent])) {
+                break;
+            }
+            move(heap[parent], position);
+            position = parent;
+        }
+        move(slot, position);
+    }
+
+    private void siftDown(int position) {
+        int slot = heap[position];
+        while (true) {
+            int child = position * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], slot)) {
+                break;
+            }
+            move(heap[child], position);
+            position = child;
+        }
+        move(slot, position);
+    }
+
+    private void move(int slot, int position) {
+        heap[position] = slot;
+        positions[slot] = position;
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] != keys[b] ? keys[a] < keys[b] : a < b;
+    }
+}
@@ -0,0 +1,494 @@
+package com.karasu256.teamUtils.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * オンラインプレイヤーのチーム所属を保持するインデックス
+ * 各チームには小さな整数のスロット番号が割り当てられ、メンバーはスロットごとの配列で保持されます
+ * Bukkitの{@link Team}はこのモデルをスコアボードに投影したものとして扱います
+ * プラグイン内の追加・移動・削除や参加・退出イベントで差分更新され、
+ * スコアボードが外部から変更されたことを検知した場合のみ再構築されます
+ * 所属が変わるたびにチームごとのバージョンと全体のバージョンが単調増加するため、
+ * 利用側はバージョンを比較するだけで変更の有無を判定できます
+ * チームのエントリー数は{@link TeamCapacityHeap}で人数の少ない順に保持され、
+ * 定員を守った参加先の選択に使われます
+ * 更新はすべてメインスレッドから行う前提で、同期は行いません
+ */
+public class TeamMembershipIndex {
+    /**
+     * どのチームにも所属していないことを表すスロット番号
+     */
+    public static final int NO_TEAM = -1;
+
+    private static final int INITIAL_SLOTS = 16;
+    private static final int INITIAL_MEMBERS = 4;
+
+    private final Supplier<Scoreboard> scoreboardSupplier;
+
+    // チーム名 -> スロット番号
+    private final Map<String, Integer> slotsByName = new HashMap<>();
+
+    // 再利用可能なスロット番号
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    // スロット番号 -> チーム名（未使用スロットはnull）
+    private String[] slotNames = new String[INITIAL_SLOTS];
+
+    // スロット番号 -> 所属しているオンラインプレイヤー（先頭からmemberCounts分が有効）
+    private UUID[][] members = new UUID[INITIAL_SLOTS][];
+    private int[] memberCounts = new int[INITIAL_SLOTS];
+
+    // スロット番号 -> 最後に同期した時点でのエントリー数（外部変更の検知用）
+    private int[] entryCounts = new int[INITIAL_SLOTS];
+
+    // スロット番号 -> 最後に所属が変わった時点の全体バージョン
+    private long[] slotVersions = new long[INITIAL_SLOTS];
+
+    // エントリー数が少ない順のスロット
+    private final TeamCapacityHeap capacityHeap = new TeamCapacityHeap();
+
+    private int nextSlot = 0;
+
+    // 全体のバージョン（所属が変わるたびに増加する）
+    private long version = 0;
+
+    // プレイヤーUUID -> スロット番号
+    private final Map<UUID, Integer> playerSlots = new HashMap<>();
+
+    // プレイヤーUUID -> 現在のチームに加わった時点の全体バージョン（加わった順の比較用）
+    private final Map<UUID, Long> memberSince = new HashMap<>();
+
+    // チームにエントリーが残ったままオフラインになったプレイヤー（エントリー名 -> UUID）
+    private final Map<String, UUID> offlineEntries = new LinkedHashMap<>();
+
+    public TeamMembershipIndex(Supplier<Scoreboard> scoreboardSupplier) {
+        this.scoreboardSupplier = scoreboardSupplier;
+    }
+
+    /**
+     * スコアボードの内容からインデックスを作り直します
+     */
+    public void rebuild() {
+        slotsByName.clear();
+        freeSlots.clear();
+        playerSlots.clear();
+        memberSince.clear();
+        offlineEntries.clear();
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if (members[slot] != null) {
+                Arrays.fill(members[slot], null);
+            }
+        }
+        Arrays.fill(slotNames, null);
+        Arrays.fill(memberCounts, 0);
+        Arrays.fill(entryCounts, 0);
+        capacityHeap.clear();
+        nextSlot = 0;
+
+        Scoreboard scoreboard = scoreboardSupplier.get();
+        for (Team team : scoreboard.getTeams()) {
+            int slot = allocateSlot(team.getName());
+            entryCounts[slot] = team.getSize();
+            updateCapacity(slot);
+        }
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Team team = scoreboard.getEntryTeam(player.getName());
+            if (team != null) {
+                int slot = getOrAllocateSlot(team.getName());
+                addMember(slot, player.getUniqueId());
+                playerSlots.put(player.getUniqueId(), slot);
+            }
+        }
+
+        // 再構築前の退出記録は失われるため、オンラインでないエントリーを退出済みとして記録し直す
+        for (Team team : scoreboard.getTeams()) {
+            for (String entry : team.getEntries()) {
+                if (!PlayerIndex.isOnline(entry)) {
+                    offlineEntries.put(entry, PlayerIndex.resolveUniqueId(entry));
+                }
+            }
+        }
+    }
+
+    /**
+     * スコアボードがプラグイン外から変更されているかを確認します
+     * チーム数と各チームのエントリー数のみを比較するため、チーム数に比例した時間で終わります
+     *
+     * @return 最後の同期以降に外部変更がある場合true
+     */
+    public boolean isOutOfSync() {
+        Set<Team> scoreboardTeams = scoreboardSupplier.get().getTeams();
+        if (scoreboardTeams.size() != slotsByName.size()) {
+            return true;
+        }
+
+        for (Team team : scoreboardTeams) {
+            Integer slot = slotsByName.get(team.getName());
+            if (slot == null || entryCounts[slot] != team.getSize()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * プレイヤーがチームに追加（移動）されたことを記録します
+     * スコアボードへの追加後に呼び出してください
+     *
+     * @param player 追加されたプレイヤー
+     * @param team   追加先のチーム
+     */
+    public void put(Player player, Team team) {
+        UUID uuid = player.getUniqueId();
+        offlineEntries.remove(player.getName());
+        int slot = getOrAllocateSlot(team.getName());
+        Integer previous = playerSlots.put(uuid, slot);
+        if (previous != null) {
+            if (previous == slot) {
+                refreshCount(slot);
+                return;
+            }
+            removeMember(previous, uuid);
+            refreshCount(previous);
+        }
+
+        addMember(slot, uuid);
+        refreshCount(slot);
+    }
+
+    /**
+     * プレイヤーがチームから削除されたことを記録します
+     * スコアボードからの削除後に呼び出してください
+     *
+     * @param player 削除されたプレイヤー
+     */
+    public void remove(Player player) {
+        offlineEntries.remove(player.getName());
+        Integer previous = playerSlots.remove(player.getUniqueId());
+        if (previous != null) {
+            removeMember(previous, player.getUniqueId());
+            refreshCount(previous);
+        }
+    }
+
+    /**
+     * サーバーに参加したプレイヤーの所属をスコアボードから読み込みます
+     *
+     * @param player 参加したプレイヤー
+     */
+    public void markOnline(Player player) {
+        Team team = scoreboardSupplier.get().getEntryTeam(player.getName());
+        if (team != null) {
+            put(player, team);
+        } else {
+            remove(player);
+        }
+    }
+
+    /**
+     * サーバーから退出したプレイヤーをオンラインメンバーから外します
+     * スコアボードのエントリーは残るため、エントリー数は変わりません
+     * エントリーは{@link #drainOfflineEntries()}で取り出せるよう記録されます
+     *
+     * @param player 退出したプレイヤー
+     */
+    public void markOffline(Player player) {
+        Integer slot = playerSlots.remove(player.getUniqueId());
+        if (slot != null) {
+            removeMember(slot, player.getUniqueId());
+            offlineEntries.put(player.getName(), player.getUniqueId());
+        }
+    }
+
+    /**
+     * チームにエントリーを残したままオフラインになったプレイヤーを取り出し、記録をクリアします
+     *
+     * @return エントリー名 -> UUID（UUIDが解決できなかった場合はnull）
+     */
+    public Map<String, UUID> drainOfflineEntries() {
+        if (offlineEntries.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, UUID> drained = new LinkedHashMap<>(offlineEntries);
+        offlineEntries.clear();
+        return drained;
+    }
+
+    /**
+     * チームの登録・削除後に、そのチームのエントリー数を同期します
+     *
+     * @param teamName チーム名
+     */
+    public void refreshCount(String teamName) {
+        Integer slot = slotsByName.get(teamName);
+        if (slot != null) {
+            refreshCount(slot);
+        }
+    }
+
+    private void refreshCount(int slot) {
+        Team team = scoreboardSupplier.get().getTeam(slotNames[slot]);
+        if (team == null) {
+            releaseSlot(slot);
+        } else {
+            int size = team.getSize();
+            if (entryCounts[slot] != size) {
+                entryCounts[slot] = size;
+                updateCapacity(slot);
+                touch(slot);
+            }
+        }
+    }
+
+    private int getOrAllocateSlot(String teamName) {
+        Integer slot = slotsByName.get(teamName);
+        return slot != null ? slot : allocateSlot(teamName);
+    }
+
+    private int allocateSlot(String teamName) {
+        int slot = freeSlots.isEmpty() ? nextSlot++ : freeSlots.pop();
+        if (slot >= slotNames.length) {
+            int capacity = slotNames.length * 2;
+            slotNames = Arrays.copyOf(slotNames, capacity);
+            members = Arrays.copyOf(members, capacity);
+            memberCounts = Arrays.copyOf(memberCounts, capacity);
+            entryCounts = Arrays.copyOf(entryCounts, capacity);
+            slotVersions = Arrays.copyOf(slotVersions, capacity);
+        }
+
+        slotNames[slot] = teamName;
+        memberCounts[slot] = 0;
+        entryCounts[slot] = 0;
+        updateCapacity(slot);
+        if (members[slot] == null) {
+            members[slot] = new UUID[INITIAL_MEMBERS];
+        }
+        slotsByName.put(teamName, slot);
+        touch(slot);
+        return slot;
+    }
+
+    private void releaseSlot(int slot) {
+        for (int i = 0; i < memberCounts[slot]; i++) {
+            playerSlots.remove(members[slot][i]);
+            memberSince.remove(members[slot][i]);
+            members[slot][i] = null;
+        }
+        slotsByName.remove(slotNames[slot]);
+        slotNames[slot] = null;
+        memberCounts[slot] = 0;
+        entryCounts[slot] = 0;
+        capacityHeap.remove(slot);
+        touch(slot);
+        freeSlots.push(slot);
+    }
+
+    private void addMember(int slot, UUID uuid) {
+        int count = memberCounts[slot];
+        if (count == members[slot].length) {
+            members[slot] = Arrays.copyOf(members[slot], count * 2);
+        }
+        members[slot][count] = uuid;
+        memberCounts[slot] = count + 1;
+        touch(slot);
+        memberSince.put(uuid, version);
+    }
+
+    private void removeMember(int slot, UUID uuid) {
+        UUID[] slotMembers = members[slot];
+        int count = memberCounts[slot];
+        for (int i = 0; i < count; i++) {
+            if (slotMembers[i].equals(uuid)) {
+                // 末尾の要素で埋めて詰める
+                slotMembers[i] = slotMembers[count - 1];
+                slotMembers[count - 1] = null;
+                memberCounts[slot] = count - 1;
+                memberSince.remove(uuid);
+                touch(slot);
+                return;
+            }
+        }
+    }
+
+    private void touch(int slot) {
+        slotVersions[slot] = ++version;
+    }
+
+    private void updateCapacity(int slot) {
+        capacityHeap.set(slot, entryCounts[slot]);
+    }
+
+    /**
+     * エントリー数が最も少ないチームのスロットを取得します
+     *
+     * @param excludedSlot 対象外のスロット（観戦チームなど、ない場合は{@link #NO_TEAM}）
+     * @return スロット番号（チームがない場合は{@link #NO_TEAM}）
+     */
+    public int getLeastFullSlot(int excludedSlot) {
+        return capacityHeap.peek(excludedSlot);
+    }
+
+    /**
+     * スロットのエントリー数（オフラインのエントリーを含む）を取得します
+     *
+     * @param slot スロット番号
+     * @return エントリー数
+     */
+    public int getEntryCount(int slot) {
+        return slot >= 0 && slot < nextSlot && slotNames[slot] != null ? entryCounts[slot] : 0;
+    }
+
+    /**
+     * プレイヤーが現在のチームに加わった時点の全体バージョンを取得します
+     * 値が大きいほど最近加わったことを表します
+     *
+     * @param uuid プレイヤーのUUID
+     * @return 加わった時点のバージョン（どのチームにも所属していない場合は0）
+     */
+    public long getMemberSince(UUID uuid) {
+        return memberSince.getOrDefault(uuid, 0L);
+    }
+
+    /**
+     * 全体のバージョンを取得します
+     * いずれかのチームの所属が変わると増加します
+     *
+     * @return 全体のバージョン
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * スロットのバージョンを取得します
+     * スロットの所属が変わった時点の全体バージョンが返るため、スロットが再利用された場合も値は重複しません
+     *
+     * @param slot スロット番号
+     * @return スロットのバージョン
+     */
+    public long getSlotVersion(int slot) {
+        return slot >= 0 && slot < slotVersions.length ? slotVersions[slot] : 0;
+    }
+
+    /**
+     * プレイヤーが所属しているチームのスロット番号を取得します
+     *
+     * @param uuid プレイヤーのUUID
+     * @return スロット番号、所属していない場合は{@link #NO_TEAM}
+     */
+    public int getSlot(UUID uuid) {
+        Integer slot = playerSlots.get(uuid);
+        return slot != null ? slot : NO_TEAM;
+    }
+
+    /**
+     * チーム名からスロット番号を取得します
+     *
+     * @param teamName チーム名
+     * @return スロット番号、登録されていない場合は{@link #NO_TEAM}
+     */
+    public int getSlot(String teamName) {
+        Integer slot = slotsByName.get(teamName);
+        return slot != null ? slot : NO_TEAM;
+    }
+
+    /**
+     * スロット番号に対応するチーム名を取得します
+     *
+     * @param slot スロット番号
+     * @return チーム名、未使用のスロットの場合はnull
+     */
+    @Nullable
+    public String getSlotName(int slot) {
+        return slot >= 0 && slot < slotNames.length ? slotNames[slot] : null;
+    }
+
+    /**
+     * プレイヤーが所属しているチーム名を取得します
+     *
+     * @param uuid プレイヤーのUUID
+     * @return チーム名、所属していない場合はnull
+     */
+    @Nullable
+    public String getTeamName(UUID uuid) {
+        return getSlotName(getSlot(uuid));
+    }
+
+    /**
+     * スロットに所属しているオンラインプレイヤーの数を取得します
+     *
+     * @param slot スロット番号
+     * @return メンバー数
+     */
+    public int getMemberCount(int slot) {
+        return slot >= 0 && slot < memberCounts.length ? memberCounts[slot] : 0;
+    }
+
+    /**
+     * スロットに所属しているオンラインプレイヤーを順に処理します
+     *
+     * @param slot     スロット番号
+     * @param consumer メンバーのUUIDに対して実行する処理
+     */
+    public void forEachMember(int slot, Consumer<UUID> consumer) {
+        int count = getMemberCount(slot);
+        UUID[] slotMembers = count > 0 ? members[slot] : null;
+        for (int i = 0; i < count; i++) {
+            consumer.accept(slotMembers[i]);
+        }
+    }
+
+    /**
+     * スロットに所属しているオンラインプレイヤーの配列のコピーを取得します
+     *
+     * @param slot スロット番号
+     * @return メンバーのUUID
+     */
+    public UUID[] getMembers(int slot) {
+        int count = getMemberCount(slot);
+        return count > 0 ? Arrays.copyOf(members[slot], count) : new UUID[0];
+    }
+
+    /**
+     * 割り当て済みのスロット番号の上限（この値未満のスロットを走査すれば全チームを網羅できます）
+     *
+     * @return スロット番号の上限
+     */
+    public int getSlotLimit() {
+        return nextSlot;
+    }
+
+    public boolean contains(UUID uuid) {
+        return playerSlots.containsKey(uuid);
+    }
+
+    public int size() {
+        return playerSlots.size();
+    }
+
+    /**
+     * @return チームにエントリーを残したままオフラインになったプレイヤーの数
+     */
+    public int getOfflineEntryCount() {
+        return offlineEntries.size();
+    }
+}
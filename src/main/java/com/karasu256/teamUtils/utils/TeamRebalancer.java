@@ -0,0 +1,131 @@
+package com.karasu256.teamUtils.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * チームの人数の偏りを少ない移動で解消するための移動を計算します
+ * {@link TeamMembershipIndex}のチームごとの人数だけを見るため、偏りがない場合の確認はチーム数に比例した時間で終わります
+ * 移動は最も人数の多いチームから最も人数の少ないチームへ1人ずつ行い、
+ * 移動元のチームでは最近加わったプレイヤーから選びます
+ */
+public class TeamRebalancer {
+    private final TeamMembershipIndex membershipIndex;
+    private final Predicate<UUID> movable;
+
+    /**
+     * @param membershipIndex チームの所属インデックス
+     * @param movable         移動させてよいプレイヤーかどうか（リーダーを除外するなど）
+     */
+    public TeamRebalancer(TeamMembershipIndex membershipIndex, Predicate<UUID> movable) {
+        this.membershipIndex = membershipIndex;
+        this.movable = movable;
+    }
+
+    /**
+     * 人数の差が閾値以下になるまでの移動を計算します
+     * 人数はオンラインのメンバー数で比べ、メンバーのいない登録済みのチームも0人のチームとして移動先になります
+     * 移動先の定員はオフラインのエントリーも含めたエントリー数で確認し、定員に達しているチームには移動しません
+     *
+     * @param excludedSlot 対象外のスロット（観戦チームなど、ない場合は{@link TeamMembershipIndex#NO_TEAM}）
+     * @param threshold    許容する人数の差（1以上）
+     * @param maxMembers   1チームの最大人数（0以下の場合は無制限）
+     * @return 移動（偏りがない場合は空）
+     */
+    public List<Move> planMoves(int excludedSlot, int threshold, int maxMembers) {
+        int slotLimit = membershipIndex.getSlotLimit();
+        boolean[] registered = new boolean[slotLimit];
+        int[] counts = new int[slotLimit];
+        int[] entries = new int[slotLimit];
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int slot = 0; slot < slotLimit; slot++) {
+            if (slot == excludedSlot || membershipIndex.getSlotName(slot) == null) {
+                continue;
+            }
+            registered[slot] = true;
+            counts[slot] = membershipIndex.getMemberCount(slot);
+            entries[slot] = membershipIndex.getEntryCount(slot);
+            min = Math.min(min, counts[slot]);
+            max = Math.max(max, counts[slot]);
+        }
+
+        threshold = Math.max(1, threshold);
+        if (min == Integer.MAX_VALUE || max - min <= threshold) {
+            return Collections.emptyList();
+        }
+
+        List<Move> moves = new ArrayList<>();
+        Set<UUID> moved = new HashSet<>();
+        // 移動できるプレイヤーが残っていないチーム
+        boolean[] exhausted = new boolean[slotLimit];
+        while (true) {
+            int from = -1;
+            int to = -1;
+            for (int slot = 0; slot < slotLimit; slot++) {
+                if (!registered[slot]) {
+                    continue;
+                }
+                if (!exhausted[slot] && counts[slot] > 0 && (from == -1 || counts[slot] > counts[from])) {
+                    from = slot;
+                }
+                boolean hasRoom = maxMembers <= 0 || entries[slot] < maxMembers;
+                if (hasRoom && (to == -1 || counts[slot] < counts[to])) {
+                    to = slot;
+                }
+            }
+
+            if (from == -1 || to == -1 || from == to || counts[from] - counts[to] <= threshold) {
+                break;
+            }
+
+            UUID player = findNewestMovableMember(from, moved);
+            if (player == null) {
+                exhausted[from] = true;
+                continue;
+            }
+
+            moved.add(player);
+            moves.add(new Move(player, membershipIndex.getSlotName(from), membershipIndex.getSlotName(to)));
+            counts[from]--;
+            counts[to]++;
+            entries[from]--;
+            entries[to]++;
+        }
+        return moves;
+    }
+
+    /**
+     * スロットのメンバーのうち、最も最近加わった移動可能なプレイヤーを探します
+     */
+    private UUID findNewestMovableMember(int slot, Set<UUID> moved) {
+        UUID newest = null;
+        long newestSince = Long.MIN_VALUE;
+        for (UUID member : membershipIndex.getMembers(slot)) {
+            if (moved.contains(member) || !movable.test(member)) {
+                continue;
+            }
+            long since = membershipIndex.getMemberSince(member);
+            if (since > newestSince) {
+                newest = member;
+                newestSince = since;
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * 1人のプレイヤーの移動
+     *
+     * @param uniqueId 移動するプレイヤーのUUID
+     * @param fromTeam 移動元のチーム名
+     * @param toTeam   移動先のチーム名
+     */
+    public record Move(UUID uniqueId, String fromTeam, String toTeam) {
+    }
+}
@@ -0,0 +1,209 @@
+package com.karasu256.teamUtils.utils;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.TextColor;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * ある時点のチーム状態（チーム、メンバー、リーダー、色）を保持する不変のスナップショット
+ * メインスレッドで更新がまとめて反映された後に作り直され、volatileな参照で公開されます
+ * 非同期のチャットやタブ補完のスレッドからもロックなしで読み取れます
+ */
+public final class TeamSnapshot {
+    public static final TeamSnapshot EMPTY = new TeamSnapshot(0, Collections.emptyMap(), null,
+            Collections.emptyMap());
+
+    private final long version;
+    private final Map<String, TeamView> teams;
+    @Nullable
+    private final TeamView spectatorTeam;
+    private final Map<UUID, String> playerTeams;
+
+    private TeamSnapshot(long version, Map<String, TeamView> teams, @Nullable TeamView spectatorTeam,
+            Map<UUID, String> playerTeams) {
+        this.version = version;
+        this.teams = teams;
+        this.spectatorTeam = spectatorTeam;
+        this.playerTeams = playerTeams;
+    }
+
+    /**
+     * スコアボードとインデックスから現在の状態を写し取ります
+     * メインスレッドから呼び出してください
+     *
+     * @param version         スナップショットの世代番号
+     * @param scoreboard      対象のスコアボード
+     * @param spectatorName   観戦チームの名前
+     * @param membershipIndex チーム所属インデックス
+     * @param leaderRegistry  チームリーダーのレジストリ
+     * @return 作成したスナップショット
+     */
+    public static TeamSnapshot capture(long version, Scoreboard scoreboard, String spectatorName,
+            TeamMembershipIndex membershipIndex, LeaderRegistry leaderRegistry) {
+        Map<String, TeamView> teams = new LinkedHashMap<>();
+        TeamView spectatorTeam = null;
+
+        for (Team team : scoreboard.getTeams()) {
+            TeamView view = new TeamView(team, leaderRegistry.getLeaders(team.getName()));
+            if (team.getName().equals(spectatorName)) {
+                spectatorTeam = view;
+            } else {
+                teams.put(team.getName(), view);
+            }
+        }
+
+        Map<UUID, String> playerTeams = new HashMap<>();
+        for (int slot = 0; slot < membershipIndex.getSlotLimit(); slot++) {
+            String teamName = membershipIndex.getSlotName(slot);
+            if (teamName != null) {
+                membershipIndex.forEachMember(slot, uuid -> playerTeams.put(uuid, teamName));
+            }
+        }
+
+        return new TeamSnapshot(version, Collections.unmodifiableMap(teams), spectatorTeam,
+                Collections.unmodifiableMap(playerTeams));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 観戦チームを除くチームを取得します
+     *
+     * @return チーム（読み取り専用）
+     */
+    public Collection<TeamView> getTeams() {
+        return teams.values();
+    }
+
+    /**
+     * 観戦チームを除くチーム名を取得します
+     *
+     * @return チーム名のリスト
+     */
+    public List<String> getTeamNames() {
+        return new ArrayList<>(teams.keySet());
+    }
+
+    /**
+     * チームを名前で取得します
+     *
+     * @param teamName チーム名
+     * @return チーム（存在しない場合はnull）
+     */
+    @Nullable
+    public TeamView getTeam(String teamName) {
+        return teams.get(teamName);
+    }
+
+    @Nullable
+    public TeamView getSpectatorTeam() {
+        return spectatorTeam;
+    }
+
+    /**
+     * オンラインのプレイヤーが所属しているチーム名を取得します
+     *
+     * @param uuid プレイヤーのUUID
+     * @return チーム名（所属していない場合はnull）
+     */
+    @Nullable
+    public String getTeamName(UUID uuid) {
+        return playerTeams.get(uuid);
+    }
+
+    /**
+     * @return スナップショットに含まれるオンラインのプレイヤーの数
+     */
+    public int getPlayerCount() {
+        return playerTeams.size();
+    }
+
+    /**
+     * 2人のプレイヤーが同じチーム（観戦チームを除く）に所属しているかを確認します
+     */
+    public boolean isSameTeam(UUID first, UUID second) {
+        String teamName = playerTeams.get(first);
+        return teamName != null && teams.containsKey(teamName) && teamName.equals(playerTeams.get(second));
+    }
+
+    public boolean isLeader(UUID uuid) {
+        String teamName = playerTeams.get(uuid);
+        TeamView team = teamName != null ? teams.get(teamName) : null;
+        return team != null && team.getLeaders().contains(uuid);
+    }
+
+    /**
+     * スナップショット作成時点の1チーム分の情報
+     */
+    public static final class TeamView {
+        private final String name;
+        private final Component displayName;
+        @Nullable
+        private final TextColor color;
+        private final List<String> entries;
+        private final List<UUID> leaders;
+
+        private TeamView(Team team, List<UUID> leaders) {
+            this.name = team.getName();
+            this.displayName = team.displayName();
+            this.color = readColor(team);
+            this.entries = List.copyOf(team.getEntries());
+            this.leaders = List.copyOf(leaders);
+        }
+
+        @Nullable
+        private static TextColor readColor(Team team) {
+            try {
+                return team.color();
+            } catch (IllegalStateException e) {
+                // 色が設定されていないチーム
+                return null;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Component getDisplayName() {
+            return displayName;
+        }
+
+        @Nullable
+        public TextColor getColor() {
+            return color;
+        }
+
+        /**
+         * @return エントリー名（オフラインのプレイヤーを含む、読み取り専用）
+         */
+        public List<String> getEntries() {
+            return entries;
+        }
+
+        /**
+         * @return リーダーのUUID（選出順、読み取り専用）
+         */
+        public List<UUID> getLeaders() {
+            return leaders;
+        }
+
+        public int getSize() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.karasu256.teamUtils.utils;
+
+import com.karasu256.teamUtils.TeamUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * チームサイズと表示名の更新をティック単位でまとめるキュー
+ * 変更のあったチームに印を付けておき、ティックの終わりに一度だけ反映します
+ * 値が実際に変わったチームだけがスコアボードに書き込まれます
+ */
+public class TeamUpdateQueue {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    private final Supplier<Scoreboard> scoreboardSupplier;
+    private final String sizeObjectiveName;
+    private final Consumer<Team> displayNameUpdater;
+    private final Runnable flushListener;
+
+    // サイズの再計算が必要なチーム名
+    private final Set<String> dirtySizes = new LinkedHashSet<>();
+
+    // 表示名の再計算が必要なチーム名
+    private final Set<String> dirtyDisplayNames = new LinkedHashSet<>();
+
+    private BukkitTask flushTask;
+
+    /**
+     * @param scoreboardSupplier 対象のスコアボード
+     * @param sizeObjectiveName  チームサイズを書き込むオブジェクティブ名
+     * @param displayNameUpdater チームの表示名を更新する処理（値が変わらない場合は書き込まないこと）
+     * @param flushListener      まとめた更新を反映し終えた後に呼び出す処理
+     */
+    public TeamUpdateQueue(Supplier<Scoreboard> scoreboardSupplier, String sizeObjectiveName,
+            Consumer<Team> displayNameUpdater, Runnable flushListener) {
+        this.scoreboardSupplier = scoreboardSupplier;
+        this.sizeObjectiveName = sizeObjectiveName;
+        this.displayNameUpdater = displayNameUpdater;
+        this.flushListener = flushListener;
+    }
+
+    /**
+     * チームのサイズと表示名の両方を更新対象にします
+     *
+     * @param team 変更のあったチーム
+     */
+    public void markDirty(Team team) {
+        if (team == null) {
+            return;
+        }
+        dirtySizes.add(team.getName());
+        dirtyDisplayNames.add(team.getName());
+        scheduleFlush();
+    }
+
+    /**
+     * チームのサイズを更新対象にします
+     *
+     * @param team 変更のあったチーム
+     */
+    public void markSizeDirty(Team team) {
+        if (team == null) {
+            return;
+        }
+        dirtySizes.add(team.getName());
+        scheduleFlush();
+    }
+
+    /**
+     * チームの表示名を更新対象にします
+     *
+     * @param team 変更のあったチーム
+     */
+    public void markDisplayNameDirty(Team team) {
+        if (team == null) {
+            return;
+        }
+        dirtyDisplayNames.add(team.getName());
+        scheduleFlush();
+    }
+
+    /**
+     * スコアボード上の全チームのサイズを更新対象にします
+     */
+    public void markAllSizesDirty() {
+        for (Team team : scoreboardSupplier.get().getTeams()) {
+            dirtySizes.add(team.getName());
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * @return 反映待ちのサイズと表示名の更新の数
+     */
+    public int getPendingCount() {
+        return dirtySizes.size() + dirtyDisplayNames.size();
+    }
+
+    private void scheduleFlush() {
+        if (flushTask != null) {
+            return;
+        }
+
+        TeamUtils plugin = TeamUtils.getPlugin();
+        if (plugin.isEnabled()) {
+            flushTask = Bukkit.getScheduler().runTask(plugin, this::flush);
+        } else {
+            flush();
+        }
+    }
+
+    /**
+     * 更新対象のチームのサイズと表示名をスコアボードへ反映します
+     */
+    public void flush() {
+        flushTask = null;
+        if (dirtySizes.isEmpty() && dirtyDisplayNames.isEmpty()) {
+            return;
+        }
+
+        Scoreboard scoreboard = scoreboardSupplier.get();
+
+        // 反映中に新たな印が付いても取りこぼさないよう、対象を取り出してから処理する
+        List<String> sizeTargets = new ArrayList<>(dirtySizes);
+        List<String> displayNameTargets = new ArrayList<>(dirtyDisplayNames);
+        dirtySizes.clear();
+        dirtyDisplayNames.clear();
+
+        if (!sizeTargets.isEmpty()) {
+            Objective objective = scoreboard.getObjective(sizeObjectiveName);
+            if (objective == null) {
+                LOGGER.info("Failed to update team size. Because the objective is null.");
+            } else {
+                for (String teamName : sizeTargets) {
+                    Team team = scoreboard.getTeam(teamName);
+                    if (team == null) {
+                        continue;
+                    }
+
+                    int size = team.getSize();
+                    Score score = objective.getScore(teamName);
+                    if (!score.isScoreSet() || score.getScore() != size) {
+                        score.setScore(size);
+                    }
+                }
+            }
+        }
+
+        for (String teamName : displayNameTargets) {
+            Team team = scoreboard.getTeam(teamName);
+            if (team != null) {
+                displayNameUpdater.accept(team);
+            }
+        }
+
+        flushListener.run();
+    }
+}
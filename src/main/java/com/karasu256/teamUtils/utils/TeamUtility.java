@@ -1,18 +1,23 @@
 package com.karasu256.teamUtils.utils;
 
 import com.karasu256.teamUtils.TeamUtils;
+import com.karasu256.teamUtils.arena.ArenaRegistry;
 import com.karasu256.teamUtils.config.GameConfig;
 import com.karasu256.teamUtils.exception.TeamUtilityException;
-import net.kyori.adventure.text.format.TextColor;
+import com.karasu256.teamUtils.formation.PlayerRatings;
+import com.karasu256.teamUtils.formation.ShufflePlan;
+import com.karasu256.teamUtils.formation.TeamFormationStrategies;
+import com.karasu256.teamUtils.formation.TeamFormationStrategy;
+import com.karasu256.teamUtils.leader.LeaderElectionStrategies;
+import com.karasu256.teamUtils.leader.LeaderElectionStrategy;
+import com.karasu256.teamUtils.leader.LeaderHistory;
+import com.karasu256.teamUtils.matchmaking.MatchmakingQueue;
+import com.karasu256.teamUtils.party.PartyRegistry;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.scoreboard.Criteria;
-import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.Team;
 
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
 import net.md_5.bungee.api.ChatColor;
 
 import java.util.*;
@@ -26,40 +31,20 @@ import javax.annotation.Nullable;
 
 public class TeamUtility {
     private static final Logger LOGGER = TeamUtils.LOGGER;
-    private static List<Team> teams;
-    private static Team spectatorTeam;
-    private static final String LEADER_OBJECTIVE = "teamLeader";
-    private static final String TEAM_SIZE_OBJECTIVE = "teamSize";
-    private static List<String> lastTeamMembers;
-    private static List<String> lastSpectatorMembers;
-    private static boolean isGameRunning = false;
-    private static final Map<Player, Boolean> teamLeaderMap = new HashMap<>();
-
-    // プレイヤーのチーム状態をキャッシュするマップ
-    private static final Map<UUID, String> playerTeamCache = new HashMap<>();
-
-    // リーダーリスポーン待機関連
-    private static final Map<UUID, Consumer<Player>> respawnCallbacks = new HashMap<>();
-    private static final Map<UUID, Team> deadLeaders = new HashMap<>();
-
-    // ゲームモード待機関連
-    private static final Map<UUID, Consumer<Player>> gameModeCallbacks = new HashMap<>();
-    private static final Map<UUID, org.bukkit.GameMode> targetGameModes = new HashMap<>();
 
-    private static Scoreboard getScoreboard() {
-        return Bukkit.getScoreboardManager().getMainScoreboard();
-    }
+    // メインスコアボードのチーム（アリーナに参加しているプレイヤーはアリーナ側で扱う）
+    private static final ScoreboardTeams mainTeams = new ScoreboardTeams("main scoreboard",
+            TeamUtility::getScoreboard, player -> !ArenaRegistry.isInArena(player));
 
-    @Nullable
-    private static Objective getObjective(String name) {
-        return getScoreboard().getObjective(name);
-    }
+    // リーダーリスポーン待機（条件にはリスポーンしたプレイヤーが渡される）
+    private static final PlayerAwaitRegistry<Player> respawnWaiters = new PlayerAwaitRegistry<>("respawn");
 
-    private static void getOrCreateObjective(String name, Component displayName) {
-        Objective objective = getObjective(name);
-        if (objective == null) {
-            getScoreboard().registerNewObjective(name, Criteria.DUMMY, displayName);
-        }
+    // ゲームモード変更待機（条件には変更後のゲームモードが渡される）
+    private static final PlayerAwaitRegistry<org.bukkit.GameMode> gameModeWaiters = new PlayerAwaitRegistry<>(
+            "gamemode");
+
+    private static Scoreboard getScoreboard() {
+        return Bukkit.getScoreboardManager().getMainScoreboard();
     }
 
     public static void reloadIsGameRunning() {
@@ -70,51 +55,35 @@ public class TeamUtility {
      * チームのキャッシュをリロードします
      */
     public static void reloadTeamCache() {
-        teams = getScoreboard().getTeams().stream()
-                .filter(team -> !team.getName().equals("spectator"))
-                .toList();
-
-        spectatorTeam = getScoreboard().getTeam("spectator");
-        if (spectatorTeam == null) {
-            spectatorTeam = getScoreboard().registerNewTeam("spectator");
-            spectatorTeam.displayName(Component.text("観戦"));
-            spectatorTeam.color(NamedTextColor.GRAY);
-        }
-
-        teams.forEach(team -> {
-            team.color(ColorUtils.getRandomNamedTextColor());
-            updateTeamDisplayName(team);
-        });
-
-        updatePlayerTeamCache();
+        mainTeams.reloadTeamCache();
     }
 
     /**
-     * プレイヤーのチーム所属状態をキャッシュに更新します
+     * チームのキャッシュが未初期化の場合は初期化し、
+     * スコアボードが外部から変更されている場合のみチーム一覧と所属インデックスを再同期します
+     * 色や表示名は変更しません
      */
-    private static void updatePlayerTeamCache() {
-        // キャッシュをクリア
-        playerTeamCache.clear();
-
-        // 全オンラインプレイヤーのチーム情報をキャッシュに追加
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            Team team = getScoreboard().getEntryTeam(player.getName());
-            if (team != null) {
-                playerTeamCache.put(player.getUniqueId(), team.getName());
-            }
-        }
+    public static void refreshTeamCacheIfNeeded() {
+        mainTeams.refreshIfNeeded();
+    }
 
-        // オフラインのエントリも処理
-        getScoreboard().getTeams().forEach(team -> {
-            team.getEntries().forEach(entry -> {
-                Player player = Bukkit.getPlayer(entry);
-                if (player != null) {
-                    playerTeamCache.put(player.getUniqueId(), team.getName());
-                }
-            });
-        });
+    /**
+     * 最後に公開されたチーム状態のスナップショットを取得します
+     * 任意のスレッドから呼び出せますが、最新のティックの変更は反映されていない場合があります
+     *
+     * @return チーム状態のスナップショット
+     */
+    public static TeamSnapshot getSnapshot() {
+        return mainTeams.getSnapshot();
+    }
 
-        LOGGER.info("Updated team cache: " + playerTeamCache.size() + "entries");
+    /**
+     * サーバーに参加したプレイヤーをチーム所属インデックスに反映します
+     *
+     * @param player 参加したプレイヤー
+     */
+    public static void handlePlayerJoin(Player player) {
+        mainTeams.handlePlayerJoin(player);
     }
 
     /**
@@ -124,172 +93,56 @@ public class TeamUtility {
      * @return チーム名、所属していない場合はnull
      */
     public static String getCachedPlayerTeam(Player player) {
-        if (player == null) {
-            return null;
-        }
-        return playerTeamCache.get(player.getUniqueId());
+        return player != null ? mainTeams.getCachedTeamName(player.getUniqueId()) : null;
     }
 
     /**
      * チーム初期化時の処理を行います
      */
     public static void initialize() {
-        reloadTeamCache();
-
-        // 各チームにランダムな色を設定し、色と名前を合わせる
-        teams.forEach(team -> {
-            team.color(ColorUtils.getRandomNamedTextColor());
-            updateTeamDisplayName(team);
-        });
-
-        // スコアボード初期化
-        getOrCreateObjective(LEADER_OBJECTIVE, Component.text("チームリーダー"));
-        getOrCreateObjective(TEAM_SIZE_OBJECTIVE, Component.text("チームサイズ"));
-        lastTeamMembers = new ArrayList<>();
-        lastSpectatorMembers = new ArrayList<>();
-        updateLastTeamState();
-
+        mainTeams.initialize();
         reloadIsGameRunning();
     }
 
     /**
-     * チームの表示名を更新します
-     * チームリーダーがいる場合はリーダーの名前に、いない場合は色に基づいた名前にします
-     * 
-     * @param team 更新するチーム
+     * ゲーム中のチーム状態を確認し、必要な更新を予約します
+     * オフラインになったことが分かっているエントリーだけをチームから外し、
+     * チームごとのバージョンを比較して所属が変わったチームのサイズだけを更新対象にします
      */
-    private static void updateTeamDisplayName(Team team) {
-        if (team == null || team == spectatorTeam) {
-            return;
-        }
-
-        // チームリーダーを探す
-        List<Player> leaders = team.getEntries().stream()
-                .map(Bukkit::getPlayer)
-                .filter(player -> player != null && player.isOnline() && isTeamLeader(player))
-                .toList();
-        if (!leaders.isEmpty()) {
-            // リーダーがいる場合は、リーダーの名前を表示名に設定
-            team.displayName(Component.text(leaders.getFirst().getName()));
-        } else {
-            // リーダーがいない場合は、チームの色に基づいた名前を設定
-            var color = team.color();
-            if (color != null) {
-                team.displayName(Component.text(team.color().examinableName()));
-            } else {
-                LOGGER.info("A team color was null. While setting team display name.");
-            }
-        }
-        try {
-            ChatColor teamColor = textColorToChatColor(team.color());
-            TextColor color = ColorUtils.convert(teamColor);
-            team.displayName().color(color);
-        } catch (IllegalStateException e) {
-            LOGGER.warning("Could not set the team(" + team.getName() + ") color.Is the team color modified?");
-        }
-    }
-
-    private static void updateLastTeamState() {
-        lastTeamMembers = teams.stream()
-                .flatMap(team -> team.getEntries().stream())
-                .toList();
-        lastSpectatorMembers = new ArrayList<>(spectatorTeam.getEntries());
-    }
-
     public static void update() {
         if (!isGameRunning())
             return;
 
-        boolean needsUpdate = false;
-
-        // オフラインプレイヤーの確認と処理
-        for (Team team : teams) {
-            for (String entry : new ArrayList<>(team.getEntries())) {
-                Player player = Bukkit.getPlayer(entry);
-                if (player == null || !player.isOnline()) {
-                    handlePlayerQuit(player);
-                    needsUpdate = true;
-                }
-            }
-        }
-
-        // チームメンバーの変更検知
-        List<String> currentTeamMembers = teams.stream()
-                .flatMap(team -> team.getEntries().stream())
-                .toList();
-        List<String> currentSpectatorMembers = new ArrayList<>(spectatorTeam.getEntries());
-
-        if (!currentTeamMembers.equals(lastTeamMembers) ||
-                !currentSpectatorMembers.equals(lastSpectatorMembers)) {
-            needsUpdate = true;
-        }
-
-        // 変更があった場合のみ更新処理を実行
-        if (needsUpdate) {
-            updateTeamSize();
-            updateLastTeamState();
-        }
-    }
-
-    public static void updateTeamSize() {
-        var objective = getObjective(TEAM_SIZE_OBJECTIVE);
-
-        if (objective == null) {
-            LOGGER.info("Failed to update team size. Because the objective is null.");
-            return;
-        }
-
-        // 各チームのサイズを計算して設定
-        teams.forEach(team -> {
-            int size = team.getEntries().size();
-            objective.getScore(team.getName()).setScore(size);
-        });
-
-        // 観戦チームのサイズを設定
-        objective.getScore(spectatorTeam.getName()).setScore(spectatorTeam.getEntries().size());
+        mainTeams.update();
     }
 
     /**
-     * チームに所属する全プレイヤー（観戦者を除く）に対して処理を実行します
-     * 
-     * @param consumer プレイヤーに対して実行する処理
+     * チームの人数の差が設定の閾値（{@link GameConfig#rebalanceThreshold}）を超えている場合、
+     * 最近加わったプレイヤーから順に最小限の人数を人数の少ないチームへ移動します
+     * 移動先の人数は{@link GameConfig#maxTeamMembers}を超えません
+     * 偏りがない場合の確認はチーム数に比例した時間で終わります
+     *
+     * @return 移動したプレイヤーの数
      */
-    public static void forEachTeamPlayer(Consumer<Player> consumer) {
-        if (teams == null) {
-            initialize();
-        } else {
-            reloadTeamCache();
-        }
-
-        getValidTeamPlayers().forEach(consumer);
+    public static int rebalanceIfNeeded() {
+        return mainTeams.rebalanceIfNeeded();
     }
 
     /**
-     * チームに所属している有効なプレイヤー（オンラインで観戦者でない）のStreamを返します
-     * 
-     * @return 有効なチームプレイヤーのStream
+     * 全チーム（観戦チームを含む）のサイズを更新対象にします
+     * 実際の書き込みはティックの終わりにまとめて行われ、値が変わったチームのみ反映されます
      */
-    private static Stream<Player> getValidTeamPlayers() {
-        return Bukkit.getOnlinePlayers().stream()
-                .filter(player -> player.isOnline() && !spectatorTeam.hasEntry(player.getName()) &&
-                        teams.stream().anyMatch(team -> team.hasEntry(player.getName())))
-                .map(player -> player);
+    public static void updateTeamSize() {
+        mainTeams.markAllSizesDirty();
     }
 
     /**
-     * 特定のチームに所属する有効なプレイヤー（オンラインで観戦者でない）のStreamを返します
+     * チームに所属する全プレイヤー（観戦者を除く）に対して処理を実行します
      * 
-     * @param team 対象チーム
-     * @return 有効なチームプレイヤーのStream
+     * @param consumer プレイヤーに対して実行する処理
      */
-    private static Stream<Player> getValidTeamPlayers(Team team) {
-        if (team == null || team == spectatorTeam) {
-            return Stream.empty();
-        }
-
-        return team.getEntries().stream()
-                .map(Bukkit::getPlayer)
-                .filter(player -> player != null && player.isOnline() && !spectatorTeam.hasEntry(player.getName()));
+    public static void forEachTeamPlayer(Consumer<Player> consumer) {
+        mainTeams.forEachTeamPlayer(consumer);
     }
 
     /**
@@ -299,13 +152,13 @@ public class TeamUtility {
      * @param consumer プレイヤーに対して実行する処理
      */
     public static void forEachTeamPlayer(String teamName, Consumer<Player> consumer) {
-        reloadTeamCache();
-        Team team = getScoreboard().getTeam(teamName);
-        if (team == null || team == spectatorTeam) {
+        refreshTeamCacheIfNeeded();
+        Team team = getValidTeam(teamName);
+        if (team == null) {
             return;
         }
 
-        getValidTeamPlayers(team).forEach(consumer);
+        mainTeams.forEachTeamPlayer(team, consumer);
     }
 
     /**
@@ -314,10 +167,7 @@ public class TeamUtility {
      * @return チームリーダーのStream
      */
     private static Stream<Player> getTeamLeadersStream() {
-        return teams.stream()
-                .flatMap(team -> team.getEntries().stream())
-                .map(Bukkit::getPlayer)
-                .filter(player -> player != null && player.isOnline() && isTeamLeader(player));
+        return mainTeams.getTeamLeadersStream();
     }
 
     /**
@@ -327,13 +177,7 @@ public class TeamUtility {
      * @return チームリーダーのStream
      */
     private static Stream<Player> getTeamLeadersStream(Team team) {
-        if (team == null || team == spectatorTeam) {
-            return Stream.empty();
-        }
-
-        return team.getEntries().stream()
-                .map(Bukkit::getPlayer)
-                .filter(player -> player != null && player.isOnline() && isTeamLeader(player));
+        return mainTeams.getTeamLeadersStream(team);
     }
 
     /**
@@ -342,11 +186,7 @@ public class TeamUtility {
      * @param consumer リーダーに対して実行する処理
      */
     public static void forEachTeamLeader(Consumer<Player> consumer) {
-        if (teams == null) {
-            initialize();
-        } else {
-            reloadTeamCache();
-        }
+        refreshTeamCacheIfNeeded();
 
         getTeamLeadersStream().forEach(consumer);
     }
@@ -357,13 +197,9 @@ public class TeamUtility {
      * @param biConsumer リーダーとそのチームに対して実行する処理
      */
     public static void forEachTeamLeader(BiConsumer<Player, Team> biConsumer) {
-        if (teams == null) {
-            initialize();
-        } else {
-            reloadTeamCache();
-        }
+        refreshTeamCacheIfNeeded();
 
-        teams.forEach(team -> {
+        mainTeams.getTeams().forEach(team -> {
             getTeamLeadersStream(team).forEach(player -> biConsumer.accept(player, team));
         });
     }
@@ -375,9 +211,9 @@ public class TeamUtility {
      * @param consumer リーダーに対して実行する処理
      */
     public static void forEachTeamLeader(String teamName, Consumer<Player> consumer) {
-        reloadTeamCache();
+        refreshTeamCacheIfNeeded();
         Team team = getScoreboard().getTeam(teamName);
-        if (team == null || team == spectatorTeam) {
+        if (team == null || team == mainTeams.getSpectatorTeam()) {
             return;
         }
 
@@ -391,9 +227,9 @@ public class TeamUtility {
      * @param biConsumer リーダーとそのチームに対して実行する処理
      */
     public static void forEachTeamLeader(String teamName, BiConsumer<Player, Team> biConsumer) {
-        reloadTeamCache();
+        refreshTeamCacheIfNeeded();
         Team team = getScoreboard().getTeam(teamName);
-        if (team == null || team == spectatorTeam) {
+        if (team == null || team == mainTeams.getSpectatorTeam()) {
             return;
         }
 
@@ -407,7 +243,7 @@ public class TeamUtility {
      * @return 有効なチームの場合true、観戦者チームまたはnullの場合false
      */
     private static boolean isValidTeam(Team team) {
-        return team != null && team != spectatorTeam;
+        return team != null && team != mainTeams.getSpectatorTeam();
     }
 
     /**
@@ -428,7 +264,7 @@ public class TeamUtility {
      * @return リーダーのリスト（チームが存在しない場合は空のリスト）
      */
     public static List<Player> getTeamLeaders(String teamName) {
-        reloadTeamCache();
+        refreshTeamCacheIfNeeded();
         Team team = getValidTeam(teamName);
         if (team == null) {
             return new ArrayList<>();
@@ -443,19 +279,12 @@ public class TeamUtility {
      * @return 全チームのリーダー情報を含む文字列
      */
     public static String getAllTeamLeadersInfo() {
-        if (teams == null) {
-            initialize();
-        } else {
-            reloadTeamCache();
-        }
+        refreshTeamCacheIfNeeded();
 
         StringBuilder info = new StringBuilder("チームリーダー情報:\n");
 
-        for (Team team : teams) {
-            List<Player> leaders = team.getEntries().stream()
-                    .map(Bukkit::getPlayer)
-                    .filter(player -> player != null && player.isOnline() && isTeamLeader(player))
-                    .toList();
+        for (Team team : mainTeams.getTeams()) {
+            List<Player> leaders = getTeamLeadersStream(team).toList();
 
             String teamName = team.getName();
             ChatColor teamColor = textColorToChatColor(team.color());
@@ -508,7 +337,7 @@ public class TeamUtility {
      * @param color 変換するTextColor
      * @return 対応するChatColor
      */
-    private static ChatColor textColorToChatColor(net.kyori.adventure.text.format.TextColor color) {
+    static ChatColor textColorToChatColor(net.kyori.adventure.text.format.TextColor color) {
         if (color == null)
             return ChatColor.WHITE;
 
@@ -540,197 +369,159 @@ public class TeamUtility {
         };
     }
 
+    /**
+     * 設定されている振り分け方法でチームを再編成します
+     *
+     * @param maxMember   1チームの最大人数（0以下の場合は設定の最大人数）
+     * @param teamLeaders 1チームあたりのリーダー数
+     */
     public static void shuffle(int maxMember, int teamLeaders) {
-        // スコアボードの取得
-        Scoreboard scoreboard = Bukkit.getScoreboardManager().getMainScoreboard();
-
-        // チームの初期化またはキャッシュ更新
-        if (teams == null || teams.isEmpty()) {
-            initialize();
-        } else {
-            reloadTeamCache();
-        }
-
-        // スペクテイターチーム以外のチームを削除
-        for (Team team : new ArrayList<>(scoreboard.getTeams())) {
-            if (!team.equals(spectatorTeam)) {
-                team.unregister();
-                try {
-                    teams.remove(team);
-                } catch (Exception ignored) {
-
-                }
-            }
-        }
-
-        try {
-            if (teams != null) {
-                teams.clear();
-            }
-        } catch (Exception e) {
-            teams = new ArrayList<>();
-        }
-
-        // スコアボードオブジェクティブの用意
-        getOrCreateObjective(LEADER_OBJECTIVE, Component.text("チームリーダー"));
-        getOrCreateObjective(TEAM_SIZE_OBJECTIVE, Component.text("チームサイズ"));
-
-        // プレイヤー収集 & シャッフル
-        List<Player> players = new ArrayList<>(Bukkit.getOnlinePlayers());
-        players.removeIf(player -> spectatorTeam.hasEntry(player.getName()));
-        Collections.shuffle(players);
-
-        if (players.isEmpty()) {
-            LOGGER.warning("No players available for team shuffle");
-            return;
-        }
-
-        int playerCount = players.size();
-        int requiredTeams = (maxMember == 1) ? playerCount
-                : Math.max(1, (int) Math.ceil((double) playerCount / maxMember));
-
-        // プレイヤーをチームごとに分割
-        int basePlayersPerTeam = (maxMember == 1) ? 1 : playerCount / requiredTeams;
-        int remainingPlayers = (maxMember == 1) ? 0 : playerCount % requiredTeams;
-
-        int currentIndex = 0;
-        for (int i = 0; i < requiredTeams; i++) {
-            int teamSize = basePlayersPerTeam + (i < remainingPlayers ? 1 : 0);
-            List<Player> teamPlayers = new ArrayList<>();
-
-            for (int j = 0; j < teamSize && currentIndex < players.size(); j++) {
-                teamPlayers.add(players.get(currentIndex));
-                currentIndex++;
-            }
-
-            if (teamPlayers.isEmpty())
-                continue;
-
-            // チーム名の決定（ランダムなプレイヤー名を小文字化）
-            Player representative = teamPlayers.get(new Random().nextInt(teamPlayers.size()));
-            String teamName = "team_" + representative.getName().toLowerCase();
+        shuffle(maxMember, teamLeaders,
+                TeamFormationStrategies.getOrDefault(TeamUtils.GAME_CONFIG.formationStrategy));
+    }
 
-            Team newTeam = scoreboard.registerNewTeam(teamName);
-            teams.add(newTeam);
+    /**
+     * 指定した振り分け方法で、新しいシードを使ってチームを再編成します
+     *
+     * @param maxMember   1チームの最大人数（0以下の場合は設定の最大人数）
+     * @param teamLeaders 1チームあたりのリーダー数
+     * @param strategy    振り分け方法
+     */
+    public static void shuffle(int maxMember, int teamLeaders, TeamFormationStrategy strategy) {
+        shuffle(maxMember, teamLeaders, strategy, GameRandom.newSeed());
+    }
 
-            // カラーをランダムに設定
-            newTeam.color(ColorUtils.getRandomNamedTextColor());
+    /**
+     * 指定した振り分け方法とシードでチームを再編成します
+     * 計画と反映をこの呼び出しの中ですべて行います
+     * 人数が多い場合は{@link #shuffleAsync(int, int, TeamFormationStrategy, Long, BiConsumer, Consumer)}を使ってください
+     *
+     * @param maxMember   1チームの最大人数（0以下の場合は設定の最大人数）
+     * @param teamLeaders 1チームあたりのリーダー数
+     * @param strategy    振り分け方法
+     * @param seed        試合の乱数のシード（同じシードと同じプレイヤーなら同じチーム分けになります）
+     */
+    public static void shuffle(int maxMember, int teamLeaders, TeamFormationStrategy strategy, long seed) {
+        mainTeams.shuffle(maxMember, teamLeaders, strategy, seed);
+    }
 
-            // チームにメンバー追加
-            for (Player member : teamPlayers) {
-                newTeam.addEntry(member.getName());
-            }
+    /**
+     * 指定した振り分け方法でチームを再編成します
+     * 計画はメインスレッド以外で作成し、スコアボードへの反映は1ティックあたりの時間の上限
+     * （{@link GameConfig#shuffleTickBudgetMillis}）を守りながら複数のティックに分けて行います
+     * 反映中に再度呼び出された場合、前の再編成は中止されます
+     * メインスレッドから呼び出してください
+     *
+     * @param maxMember   1チームの最大人数（0以下の場合は設定の最大人数）
+     * @param teamLeaders 1チームあたりのリーダー数
+     * @param strategy    振り分け方法
+     * @param seed        試合の乱数のシード（nullの場合は新しく生成します）
+     * @param onProgress  反映の進捗（完了した処理の数、全体の数）を受け取る処理（不要な場合はnull）
+     * @param onComplete  反映が完了した時に呼び出す処理（不要な場合はnull、対象のプレイヤーがいない場合は呼び出されません）
+     * @return 計画と反映を開始した場合true（対象のプレイヤーがいない場合はfalse）
+     */
+    public static boolean shuffleAsync(int maxMember, int teamLeaders, TeamFormationStrategy strategy,
+            @Nullable Long seed, @Nullable BiConsumer<Integer, Integer> onProgress,
+            @Nullable Consumer<ShufflePlan> onComplete) {
+        return mainTeams.shuffleAsync(maxMember, teamLeaders, strategy, seed, onProgress, onComplete);
+    }
 
-            // リーダーの選出
-            if (teamLeaders > 0) {
-                getRandomTeamLeaders(newTeam, teamLeaders);
-            } else {
-                newTeam.getEntries().forEach(entry -> {
-                    Player player = Bukkit.getPlayer(entry);
-                    if (player != null && player.isOnline()) {
-                        var objective = getObjective(LEADER_OBJECTIVE);
-
-                        if (objective == null) {
-                            LOGGER.info("Failed to update team size while newTeam.getEntries().. Because the objective is null.");
-                            return;
-                        }
-
-                        objective.getScore(player.getName()).setScore(0);
-                    }
-                });
-            }
+    /**
+     * @return チームの再編成を計画中または反映中の場合true
+     */
+    public static boolean isShuffleInProgress() {
+        return mainTeams.isShuffleInProgress();
+    }
 
-            updateTeamDisplayName(newTeam);
-        }
+    /**
+     * 計画中または反映中のチームの再編成を中止します
+     * 反映済みの変更はそのまま残ります
+     */
+    public static void cancelActiveShuffle() {
+        mainTeams.cancelActiveShuffle();
+    }
 
-        updateTeamSize();
-        LOGGER.info("Completed team shuffle with " + requiredTeams + " teams and " + playerCount + " players");
+    /**
+     * 試合の乱数を取得します
+     * チーム分け、リーダーの選出、チームの色はすべてこの乱数から決まります
+     *
+     * @return 試合の乱数
+     */
+    public static GameRandom getGameRandom() {
+        return mainTeams.getGameRandom();
     }
 
     public static void shuffle(int maxMember) {
         shuffle(maxMember, 0);
     }
 
+    /**
+     * 設定されている選出方法でチームのリーダーを1人選出します
+     * リーダーの状態はUUIDで管理される{@link LeaderRegistry}にのみ保持されます
+     *
+     * @param team 対象のチーム
+     * @return 選出されたリーダー（候補がいない場合はnull）
+     */
     public static Player getRandomTeamLeader(Team team) {
         List<Player> leaders = getRandomTeamLeaders(team, 1);
-        var leader = leaders.isEmpty() ? null : leaders.getFirst();
-
-        for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-            if (leader == onlinePlayer) {
-                teamLeaderMap.put(leader, true);
-            } else {
-                teamLeaderMap.put(leader, false);
-            }
-        }
-
-        return leader;
+        return leaders.isEmpty() ? null : leaders.getFirst();
     }
 
+    /**
+     * 設定されている選出方法（{@link GameConfig#leaderElectionStrategy}）でチームのリーダーを選出します
+     *
+     * @param team    対象のチーム
+     * @param leaders 選出する人数
+     * @return 選出されたリーダー
+     */
     public static List<Player> getRandomTeamLeaders(Team team, int leaders) {
-        if (leaders > 2) {
-            LOGGER.warning("Team leaders size must 0 or 1 or 2.");
-
-            return new ArrayList<>();
-        }
-
-        teamLeaderMap.clear();
-
-        try {
-            List<Player> teamPlayers = new ArrayList<>(team.getEntries().stream()
-                    .map(Bukkit::getPlayer)
-                    .filter(player -> player != null && player.isOnline())
-                    .toList());
-
-            if (teamPlayers.isEmpty() || leaders <= 0 || leaders > teamPlayers.size()) {
-                return new ArrayList<>();
-            }
-
-            // 全プレイヤーのリーダーフラグをリセット
-            teamPlayers.forEach(player -> getObjective(LEADER_OBJECTIVE).getScore(player.getName()).setScore(0));
+        return electTeamLeaders(team, leaders, getLeaderElectionStrategy());
+    }
 
-            List<Player> selectedLeaders = new ArrayList<>();
-            for (int i = 0; i < Math.min(leaders, teamPlayers.size()); i++) {
-                int randomIndex = (int) (Math.random() * teamPlayers.size());
-                Player leader = teamPlayers.remove(randomIndex);
-                selectedLeaders.add(leader);
-                LOGGER.info("Setting team " + team.getName() + " leader: " + leader.getName());
-                getObjective(LEADER_OBJECTIVE).getScore(leader.getName()).setScore(1);
-            }
+    /**
+     * 指定した選出方法でチームのリーダーを選び直します
+     * 候補はチームのオンラインメンバーだけで、サーバー全体のプレイヤーは走査しません
+     * 現在のリーダーは解除され、選ばれたリーダーは履歴に記録されます
+     *
+     * @param team     対象のチーム
+     * @param leaders  選出する人数（メンバーより多い場合は全員）
+     * @param strategy 選出方法
+     * @return 選出されたリーダー
+     */
+    public static List<Player> electTeamLeaders(Team team, int leaders, LeaderElectionStrategy strategy) {
+        return mainTeams.electTeamLeaders(team, leaders, strategy);
+    }
 
-            // チームのリーダーが設定されたので表示名を更新
-            if (!selectedLeaders.isEmpty()) {
-                updateTeamDisplayName(team);
-            }
+    /**
+     * @return 設定されているリーダーの選出方法
+     */
+    public static LeaderElectionStrategy getLeaderElectionStrategy() {
+        return LeaderElectionStrategies.getOrDefault(TeamUtils.GAME_CONFIG.leaderElectionStrategy);
+    }
 
-            return selectedLeaders;
-        } catch (TeamUtilityException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new TeamUtilityException("チームリーダーの設定中にエラーが発生しました: " + e.getMessage());
-        }
+    /**
+     * リーダーを務めた履歴を取得します
+     *
+     * @return リーダーの履歴
+     */
+    public static LeaderHistory getLeaderHistory() {
+        return mainTeams.getLeaderHistory();
     }
 
     public static boolean isTeamLeader(Player player) {
-        return getObjective(LEADER_OBJECTIVE).getScore(player.getName()).getScore() == 1;
+        return mainTeams.isTeamLeader(player);
     }
 
     public static boolean isSameTeam(Player player1, Player player2) {
-        if (player1 == null || player2 == null) {
-            return false;
-        }
-
-        Team team1 = TeamUtility.getTeamByName(player1.getName());
-        Team team2 = TeamUtility.getTeamByName(player2.getName());
-
-        return team1 != null && team1.equals(team2);
+        return mainTeams.isSameTeam(player1, player2);
     }
 
     public static boolean isSpectator(Player player) {
-        return spectatorTeam.hasEntry(player.getName());
+        return mainTeams.getSpectatorTeam().hasEntry(player.getName());
     }
 
     public static Team getSpectatorTeam() {
-        return spectatorTeam;
+        return mainTeams.getSpectatorTeam();
     }
 
     public static String getTeamInfo(String teamName) {
@@ -738,24 +529,47 @@ public class TeamUtility {
         if (team == null)
             return "";
 
-        List<Player> leaders = team.getEntries().stream()
-                .map(Bukkit::getPlayer)
-                .filter(player -> player != null && player.isOnline() && isTeamLeader(player))
-                .toList();
+        List<Player> leaders = getTeamLeadersStream(team).toList();
 
-        int teamSize = getObjective(TEAM_SIZE_OBJECTIVE).getScore(teamName).getScore();
+        int teamSize = mainTeams.getTeamSize(teamName);
 
         if (leaders.isEmpty()) {
             return String.format("%sのリーダーは設定されていません。チームの人数は%dです", teamName, teamSize);
         }
 
-        if (leaders.size() == 1) {
-            return String.format("%sのリーダーは%sです。チームの人数は%dです",
-                    teamName, leaders.getFirst().getName(), teamSize);
-        }
+        String leaderNames = leaders.stream().map(Player::getName).collect(Collectors.joining("と"));
+        return String.format("%sのリーダーは%sです。チームの人数は%dです", teamName, leaderNames, teamSize);
+    }
 
-        return String.format("%sのリーダーは%sと%sです。チームの人数は%dです",
-                teamName, leaders.get(0).getName(), leaders.get(1).getName(), teamSize);
+    /**
+     * 内部で保持しているプレイヤーごとの状態の件数を取得します
+     * 再接続が多い環境でも件数が増え続けていないかを確認するためのデバッグ用です
+     *
+     * @return 項目名 -> 件数
+     */
+    public static Map<String, Integer> getDebugStats() {
+        Map<String, Integer> stats = new LinkedHashMap<>();
+        mainTeams.putDebugStats(stats);
+        stats.put("respawnWaiters", respawnWaiters.size());
+        stats.put("gameModeWaiters", gameModeWaiters.size());
+        stats.put("playerIndex.players", PlayerIndex.size());
+        stats.put("arenas", ArenaRegistry.getArenas().size());
+        stats.put("arenas.players", ArenaRegistry.getPlayerCount());
+        stats.put("playerRatings", PlayerRatings.size());
+        stats.put("parties", PartyRegistry.size());
+        stats.put("matchmaking.queued", MatchmakingQueue.size());
+        stats.put("matchmaking.matches", MatchmakingQueue.getMatchCount());
+        stats.put("spawnPool.points", SpawnPointPool.size());
+        stats.put("spawnPool.pending", SpawnPointPool.getPendingCount());
+        return stats;
+    }
+
+    /**
+     * 保留中のスコアボードへの書き込みを即座に反映します
+     * プラグインの無効化時など、次のティックを待てない場合に呼び出してください
+     */
+    public static void flushPendingUpdates() {
+        mainTeams.flush();
     }
 
     /**
@@ -785,98 +599,61 @@ public class TeamUtility {
      * @param player 退出したプレイヤー
      */
     public static void handlePlayerQuit(Player player) {
-        if (!isGameRunning())
-            return;
-
-        String playerName = player.getName();
-        Team playerTeam = getScoreboard().getEntryTeam(playerName);
-        if (playerTeam == null || playerTeam == spectatorTeam)
-            return;
-
-        // プレイヤーがチームリーダーだった場合
-        boolean wasLeader = isTeamLeader(player);
-
-        // チームからプレイヤーを削除
-        playerTeam.removeEntry(playerName);
-
-        // キャッシュからも削除
-        playerTeamCache.remove(player.getUniqueId());
-
-        // チームサイズが0になった場合はチームを削除対象としてマーク
-        if (playerTeam.getEntries().isEmpty()) {
-            LOGGER.info(String.format("Team %s is now empty", playerTeam.getName()));
-            // 空のチームを削除する代わりに、チームをリセットしてキープ
-            handleEmptyTeam(playerTeam);
+        if (player == null)
             return;
-        }
 
-        // リーダーが抜けた場合は新しいリーダーを選出
-        if (wasLeader) {
-            LOGGER.info(String.format("Team leader of %s has left, selecting a new leader", playerTeam.getName()));
-            getRandomTeamLeader(playerTeam);
-            // チーム表示名を更新（getRandomTeamLeader内でも行われるが念のため）
-            updateTeamDisplayName(playerTeam);
-        }
-
-        // チームサイズを更新
-        updateTeamSize();
+        // ゲーム外ではエントリーを残したままオンラインメンバーからのみ外す
+        mainTeams.handlePlayerQuit(player, isGameRunning());
     }
 
     /**
-     * 空になったチームを処理します
-     * 
-     * @param team 空のチーム
+     * 設定されている待機の最大ティック数を取得します
+     *
+     * @return 最大ティック数（0の場合は無制限）
      */
-    private static void handleEmptyTeam(Team team) {
-        if (team == null || team == spectatorTeam) {
-            return;
-        }
-
-        // チームリーダースコアをリセット
-        Objective leaderObjective = getObjective(LEADER_OBJECTIVE);
-        if (leaderObjective != null) {
-            leaderObjective.getScore(team.getName()).setScore(0);
-        }
-
-        // チームサイズをリセット
-        Objective sizeObjective = getObjective(TEAM_SIZE_OBJECTIVE);
-        if (sizeObjective != null) {
-            sizeObjective.getScore(team.getName()).setScore(0);
-        }
-
-        // チームカラーをリセット（オプション）
-        team.color(NamedTextColor.WHITE);
-
-        // チーム表示名を更新
-        updateTeamDisplayName(team);
-
-        // 変更を反映するためにチームリストを更新
-        reloadTeamCache();
-        updateTeamSize();
+    private static long getAwaitTimeoutTicks() {
+        int seconds = TeamUtils.GAME_CONFIG.awaitTimeoutSeconds;
+        return seconds > 0 ? TimerUtils.secondsToTicks(seconds) : 0;
     }
 
     /**
      * チームリーダーが死亡した際に呼び出され、リスポーン時の処理を設定します
+     * 待機は設定の最大秒数を過ぎると破棄されます
      * 
      * @param player   死亡したチームリーダー
      * @param callback リスポーン時に実行するコールバック
      * @return 待機設定に成功した場合はtrue
      */
     public static boolean waitForTeamLeaderRespawn(Player player, Consumer<Player> callback) {
+        return waitForTeamLeaderRespawn(player, callback, getAwaitTimeoutTicks(), null);
+    }
+
+    /**
+     * チームリーダーが死亡した際に呼び出され、リスポーン時の処理を設定します
+     * リスポーン時にまだ同じチームのリーダーである場合のみコールバックが実行されます
+     * 
+     * @param player       死亡したチームリーダー
+     * @param callback     リスポーン時に実行するコールバック
+     * @param timeoutTicks 待機する最大ティック数（0以下の場合は無制限）
+     * @param onTimeout    タイムアウトした時に実行する処理（不要な場合はnull）
+     * @return 待機設定に成功した場合はtrue
+     */
+    public static boolean waitForTeamLeaderRespawn(Player player, Consumer<Player> callback, long timeoutTicks,
+            @Nullable Runnable onTimeout) {
         if (player == null || !isTeamLeader(player)) {
             return false;
         }
 
         Team team = getScoreboard().getEntryTeam(player.getName());
-        if (team == null || team == spectatorTeam) {
+        if (team == null || team == mainTeams.getSpectatorTeam()) {
             return false;
         }
 
-        UUID playerUuid = player.getUniqueId();
-        respawnCallbacks.put(playerUuid, callback);
-        deadLeaders.put(playerUuid, team);
+        respawnWaiters.await(player.getUniqueId(),
+                respawned -> isTeamLeader(respawned) && team.hasEntry(respawned.getName()),
+                callback, timeoutTicks, onTimeout);
 
-        LOGGER.info(String.format("Waiting for team leader %s to respawn", player.getName()));
+        LOGGER.info("Waiting for team leader " + player.getName() + " to respawn");
         return true;
     }
 
@@ -886,55 +663,34 @@ public class TeamUtility {
      * @param player 死亡したプレイヤー
      */
     public static void handlePlayerDeath(Player player) {
-        if (!isGameRunning || player == null) {
+        if (!isGameRunning() || player == null) {
             return;
         }
 
-        // チームリーダーであれば記録
         if (isTeamLeader(player)) {
-            Team team = getScoreboard().getEntryTeam(player.getName());
-            if (team != null && team != spectatorTeam) {
-                deadLeaders.put(player.getUniqueId(), team);
-                LOGGER.info(String.format("Team leader %s has died", player.getName()));
-            }
+            LOGGER.info("Team leader " + player.getName() + " has died");
         }
     }
 
     /**
      * プレイヤーがリスポーンした時の処理を行います
+     * 条件を満たしたリスポーン待機のコールバックを実行します
      * 
      * @param player リスポーンしたプレイヤー
      */
     public static void handlePlayerRespawn(Player player) {
-        if (!isGameRunning || player == null) {
+        if (!isGameRunning() || player == null) {
             return;
         }
-        UUID playerUuid = player.getUniqueId();
-        // 待機中のリーダーのリスポーンを処理
-        if (deadLeaders.containsKey(playerUuid)) {
-            Team team = deadLeaders.get(playerUuid);
-            // リスポーン後もまだチームリーダーかどうか確認
-            if (isTeamLeader(player) && team.hasEntry(player.getName())) {
-                LOGGER.info(String.format("Team leader %s has respawned", player.getName()));
-                // 登録されているコールバックがあれば実行
-                Consumer<Player> callback = respawnCallbacks.get(playerUuid);
-                if (callback != null) {
-                    callback.accept(player);
-                    respawnCallbacks.remove(playerUuid);
-                    LOGGER.info(String.format("Executed post-respawn process for team leader %s", player.getName()));
-                }
-            }
-            // 死亡リーダーのリストから削除
-            deadLeaders.remove(playerUuid);
-        }
+
+        respawnWaiters.dispatch(player, player);
     }
 
     /**
      * リスポーン待機中のすべてのコールバックをクリアします
      */
     public static void clearRespawnCallbacks() {
-        respawnCallbacks.clear();
-        deadLeaders.clear();
+        respawnWaiters.clear();
         LOGGER.info("Cleared all respawn waiting processes");
     }
 
@@ -950,23 +706,16 @@ public class TeamUtility {
         if (attacker == null || target == null) {
             return true; // nullの場合は攻撃可能とする
         }
-        // スコアボードから各プレイヤーのチームを取得
-        Team attackerTeam = getScoreboard().getEntryTeam(attacker.getName());
-        Team targetTeam = getScoreboard().getEntryTeam(target.getName());
-        // 両方またはどちらかがチームに所属していない場合は攻撃可能
-        if (attackerTeam == null || targetTeam == null) {
-            return true;
+        // どちらかがアリーナに参加している場合はアリーナの所属で判定する
+        if (ArenaRegistry.isInArena(attacker) || ArenaRegistry.isInArena(target)) {
+            return ArenaRegistry.canAttack(attacker, target);
         }
-        // 観戦者チームは攻撃不可
-        if (attackerTeam == spectatorTeam) {
-            return false;
-        }
-        // 同じチームのメンバーは攻撃不可
-        return !attackerTeam.equals(targetTeam);
+        return mainTeams.canAttack(attacker, target);
     }
 
     /**
      * プレイヤーが特定のゲームモードに変更されるまで待機し、変更後にコールバックを実行します
+     * 待機は設定の最大秒数を過ぎると破棄されます
      * 
      * @param player         プレイヤー
      * @param targetGameMode 待機する対象のゲームモード
@@ -975,6 +724,22 @@ public class TeamUtility {
      */
     public static boolean waitForGameModeChange(Player player, org.bukkit.GameMode targetGameMode,
             Consumer<Player> callback) {
+        return waitForGameModeChange(player, targetGameMode, callback, getAwaitTimeoutTicks(), null);
+    }
+
+    /**
+     * プレイヤーが特定のゲームモードに変更されるまで待機し、変更後にコールバックを実行します
+     * 同じプレイヤーに複数の待機を登録できます
+     * 
+     * @param player         プレイヤー
+     * @param targetGameMode 待機する対象のゲームモード
+     * @param callback       ゲームモード変更後に実行するコールバック
+     * @param timeoutTicks   待機する最大ティック数（0以下の場合は無制限）
+     * @param onTimeout      タイムアウトした時に実行する処理（不要な場合はnull）
+     * @return 待機設定に成功した場合はtrue
+     */
+    public static boolean waitForGameModeChange(Player player, org.bukkit.GameMode targetGameMode,
+            Consumer<Player> callback, long timeoutTicks, @Nullable Runnable onTimeout) {
         if (player == null || targetGameMode == null) {
             return false;
         }
@@ -983,11 +748,10 @@ public class TeamUtility {
             callback.accept(player);
             return true;
         }
-        UUID playerUuid = player.getUniqueId();
-        gameModeCallbacks.put(playerUuid, callback);
-        targetGameModes.put(playerUuid, targetGameMode);
-        LOGGER.info(String.format("Waiting for player %s to change gamemode to %s", player.getName(),
-                targetGameMode.name()));
+
+        gameModeWaiters.await(player.getUniqueId(), gameMode -> gameMode == targetGameMode, callback, timeoutTicks,
+                onTimeout);
+        LOGGER.info("Waiting for player " + player.getName() + " to change gamemode to " + targetGameMode.name());
         return true;
     }
 
@@ -998,48 +762,30 @@ public class TeamUtility {
      */
     public static void removeGameModeCallback(UUID playerUuid) {
         if (playerUuid != null) {
-            gameModeCallbacks.remove(playerUuid);
-            targetGameModes.remove(playerUuid);
-            LOGGER.info(String.format("Cleared gamemode change waiting for player %s", playerUuid));
+            gameModeWaiters.cancelAll(playerUuid);
         }
     }
 
     /**
      * プレイヤーのゲームモード変更を処理します
+     * 条件を満たしたゲームモード変更待機のコールバックを実行します
      * 
      * @param player      ゲームモードが変更されたプレイヤー
      * @param newGameMode 新しいゲームモード
      */
     public static void handleGameModeChange(Player player, org.bukkit.GameMode newGameMode) {
-        if (!isGameRunning || player == null || newGameMode == null) {
+        if (!isGameRunning() || player == null || newGameMode == null) {
             return;
         }
-        UUID playerUuid = player.getUniqueId();
-        // 待機中のゲームモード変更を処理
-        if (targetGameModes.containsKey(playerUuid)) {
-            org.bukkit.GameMode targetGameMode = targetGameModes.get(playerUuid);
-            // 対象のゲームモードに変更されたか確認
-            if (newGameMode == targetGameMode) {
-                LOGGER.info(String.format("Player %s's gamemode changed to %s", player.getName(), newGameMode.name()));
-                // 登録されているコールバックがあれば実行
-                Consumer<Player> callback = gameModeCallbacks.get(playerUuid);
-                if (callback != null) {
-                    callback.accept(player);
-                    gameModeCallbacks.remove(playerUuid);
-                    LOGGER.info(String.format("Executed callback for gamemode change for player %s", player.getName()));
-                }
-                // 待機リストから削除
-                targetGameModes.remove(playerUuid);
-            }
-        }
+
+        gameModeWaiters.dispatch(player, newGameMode);
     }
 
     /**
      * ゲームモード変更待機中のすべてのコールバックをクリアします
      */
     public static void clearGameModeCallbacks() {
-        gameModeCallbacks.clear();
-        targetGameModes.clear();
+        gameModeWaiters.clear();
         LOGGER.info("Cleared all gamemode change waiting processes");
     }
 
@@ -1051,41 +797,7 @@ public class TeamUtility {
      * @return 追加に成功した場合はtrue、失敗した場合はfalse
      */
     public static boolean addPlayerToTeam(Player player, String teamName) {
-        if (player == null) {
-            return false;
-        }
-
-        if (isTeamLeader(player)) {
-            getRandomTeamLeader(TeamUtility.getPlayerTeam(player));
-        }
-
-        Team team = getScoreboard().getTeam(teamName);
-        if (team == null) {
-            LOGGER.warning("チーム '" + teamName + "' が見つかりません");
-            return false;
-        }
-
-        // 既に所属しているチームがある場合は、そのチームから離脱させる
-        Team currentTeam = getPlayerTeam(player);
-        if (currentTeam != null && !currentTeam.getName().equals(teamName)) {
-            currentTeam.removeEntry(player.getName());
-            playerTeamCache.remove(player.getUniqueId());
-        }
-
-        // 指定したチームに追加
-        team.addEntry(player.getName());
-
-        // キャッシュを更新
-        playerTeamCache.put(player.getUniqueId(), teamName);
-
-        // チームサイズを更新
-        updateTeamSize();
-
-        // 表示名を更新
-        updateTeamDisplayName(team);
-
-        LOGGER.info(player.getName() + " を " + teamName + " チームに追加しました");
-        return true;
+        return mainTeams.addPlayerToTeam(player, teamName);
     }
 
     /**
@@ -1095,46 +807,7 @@ public class TeamUtility {
      * @return 削除に成功した場合はtrue、プレイヤーがチームに所属していない場合はfalse
      */
     public static boolean removePlayerFromTeam(Player player) {
-        if (player == null) {
-            return false;
-        }
-
-        Team team = getPlayerTeam(player);
-        if (team == null) {
-            return false;
-        }
-
-        boolean wasLeader = isTeamLeader(player);
-
-        // チームからプレイヤーを削除
-        team.removeEntry(player.getName());
-
-        // キャッシュからも削除
-        playerTeamCache.remove(player.getUniqueId());
-
-        // リーダーならリーダーフラグをリセット
-        if (wasLeader) {
-            getObjective(LEADER_OBJECTIVE).getScore(player.getName()).setScore(0);
-
-            // リーダーだった場合は、新しいリーダーを選出
-            if (!team.equals(spectatorTeam) && !team.getEntries().isEmpty()) {
-                getRandomTeamLeader(team);
-            }
-        }
-
-        // チームサイズを更新
-        updateTeamSize();
-
-        // 空のチームの処理（観戦チームは消さない）
-        if (!team.equals(spectatorTeam) && team.getEntries().isEmpty()) {
-            handleEmptyTeam(team);
-        } else {
-            // 表示名を更新
-            updateTeamDisplayName(team);
-        }
-
-        LOGGER.info(player.getName() + " を " + team.getName() + " チームから削除しました");
-        return true;
+        return mainTeams.removePlayerFromTeam(player);
     }
 
     /**
@@ -1144,28 +817,7 @@ public class TeamUtility {
      * @return プレイヤーが所属しているチーム、所属していない場合はnull
      */
     public static Team getPlayerTeam(Player player) {
-        if (player == null) {
-            return null;
-        }
-
-        // まずキャッシュからチーム名を探す
-        String teamName = playerTeamCache.get(player.getUniqueId());
-        if (teamName != null) {
-            Team cachedTeam = getScoreboard().getTeam(teamName);
-            if (cachedTeam != null && cachedTeam.hasEntry(player.getName())) {
-                return cachedTeam;
-            } else {
-                // キャッシュが古い場合は削除して再検索
-                playerTeamCache.remove(player.getUniqueId());
-            }
-        }
-
-        // キャッシュにない場合はScoreboardから取得して結果をキャッシュ
-        Team team = getScoreboard().getEntryTeam(player.getName());
-        if (team != null) {
-            playerTeamCache.put(player.getUniqueId(), team.getName());
-        }
-        return team;
+        return mainTeams.getPlayerTeam(player);
     }
 
     /**
@@ -1175,7 +827,7 @@ public class TeamUtility {
      * @return プレイヤーが何かしらのチームに所属しているか
      */
     public static boolean isPlayerInAnyTeam(Player player) {
-        return playerTeamCache.containsKey(player.getUniqueId());
+        return mainTeams.isPlayerInAnyTeam(player);
     }
 
     /**
@@ -1186,59 +838,34 @@ public class TeamUtility {
      * @return 移動に成功した場合はtrue、失敗した場合はfalse
      */
     public static boolean movePlayerToTeam(Player player, String teamName) {
-        if (player == null) {
-            return false;
-        }
-
-        Team team = getScoreboard().getTeam(teamName);
-        if (team == null) {
-            LOGGER.warning("チーム '" + teamName + "' が見つかりません");
-            return false;
-        }
-
-        Team currentTeam = getPlayerTeam(player);
-        if (currentTeam != null) {
-            // 既に同じチームに所属している場合は何もしない
-            if (currentTeam.equals(team)) {
-                return true;
-            }
-
-            // リーダーであれば、リーダーフラグをリセット
-            boolean wasLeader = isTeamLeader(player);
-            if (wasLeader) {
-                getObjective(LEADER_OBJECTIVE).getScore(player.getName()).setScore(0);
-            }
-
-            // 現在のチームから削除
-            currentTeam.removeEntry(player.getName());
-
-            // 前のチームでリーダーだった場合は、新しいリーダーを選出
-            if (wasLeader && !currentTeam.equals(spectatorTeam) && !currentTeam.getEntries().isEmpty()) {
-                getRandomTeamLeader(currentTeam);
-            }
-
-            // 空のチームの処理（観戦チームは消さない）
-            if (!currentTeam.equals(spectatorTeam) && currentTeam.getEntries().isEmpty()) {
-                handleEmptyTeam(currentTeam);
-            } else {
-                updateTeamDisplayName(currentTeam);
-            }
-        }
-
-        // 新しいチームに追加
-        team.addEntry(player.getName());
-        playerTeamCache.remove(player.getUniqueId());
-        playerTeamCache.put(player.getUniqueId(), teamName);
-
-        // チームサイズを更新
-        updateTeamSize();
+        return mainTeams.movePlayerToTeam(player, teamName);
+    }
 
-        // 表示名を更新
-        updateTeamDisplayName(team);
+    /**
+     * 定員（{@link GameConfig#maxTeamMembers}）に空きのあるチームのうち、最も人数の少ないチームにプレイヤーを参加させます
+     * チームは人数順のヒープから選ぶため、チーム数がnの場合O(log n)で決まります
+     *
+     * @param player 参加させるプレイヤー
+     * @return 参加したチーム
+     * @throws TeamUtilityException 参加できるチームがない場合やすべてのチームが定員に達している場合
+     */
+    public static Team joinLeastFullTeam(Player player) {
+        return mainTeams.joinLeastFullTeam(player, TeamUtils.GAME_CONFIG.maxTeamMembers);
+    }
 
-        LOGGER.info(player.getName() + " を " + (currentTeam != null ? currentTeam.getName() : "無所属") +
-                " から " + teamName + " チームに移動しました");
-        return true;
+    /**
+     * 定員を確認してからプレイヤーをチームに参加させます
+     * 確認と移動はどちらもメインスレッドで続けて行われ、間に他の参加が入ることはないため、定員を超える参加は起こりません
+     * 非同期スレッドからは呼び出さないでください
+     * 観戦チームには定員はありません
+     *
+     * @param player 参加させるプレイヤー
+     * @param team   参加先のチーム
+     * @return 参加したチーム
+     * @throws TeamUtilityException チームが定員に達している場合や移動に失敗した場合
+     */
+    public static Team joinTeamWithinCapacity(Player player, Team team) {
+        return mainTeams.joinTeamWithinCapacity(player, team, TeamUtils.GAME_CONFIG.maxTeamMembers);
     }
 
     /**
@@ -1248,20 +875,20 @@ public class TeamUtility {
      * @return 移動に成功した場合はtrue、失敗した場合はfalse
      */
     public static boolean movePlayerToSpectator(Player player) {
-        if (spectatorTeam == null) {
-            reloadTeamCache(); // 観戦チームがnullの場合、再ロード
+        if (mainTeams.getSpectatorTeam() == null) {
+            refreshTeamCacheIfNeeded(); // 観戦チームがnullの場合、再ロード
         }
 
-        if (spectatorTeam == null) {
+        if (mainTeams.getSpectatorTeam() == null) {
             LOGGER.warning("観戦チームが見つかりません");
             return false;
         }
 
-        return movePlayerToTeam(player, spectatorTeam.getName());
+        return movePlayerToTeam(player, mainTeams.getSpectatorTeam().getName());
     }
 
     public static List<Team> getTeams() {
-        return teams;
+        return mainTeams.getTeams();
     }
 
     /**
@@ -1282,12 +909,12 @@ public class TeamUtility {
         }
 
         // チームキャッシュが初期化されていない場合は再ロード
-        if (teams == null || teams.isEmpty()) {
-            reloadTeamCache();
+        if (mainTeams.getTeams() == null || mainTeams.getTeams().isEmpty()) {
+            refreshTeamCacheIfNeeded();
         }
 
         // チームキャッシュから検索（大文字小文字を区別しない）
-        return teams.stream()
+        return mainTeams.getTeams().stream()
                 .filter(t -> t.getName().equalsIgnoreCase(teamName))
                 .findFirst()
                 .orElse(null);
@@ -1299,36 +926,15 @@ public class TeamUtility {
      * @return 観戦チーム以外のランダムなチーム、存在しない場合はnull
      */
     public static Team getRandomTeam() {
-        if (teams == null || teams.isEmpty()) {
-            reloadTeamCache();
-        }
-
-        // 観戦チーム以外のチームのリストを作成
-        List<Team> availableTeams = teams.stream()
-                .filter(team -> team != null && !team.equals(spectatorTeam))
-                .collect(Collectors.toList());
-
-        // 利用可能なチームがない場合はnullを返す
-        if (availableTeams.isEmpty()) {
-            return null;
-        }
-
-        // ランダムなインデックスを選択
-        int randomIndex = (int) (Math.random() * availableTeams.size());
-
-        // ランダムに選択されたチームを返す
-        return availableTeams.get(randomIndex);
+        return mainTeams.getRandomTeam();
     }
 
     public static List<String> getTabCompletionsForJoinOrLeave(String[] args) {
         List<String> completions = new ArrayList<>();
 
         if (args.length == 1) {
-            // 第一引数: チームのリストを提供
-            List<String> teams = !TeamUtility.getTeams().isEmpty() ? TeamUtility.getTeams().stream()
-                    .map(Team::getName)
-                    .collect(Collectors.toList()) : new ArrayList<>();
-            return filterCompletions(teams, args[0]);
+            // 第一引数: チームのリストを提供（非同期でも読めるスナップショットから）
+            return filterCompletions(getSnapshot().getTeamNames(), args[0]);
         } else if (args.length == 2) {
             // 第二引数: プレイヤーのリストを提供
             List<String> players = Bukkit.getOnlinePlayers().stream()
@@ -0,0 +1,162 @@
+package com.karasu256.teamUtils.utils;
+
+import com.karasu256.teamUtils.TeamUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * 細かい処理の列をメインスレッドで少しずつ実行するタスク
+ * 1ティックあたりの実行時間の上限を超えたら残りを次のティックに持ち越すため、
+ * 大量のスコアボード操作でティックが長くなるのを防ぎます
+ */
+public class TickBudgetedTask {
+    private static final Logger LOGGER = TeamUtils.LOGGER;
+
+    private final String name;
+    private final List<Runnable> steps;
+    private final long budgetNanos;
+    @Nullable
+    private final BiConsumer<Integer, Integer> onProgress;
+    @Nullable
+    private final Runnable onComplete;
+
+    private int nextStep;
+    private boolean cancelled;
+    private boolean finished;
+    private BukkitTask task;
+
+    /**
+     * @param name         ログに表示するタスクの名前
+     * @param steps        順番に実行する処理
+     * @param budgetMillis 1ティックあたりの実行時間の上限（ミリ秒、0以下の場合は1ティックですべて実行）
+     * @param onProgress   ティックごとの進捗（完了した処理の数、全体の数）を受け取る処理（不要な場合はnull）
+     * @param onComplete   すべての処理を実行し終えた時に呼び出す処理（不要な場合はnull）
+     */
+    public TickBudgetedTask(String name, List<Runnable> steps, long budgetMillis,
+            @Nullable BiConsumer<Integer, Integer> onProgress, @Nullable Runnable onComplete) {
+        this.name = name;
+        this.steps = steps;
+        this.budgetNanos = budgetMillis > 0 ? budgetMillis * 1_000_000L : Long.MAX_VALUE;
+        this.onProgress = onProgress;
+        this.onComplete = onComplete;
+    }
+
+    /**
+     * タスクを開始します
+     * 最初のスライスはこの呼び出しの中で実行されます
+     * プラグインが無効な場合はすべての処理をその場で実行します
+     */
+    public void start() {
+        if (!TeamUtils.getPlugin().isEnabled()) {
+            runAll();
+            return;
+        }
+
+        if (runSlice()) {
+            return;
+        }
+        task = Bukkit.getScheduler().runTaskTimer(TeamUtils.getPlugin(), () -> {
+            if (runSlice()) {
+                task.cancel();
+                task = null;
+            }
+        }, 1L, 1L);
+    }
+
+    /**
+     * 残りの処理を時間の上限に関係なくすべて実行します
+     */
+    public void runAll() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        while (!cancelled && nextStep < steps.size()) {
+            runStep();
+        }
+        finish();
+    }
+
+    /**
+     * 残りの処理を実行せずにタスクを停止します
+     * 完了時の処理は呼び出されません
+     */
+    public void cancel() {
+        cancelled = true;
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        LOGGER.info("Cancelled " + name + " at step " + nextStep + "/" + steps.size());
+    }
+
+    public boolean isDone() {
+        return cancelled || nextStep >= steps.size();
+    }
+
+    public int getCompletedSteps() {
+        return nextStep;
+    }
+
+    public int getTotalSteps() {
+        return steps.size();
+    }
+
+    /**
+     * 時間の上限まで処理を実行します
+     *
+     * @return タスクが終了した場合true
+     */
+    private boolean runSlice() {
+        if (cancelled) {
+            return true;
+        }
+
+        long startedAt = System.nanoTime();
+        // 少なくとも1つは実行して、上限が極端に小さくても必ず進むようにする
+        do {
+            runStep();
+        } while (nextStep < steps.size() && System.nanoTime() - startedAt < budgetNanos);
+
+        if (nextStep < steps.size()) {
+            if (onProgress != null) {
+                onProgress.accept(nextStep, steps.size());
+            }
+            return false;
+        }
+
+        finish();
+        return true;
+    }
+
+    private void runStep() {
+        if (nextStep >= steps.size()) {
+            return;
+        }
+        try {
+            steps.get(nextStep).run();
+        } catch (Exception e) {
+            LOGGER.warning("Error executing " + name + " step " + nextStep + ": " + e.getMessage());
+        }
+        nextStep++;
+    }
+
+    private void finish() {
+        if (cancelled || finished) {
+            return;
+        }
+        finished = true;
+        if (onProgress != null) {
+            onProgress.accept(steps.size(), steps.size());
+        }
+        if (onComplete != null) {
+            onComplete.run();
+        }
+    }
+}
@@ -1,33 +1,26 @@
 package com.karasu256.teamUtils.utils;
 
-import com.karasu256.teamUtils.TeamUtils;
-import org.bukkit.Bukkit;
-import org.bukkit.scheduler.BukkitTask;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
-import java.util.logging.Logger;
 
 /**
  * ゲーム内のタイマー機能を提供するユーティリティクラス
+ * サーバー全体のゲームで使うデフォルトの{@link GameTimer}を操作します
  */
 public class TimerUtils {
-    private static final Logger LOGGER = TeamUtils.LOGGER;
-    private static BukkitTask timerTask;
-    private static int remainingTicks;
-    private static boolean isRunning = false;
+    // サーバー全体のゲームで使うタイマー（アリーナはそれぞれ独自のGameTimerを持つ）
+    private static final GameTimer DEFAULT_TIMER = new GameTimer("default");
 
     // 1ティック = 0.05秒、20ティック = 1秒
     public static final int TICKS_PER_SECOND = 20;
 
-    // 1ティックごとに実行されるコールバック
-    private static final List<Consumer<Integer>> tickCallbacks = new ArrayList<>();
-
-    // 特定の時間範囲で実行されるコールバック
-    private static final Map<Integer, List<Consumer<Integer>>> rangeCallbacks = new HashMap<>();
+    /**
+     * サーバー全体のゲームで使うタイマーを取得します
+     *
+     * @return デフォルトのタイマー
+     */
+    public static GameTimer getDefaultTimer() {
+        return DEFAULT_TIMER;
+    }
 
     /**
      * 指定したティック数のタイマーを開始します
@@ -36,50 +29,7 @@ public class TimerUtils {
      * @return タイマーの開始に成功した場合true
      */
     public static boolean start(int ticks) {
-        if (isRunning) {
-            LOGGER.warning("Timer is already running");
-            return false;
-        }
-
-        if (ticks <= 0) {
-            LOGGER.warning("Timer ticks must be greater than 0");
-            return false;
-        }
-
-        remainingTicks = ticks;
-        isRunning = true;
-
-        timerTask = Bukkit.getScheduler().runTaskTimer(TeamUtils.getPlugin(), () -> {
-            if (remainingTicks <= 0) {
-                stop();
-                return;
-            }
-
-            // 1ティックごとのコールバックを実行
-            for (Consumer<Integer> callback : tickCallbacks) {
-                try {
-                    callback.accept(remainingTicks);
-                } catch (Exception e) {
-                    LOGGER.warning("Error executing timer tick callback: " + e.getMessage());
-                }
-            }
-
-            // 範囲コールバックがあれば実行
-            if (rangeCallbacks.containsKey(remainingTicks)) {
-                for (Consumer<Integer> callback : rangeCallbacks.get(remainingTicks)) {
-                    try {
-                        callback.accept(remainingTicks);
-                    } catch (Exception e) {
-                        LOGGER.warning("Error executing timer range callback: " + e.getMessage());
-                    }
-                }
-            }
-
-            remainingTicks--;
-        }, 0L, 1L); // 1 tick間隔で実行
-
-        LOGGER.info("Timer started with " + ticks + " ticks (" + (ticks / TICKS_PER_SECOND) + " seconds)");
-        return true;
+        return DEFAULT_TIMER.start(ticks);
     }
 
     /**
@@ -89,7 +39,7 @@ public class TimerUtils {
      * @return タイマーの開始に成功した場合true
      */
     public static boolean startInSeconds(int seconds) {
-        return start(seconds * TICKS_PER_SECOND);
+        return DEFAULT_TIMER.startInSeconds(seconds);
     }
 
     /**
@@ -98,19 +48,7 @@ public class TimerUtils {
      * @return タイマーの停止に成功した場合true
      */
     public static boolean stop() {
-        if (!isRunning) {
-            LOGGER.warning("Timer is not running");
-            return false;
-        }
-
-        if (timerTask != null) {
-            timerTask.cancel();
-            timerTask = null;
-        }
-
-        isRunning = false;
-        LOGGER.info("Timer stopped");
-        return true;
+        return DEFAULT_TIMER.stop();
     }
 
     /**
@@ -119,7 +57,7 @@ public class TimerUtils {
      * @return タイマーが実行中の場合true
      */
     public static boolean isRunning() {
-        return isRunning;
+        return DEFAULT_TIMER.isRunning();
     }
 
     /**
@@ -128,7 +66,7 @@ public class TimerUtils {
      * @return 残り時間（ティック）
      */
     public static int getRemainingTicks() {
-        return remainingTicks;
+        return DEFAULT_TIMER.getRemainingTicks();
     }
 
     /**
@@ -137,7 +75,7 @@ public class TimerUtils {
      * @return 残り時間（秒）
      */
     public static int getRemainingSeconds() {
-        return remainingTicks / TICKS_PER_SECOND;
+        return DEFAULT_TIMER.getRemainingSeconds();
     }
 
     /**
@@ -201,7 +139,7 @@ public class TimerUtils {
      * @return フォーマットされた残り時間
      */
     public static String getFormattedRemainingTime() {
-        return formatTime(remainingTicks);
+        return DEFAULT_TIMER.getFormattedRemainingTime();
     }
 
     /**
@@ -210,16 +148,14 @@ public class TimerUtils {
      * @param callback 残りティック数を引数に取るコールバック
      */
     public static void addTickCallback(Consumer<Integer> callback) {
-        if (callback != null) {
-            tickCallbacks.add(callback);
-        }
+        DEFAULT_TIMER.addTickCallback(callback);
     }
 
     /**
      * 1ティックごとに実行されるコールバックをすべて削除します
      */
     public static void clearTickCallbacks() {
-        tickCallbacks.clear();
+        DEFAULT_TIMER.clearTickCallbacks();
     }
 
     /**
@@ -229,9 +165,7 @@ public class TimerUtils {
      * @param callback 残り時間を引数に取るコールバック
      */
     public static void addRangeCallback(int second, Consumer<Integer> callback) {
-        if (callback != null) {
-            rangeCallbacks.computeIfAbsent(second, k -> new ArrayList<>()).add(callback);
-        }
+        DEFAULT_TIMER.addRangeCallback(second, callback);
     }
 
     /**
@@ -242,20 +176,14 @@ public class TimerUtils {
      * @param callback    残り時間を引数に取るコールバック
      */
     public static void addRangeCallback(int startSecond, int endSecond, Consumer<Integer> callback) {
-        if (callback == null || startSecond < 0 || endSecond < 0 || startSecond < endSecond) {
-            return;
-        }
-
-        for (int i = endSecond; i <= startSecond; i++) {
-            addRangeCallback(i, callback);
-        }
+        DEFAULT_TIMER.addRangeCallback(startSecond, endSecond, callback);
     }
 
     /**
      * 特定の時間範囲のコールバックをすべて削除します
      */
     public static void clearRangeCallbacks() {
-        rangeCallbacks.clear();
+        DEFAULT_TIMER.clearRangeCallbacks();
     }
 
     /**